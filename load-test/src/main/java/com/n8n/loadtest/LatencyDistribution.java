@@ -0,0 +1,61 @@
+package com.n8n.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 스텁 서버의 응답 지연 분포
+ *
+ * <ul>
+ *   <li>{@code none}</li>
+ *   <li>{@code fixed:20ms}</li>
+ *   <li>{@code uniform:5ms:50ms}</li>
+ *   <li>{@code exponential:20ms} (평균)</li>
+ *   <li>{@code lognormal:20ms:0.6} (중앙값, sigma) - 긴 꼬리를 가진 일반적인 서버 지연</li>
+ *   <li>{@code bimodal:10ms:800ms:0.02} (빠른 응답, 느린 응답, 느린 응답 비율) - GC / 콜드 캐시 흉내</li>
+ * </ul>
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+
+    LatencyDistribution NONE = () -> 0L;
+
+    long sampleNanos();
+
+    static LatencyDistribution parse(String spec) {
+        String[] parts = spec.trim().split(":");
+        return switch (parts[0]) {
+            case "none" -> NONE;
+            case "fixed" -> {
+                long nanos = nanos(parts[1]);
+                yield () -> nanos;
+            }
+            case "uniform" -> {
+                long min = nanos(parts[1]);
+                long max = nanos(parts[2]);
+                yield () -> ThreadLocalRandom.current().nextLong(min, max + 1);
+            }
+            case "exponential" -> {
+                long mean = nanos(parts[1]);
+                yield () -> (long) (-mean * Math.log(1.0 - ThreadLocalRandom.current().nextDouble()));
+            }
+            case "lognormal" -> {
+                long median = nanos(parts[1]);
+                double sigma = Double.parseDouble(parts[2]);
+                yield () -> (long) (median * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian()));
+            }
+            case "bimodal" -> {
+                long fast = nanos(parts[1]);
+                long slow = nanos(parts[2]);
+                double slowRatio = Double.parseDouble(parts[3]);
+                yield () -> ThreadLocalRandom.current().nextDouble() < slowRatio ? slow : fast;
+            }
+            default -> throw new IllegalArgumentException("Unknown latency distribution: " + spec);
+        };
+    }
+
+    private static long nanos(String value) {
+        return DurationStyle.detectAndParse(value).toNanos();
+    }
+}
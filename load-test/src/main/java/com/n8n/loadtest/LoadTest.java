@@ -0,0 +1,106 @@
+package com.n8n.loadtest;
+
+import com.n8n.N8nApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+/**
+ * 부하 테스트 진입점
+ *
+ * <p>n8n 스텁 서버를 띄우고, load.target 이 없으면 애플리케이션을 같은 JVM 에서 스텁을 바라보도록 기동한 뒤
+ * 시나리오별로 워밍업 -> 측정 순서로 고정 도착률 부하를 걸고 결과 표를 출력합니다.</p>
+ *
+ * <ul>
+ *   <li>load.scenarios: 쉼표로 구분한 시나리오 (기본: 전체)</li>
+ *   <li>load.rate / load.duration / load.warmup: 초당 요청 수, 측정 시간, 워밍업 시간</li>
+ *   <li>load.max-in-flight: 동시에 진행 가능한 최대 요청 수</li>
+ *   <li>load.target: 이미 떠 있는 애플리케이션 주소 (이 경우 애플리케이션의 n8n.base-url 을 스텁 주소로 설정)</li>
+ *   <li>stub.*: {@link StubN8nServer.Settings} 참고, stub.port 로 스텁 포트 고정</li>
+ *   <li>app.*: 내장 애플리케이션에 전달할 Spring 속성 (예: -Dapp.n8n.pool.max-connections=50)</li>
+ * </ul>
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<Scenario> scenarios = Arrays.stream(System.getProperty("load.scenarios",
+                        String.join(",", Arrays.stream(Scenario.values()).map(Scenario::id).toList())).split(","))
+                .map(String::trim)
+                .map(Scenario::of)
+                .toList();
+        double rate = Double.parseDouble(System.getProperty("load.rate", "200"));
+        Duration duration = DurationStyle.detectAndParse(System.getProperty("load.duration", "30s"));
+        Duration warmup = DurationStyle.detectAndParse(System.getProperty("load.warmup", "5s"));
+        int maxInFlight = Integer.getInteger("load.max-in-flight", 10_000);
+        String authorization = Scenario.basicAuth(System.getProperty("load.user", "admin"),
+                System.getProperty("load.password", "admin123"));
+
+        StubN8nServer.Settings settings = StubN8nServer.Settings.fromSystemProperties();
+        try (StubN8nServer stub = StubN8nServer.start(settings, Integer.getInteger("stub.port", 0))) {
+            System.out.println("n8n stub listening on " + stub.baseUrl());
+
+            String target = System.getProperty("load.target");
+            ConfigurableApplicationContext app = null;
+            if (target == null) {
+                app = new SpringApplicationBuilder(N8nApplication.class)
+                        .properties(appProperties(stub.baseUrl()))
+                        .run();
+                target = "http://localhost:" + app.getEnvironment().getRequiredProperty("local.server.port");
+            }
+
+            try {
+                HttpClient client = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .executor(Executors.newVirtualThreadPerTaskExecutor())
+                        .build();
+                OpenModelDriver driver = new OpenModelDriver(client, target, authorization,
+                        settings.workflows(), maxInFlight);
+
+                List<String> rows = new ArrayList<>();
+                for (Scenario scenario : scenarios) {
+                    System.out.printf("Running %s at %.0f req/s (warmup %s, measure %s)%n",
+                            scenario.id(), rate, warmup, duration);
+                    if (!warmup.isZero()) {
+                        driver.run(scenario, rate, warmup);
+                    }
+                    rows.add(driver.run(scenario, rate, duration).row());
+                }
+
+                System.out.println();
+                System.out.println(OpenModelDriver.Report.header());
+                rows.forEach(System.out::println);
+                System.out.println();
+                System.out.println("stub: " + stub.stats());
+            } finally {
+                if (app != null) {
+                    app.close();
+                }
+            }
+        }
+    }
+
+    private static String[] appProperties(String stubUrl) {
+        List<String> properties = new ArrayList<>(List.of(
+                "server.port=0",
+                "n8n.base-url=" + stubUrl,
+                "n8n.webhook.base-url=" + stubUrl + "/webhook",
+                "logging.level.com.n8n=WARN"));
+        System.getProperties().forEach((key, value) -> {
+            String name = key.toString();
+            if (name.startsWith("app.")) {
+                properties.add(name.substring("app.".length()) + "=" + value);
+            }
+        });
+        return properties.toArray(String[]::new);
+    }
+}
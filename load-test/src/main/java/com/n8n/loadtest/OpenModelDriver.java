@@ -0,0 +1,122 @@
+package com.n8n.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * open-model(고정 도착률) 부하 드라이버
+ *
+ * <p>응답을 기다리지 않고 정해진 간격마다 요청을 보내므로 서버가 느려져도 도착률이 줄지 않습니다.
+ * 지연 시간은 실제 전송 시각이 아닌 <em>예정된</em> 전송 시각부터 측정해 coordinated omission 을 보정합니다.
+ * 진행 중인 요청이 maxInFlight 에 도달하면 새 요청은 보내지 않고 dropped 로 집계합니다.</p>
+ */
+final class OpenModelDriver {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final HttpClient client;
+    private final String target;
+    private final String authorization;
+    private final int workflows;
+    private final int maxInFlight;
+
+    OpenModelDriver(HttpClient client, String target, String authorization, int workflows, int maxInFlight) {
+        this.client = client;
+        this.target = target;
+        this.authorization = authorization;
+        this.workflows = workflows;
+        this.maxInFlight = maxInFlight;
+    }
+
+    Report run(Scenario scenario, double ratePerSecond, Duration duration) throws InterruptedException {
+        Histogram latencies = new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3);
+        Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        LongAdder failures = new LongAdder();
+        LongAdder dropped = new LongAdder();
+        AtomicInteger inFlight = new AtomicInteger();
+
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        for (long seq = 0; ; seq++) {
+            long intended = start + seq * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (inFlight.get() >= maxInFlight) {
+                dropped.increment();
+                continue;
+            }
+            inFlight.incrementAndGet();
+            client.sendAsync(scenario.build(target, seq, workflows, authorization),
+                            HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        latencies.recordValue(Math.min(System.nanoTime() - intended, MAX_TRACKABLE_NANOS));
+                        if (error != null) {
+                            failures.increment();
+                        } else {
+                            statuses.computeIfAbsent(response.statusCode(), status -> new LongAdder()).increment();
+                        }
+                        inFlight.decrementAndGet();
+                    });
+        }
+
+        // 마지막 요청들의 응답을 기다림
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Map<Integer, Long> statusCounts = new TreeMap<>();
+        statuses.forEach((status, count) -> statusCounts.put(status, count.sum()));
+        return new Report(scenario.id(), ratePerSecond, elapsed, latencies, statusCounts,
+                failures.sum(), dropped.sum(), inFlight.get());
+    }
+
+    record Report(String scenario, double targetRate, long elapsedNanos, Histogram latencies,
+                  Map<Integer, Long> statuses, long failures, long dropped, int unfinished) {
+
+        static String header() {
+            return String.format("%-18s %9s %9s %9s %9s %9s %9s %9s %8s %8s  %s",
+                    "scenario", "target/s", "actual/s", "p50(ms)", "p90(ms)", "p99(ms)", "p999(ms)", "max(ms)",
+                    "failed", "dropped", "statuses");
+        }
+
+        String row() {
+            long completed = latencies.getTotalCount();
+            return String.format("%-18s %9.1f %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %8d %8d  %s",
+                    scenario,
+                    targetRate,
+                    completed / (elapsedNanos / 1e9),
+                    millis(latencies.getValueAtPercentile(50)),
+                    millis(latencies.getValueAtPercentile(90)),
+                    millis(latencies.getValueAtPercentile(99)),
+                    millis(latencies.getValueAtPercentile(99.9)),
+                    millis(latencies.getMaxValue()),
+                    failures + unfinished,
+                    dropped,
+                    statuses);
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
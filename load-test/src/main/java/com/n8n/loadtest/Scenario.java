@@ -0,0 +1,93 @@
+package com.n8n.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * 부하 시나리오: N8nApiController / N8nWebhookController 라우트별 요청 생성기
+ * seq 는 요청 순번으로, 워크플로우 ID 등을 골고루 분산시키는 데 사용합니다.
+ */
+public enum Scenario {
+
+    LIST_WORKFLOWS("list-workflows") {
+        @Override
+        HttpRequest.Builder request(String target, long seq, int workflows) {
+            return HttpRequest.newBuilder(URI.create(target + "/api/n8n/workflows")).GET();
+        }
+    },
+    GET_WORKFLOW("get-workflow") {
+        @Override
+        HttpRequest.Builder request(String target, long seq, int workflows) {
+            return HttpRequest.newBuilder(URI.create(target + "/api/n8n/workflows/wf-" + seq % workflows)).GET();
+        }
+    },
+    EXECUTE_WORKFLOW("execute-workflow") {
+        @Override
+        HttpRequest.Builder request(String target, long seq, int workflows) {
+            return json(target + "/api/n8n/workflows/execute",
+                    "{\"workflowId\":\"wf-" + seq % workflows + "\",\"inputData\":{\"seq\":" + seq + "}}");
+        }
+    },
+    EXECUTION_STATUS("execution-status") {
+        @Override
+        HttpRequest.Builder request(String target, long seq, int workflows) {
+            return HttpRequest.newBuilder(URI.create(target + "/api/n8n/executions/" + seq % 1000)).GET();
+        }
+    },
+    WEBHOOK_TRIGGER("webhook-trigger") {
+        @Override
+        HttpRequest.Builder request(String target, long seq, int workflows) {
+            return json(target + "/api/n8n/webhook/trigger",
+                    "{\"webhookPath\":\"/load-test\",\"method\":\"POST\",\"data\":{\"seq\":" + seq + "}}");
+        }
+    },
+    WEBHOOK_SIMPLE("webhook-simple") {
+        @Override
+        HttpRequest.Builder request(String target, long seq, int workflows) {
+            return json(target + "/api/n8n/webhook/simple/load-test", "{\"seq\":" + seq + "}");
+        }
+    };
+
+    private final String id;
+
+    Scenario(String id) {
+        this.id = id;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    abstract HttpRequest.Builder request(String target, long seq, int workflows);
+
+    /**
+     * Basic 인증 헤더를 붙인 요청을 만듭니다.
+     */
+    HttpRequest build(String target, long seq, int workflows, String authorization) {
+        return request(target, seq, workflows)
+                .header("Authorization", authorization)
+                .build();
+    }
+
+    static String basicAuth(String user, String password) {
+        return "Basic " + Base64.getEncoder()
+                .encodeToString((user + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Scenario of(String id) {
+        return Arrays.stream(values())
+                .filter(scenario -> scenario.id.equals(id))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown scenario: " + id
+                        + " (available: " + Arrays.stream(values()).map(Scenario::id).toList() + ")"));
+    }
+
+    private static HttpRequest.Builder json(String uri, String body) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+}
@@ -0,0 +1,160 @@
+package com.n8n.loadtest;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * n8n REST API / Webhook 을 흉내 내는 내장 스텁 서버 (Reactor Netty)
+ *
+ * <p>응답마다 {@link LatencyDistribution} 에서 뽑은 만큼 (스레드를 막지 않고) 지연시키며,
+ * errorRate 확률로 errorStatus 를, hangRate 확률로 응답하지 않는 요청을 만들어 타임아웃 / 서킷 브레이커 설정을 시험합니다.</p>
+ */
+public final class StubN8nServer implements AutoCloseable {
+
+    /**
+     * @param apiLatency     /api/v1/** 응답 지연
+     * @param webhookLatency /webhook/** 응답 지연
+     * @param errorRate      오류 응답 비율 (0.0 ~ 1.0)
+     * @param errorStatus    주입할 오류 상태 코드
+     * @param hangRate       응답하지 않을 요청 비율
+     * @param workflows      목록 API 가 반환할 워크플로우 수
+     */
+    public record Settings(LatencyDistribution apiLatency, LatencyDistribution webhookLatency,
+                           double errorRate, int errorStatus, double hangRate, int workflows) {
+
+        public static Settings fromSystemProperties() {
+            return new Settings(
+                    LatencyDistribution.parse(System.getProperty("stub.api-latency", "lognormal:20ms:0.5")),
+                    LatencyDistribution.parse(System.getProperty("stub.webhook-latency", "lognormal:30ms:0.5")),
+                    Double.parseDouble(System.getProperty("stub.error-rate", "0")),
+                    Integer.getInteger("stub.error-status", 503),
+                    Double.parseDouble(System.getProperty("stub.hang-rate", "0")),
+                    Integer.getInteger("stub.workflows", 100));
+        }
+    }
+
+    private static final String JSON = "application/json";
+
+    private final Settings settings;
+    private final DisposableServer server;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder injectedErrors = new LongAdder();
+    private final LongAdder hangs = new LongAdder();
+    private final AtomicLong executionIds = new AtomicLong();
+
+    private StubN8nServer(Settings settings, int port) {
+        this.settings = settings;
+        this.server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(port)
+                .route(routes -> routes
+                        .get("/api/v1/workflows", (request, response) ->
+                                respond(request, response, settings.apiLatency(), () -> workflowPage(request)))
+                        .get("/api/v1/workflows/{id}", (request, response) ->
+                                respond(request, response, settings.apiLatency(),
+                                        () -> workflow(request.param("id"), true)))
+                        .patch("/api/v1/workflows/{id}", (request, response) ->
+                                respond(request, response, settings.apiLatency(),
+                                        () -> workflow(request.param("id"), true)))
+                        .post("/api/v1/workflows/{id}/execute", (request, response) ->
+                                respond(request, response, settings.apiLatency(),
+                                        () -> "{\"executionId\":\"" + executionIds.incrementAndGet() + "\"}"))
+                        .get("/api/v1/executions", (request, response) ->
+                                respond(request, response, settings.apiLatency(),
+                                        () -> "{\"data\":[" + execution(String.valueOf(executionIds.get())) + "]}"))
+                        .get("/api/v1/executions/{id}", (request, response) ->
+                                respond(request, response, settings.apiLatency(),
+                                        () -> execution(request.param("id"))))
+                        .route(request -> request.uri().startsWith("/webhook/"), (request, response) ->
+                                respond(request, response, settings.webhookLatency(),
+                                        () -> "{\"received\":true}")))
+                .bindNow();
+    }
+
+    public static StubN8nServer start(Settings settings, int port) {
+        return new StubN8nServer(settings, port);
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.port();
+    }
+
+    public Map<String, Long> stats() {
+        return Map.of("requests", requests.sum(), "injectedErrors", injectedErrors.sum(), "hangs", hangs.sum());
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+
+    private Publisher<Void> respond(HttpServerRequest request, HttpServerResponse response,
+                                    LatencyDistribution latency, Supplier<String> body) {
+        requests.increment();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() < settings.hangRate()) {
+            hangs.increment();
+            return request.receive().then(Mono.never());
+        }
+        boolean fail = random.nextDouble() < settings.errorRate();
+        Mono<Void> delay = request.receive().then(Mono.delay(Duration.ofNanos(latency.sampleNanos()))).then();
+        if (fail) {
+            injectedErrors.increment();
+            return delay.then(response.status(HttpResponseStatus.valueOf(settings.errorStatus()))
+                    .header("Content-Type", JSON)
+                    .sendString(Mono.just("{\"message\":\"injected failure\"}"))
+                    .then());
+        }
+        return response.header("Content-Type", JSON)
+                .sendString(delay.then(Mono.fromSupplier(body)));
+    }
+
+    /**
+     * limit / cursor 쿼리 파라미터를 따르는 워크플로우 목록 페이지 (cursor 는 다음 시작 인덱스)
+     */
+    private String workflowPage(HttpServerRequest request) {
+        Map<String, List<String>> query = new QueryStringDecoder(request.uri()).parameters();
+        int limit = Integer.parseInt(query.getOrDefault("limit", List.of("100")).get(0));
+        int from = Integer.parseInt(query.getOrDefault("cursor", List.of("0")).get(0));
+        int to = Math.min(from + limit, settings.workflows());
+
+        StringBuilder page = new StringBuilder(256 * (to - from) + 64).append("{\"data\":[");
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                page.append(',');
+            }
+            page.append(workflow("wf-" + i, i % 2 == 0));
+        }
+        page.append("],\"nextCursor\":").append(to < settings.workflows() ? "\"" + to + "\"" : "null").append('}');
+        return page.toString();
+    }
+
+    private static String workflow(String id, boolean active) {
+        return "{\"id\":\"" + id + "\",\"name\":\"Load test " + id + "\",\"active\":" + active
+                + ",\"nodes\":[{\"name\":\"Webhook\",\"type\":\"n8n-nodes-base.webhook\",\"parameters\":{}},"
+                + "{\"name\":\"HTTP Request\",\"type\":\"n8n-nodes-base.httpRequest\",\"parameters\":{}}],"
+                + "\"connections\":{},\"tags\":[{\"id\":\"1\",\"name\":\"load-test\"}],"
+                + "\"createdAt\":\"2025-01-01T00:00:00.000Z\",\"updatedAt\":\"2025-01-01T00:00:00.000Z\"}";
+    }
+
+    private static String execution(String id) {
+        boolean finished = ThreadLocalRandom.current().nextDouble() < 0.7;
+        return "{\"id\":\"" + id + "\",\"finished\":" + finished + ",\"status\":\""
+                + (finished ? "success" : "running") + "\",\"stoppedAt\":null}";
+    }
+}
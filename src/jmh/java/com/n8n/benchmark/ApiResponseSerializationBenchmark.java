@@ -0,0 +1,100 @@
+package com.n8n.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.n8n.dto.ApiResponse;
+import com.n8n.dto.WorkflowExecutionResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ApiResponse 응답 envelope 의 Jackson 직렬화 비용
+ * ObjectMapper 는 Spring Boot 기본 설정(JavaTimeModule, 날짜를 ISO 문자열로)과 같게 구성합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ApiResponseSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+
+    private ApiResponse<Map<String, Object>> health;
+    private ApiResponse<Map<String, Object>> processed;
+    private ApiResponse<WorkflowExecutionResponse> execution;
+    private ApiResponse<List<Map<String, Object>>> workflows;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        Map<String, Object> status = new HashMap<>();
+        status.put("status", "UP");
+        status.put("timestamp", LocalDateTime.now());
+        status.put("service", "n8n-integration-api");
+        health = ApiResponse.success("Service is healthy", status);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("originalData", Map.of("data", "hello n8n", "source", "http-request-node"));
+        result.put("processedAt", LocalDateTime.now());
+        result.put("status", "processed");
+        result.put("dataLength", 9);
+        result.put("dataUpperCase", "HELLO N8N");
+        processed = ApiResponse.success("Data processed", result);
+
+        execution = ApiResponse.success("Workflow execution initiated", WorkflowExecutionResponse.builder()
+                .executionId("1024")
+                .status("started")
+                .data(Map.of("executionId", "1024", "waitTill", "null"))
+                .message("Workflow execution started successfully")
+                .build());
+
+        List<Map<String, Object>> list = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Map<String, Object> workflow = new HashMap<>();
+            workflow.put("id", "wf-" + i);
+            workflow.put("name", "Workflow " + i);
+            workflow.put("active", i % 2 == 0);
+            workflow.put("tags", List.of(Map.of("id", "t1", "name", "production")));
+            workflow.put("createdAt", "2025-01-01T00:00:00.000Z");
+            workflow.put("updatedAt", "2025-06-01T12:30:00.000Z");
+            list.add(workflow);
+        }
+        workflows = ApiResponse.success(list);
+    }
+
+    @Benchmark
+    public byte[] health() throws Exception {
+        return objectMapper.writeValueAsBytes(health);
+    }
+
+    @Benchmark
+    public byte[] processedData() throws Exception {
+        return objectMapper.writeValueAsBytes(processed);
+    }
+
+    @Benchmark
+    public byte[] workflowExecution() throws Exception {
+        return objectMapper.writeValueAsBytes(execution);
+    }
+
+    @Benchmark
+    public byte[] workflowList() throws Exception {
+        return objectMapper.writeValueAsBytes(workflows);
+    }
+}
@@ -0,0 +1,97 @@
+package com.n8n.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.n8n.config.PayloadLoggingConfig;
+import com.n8n.config.PublicApiConfig;
+import com.n8n.controller.PublicApiController;
+import com.n8n.dto.CalculationBatchRequest;
+import com.n8n.ingestion.WebhookIngestionPipeline;
+import com.n8n.logging.PayloadLogger;
+import com.n8n.user.UserStore;
+import com.n8n.validation.ValidationEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PublicApiController 핸들러 자체의 비용 (HTTP / 직렬화 제외)
+ * 요청 본문은 Jackson 이 만들어 주는 것과 같은 LinkedHashMap 형태로 미리 준비합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PublicApiControllerBenchmark {
+
+    private PublicApiController controller;
+
+    private Map<String, Object> processRequest;
+    private Map<String, Object> calculateRequest;
+    private Map<String, Object> validateRequest;
+    private CalculationBatchRequest calculateBatchRequest;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        PublicApiConfig publicApiConfig = new PublicApiConfig();
+        ValidationEngine validationEngine = new ValidationEngine(publicApiConfig, objectMapper);
+        validationEngine.init();
+        UserStore userStore = new UserStore(objectMapper, publicApiConfig);
+        userStore.start();
+        controller = new PublicApiController(objectMapper, publicApiConfig,
+                new WebhookIngestionPipeline(publicApiConfig, List.of()),
+                new PayloadLogger(new PayloadLoggingConfig(), objectMapper),
+                validationEngine, userStore);
+
+        processRequest = new LinkedHashMap<>(Map.of("data", "hello from the n8n http request node"));
+        calculateRequest = new LinkedHashMap<>(Map.of("operation", "multiply", "num1", 12.5, "num2", 4));
+        validateRequest = new LinkedHashMap<>(Map.of(
+                "name", "John Doe", "email", "john@example.com", "age", 30));
+
+        // 결과가 num1 에 덮어써지므로 반복해도 값이 변하지 않도록 1 을 곱함
+        double[] num1 = new double[100_000];
+        double[] num2 = new double[num1.length];
+        for (int i = 0; i < num1.length; i++) {
+            num1[i] = i * 0.5;
+            num2[i] = 1.0;
+        }
+        calculateBatchRequest = CalculationBatchRequest.builder()
+                .operation("multiply")
+                .num1(num1)
+                .num2(num2)
+                .build();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> processData() {
+        return controller.processData(processRequest);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> calculate() {
+        return controller.calculate(calculateRequest);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> validateData() {
+        return controller.validateData(ValidationEngine.DEFAULT_RULE_SET, validateRequest);
+    }
+
+    /**
+     * 100,000 행 열 단위 계산 (calculate 100,000 번과 비교)
+     */
+    @Benchmark
+    public ResponseEntity<?> calculateBatch() {
+        return controller.calculateBatch(calculateBatchRequest);
+    }
+}
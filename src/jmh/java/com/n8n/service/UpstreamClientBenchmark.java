@@ -0,0 +1,128 @@
+package com.n8n.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.n8n.config.ConnectionPoolStats;
+import com.n8n.config.N8nConfig;
+import com.n8n.dto.N8nWebhookRequest;
+import com.n8n.dto.N8nWebhookResponse;
+import com.n8n.dto.WorkflowExecutionRequest;
+import com.n8n.dto.WorkflowExecutionResponse;
+import com.n8n.metrics.UpstreamMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * N8nApiService / N8nWebhookService 의 WebClient 요청 생성 -> 응답 디코딩 경로
+ *
+ * <p>같은 JVM 안의 Reactor Netty 스텁 서버가 고정 JSON 을 즉시 반환하므로 측정값은 n8n 처리 시간이 아닌
+ * 우리 쪽 클라이언트 경로(요청 빌드, 커넥션 풀, 코덱, 서킷 브레이커, 메트릭)의 비용입니다.
+ * init() 호출을 위해 service 패키지에 둡니다. 워크플로우 캐시는 꺼서 매번 upstream 을 호출합니다.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class UpstreamClientBenchmark {
+
+    private static final String WORKFLOW_JSON = """
+            {"id":"wf-1","name":"Order sync","active":true,"nodes":[{"name":"Webhook","type":"n8n-nodes-base.webhook"},\
+            {"name":"HTTP Request","type":"n8n-nodes-base.httpRequest"}],"connections":{},"tags":[]}""";
+    private static final String EXECUTION_JSON = """
+            {"executionId":"1024","data":{"status":"running"}}""";
+    private static final String WEBHOOK_JSON = """
+            {"received":true}""";
+
+    private DisposableServer stub;
+    private ConnectionProvider apiConnections;
+    private ConnectionProvider webhookConnections;
+
+    private N8nApiService apiService;
+    private N8nWebhookService webhookService;
+
+    private WorkflowExecutionRequest executionRequest;
+    private N8nWebhookRequest webhookRequest;
+
+    @Setup
+    public void setUp() {
+        stub = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .route(routes -> routes
+                        .get("/api/v1/workflows/{id}", (request, response) -> response
+                                .header("Content-Type", "application/json")
+                                .sendString(Mono.just(WORKFLOW_JSON)))
+                        .post("/api/v1/workflows/{id}/execute", (request, response) -> response
+                                .header("Content-Type", "application/json")
+                                .sendString(request.receive().then(Mono.just(EXECUTION_JSON))))
+                        .post("/webhook/{path}", (request, response) -> response
+                                .header("Content-Type", "application/json")
+                                .sendString(request.receive().then(Mono.just(WEBHOOK_JSON)))))
+                .bindNow();
+
+        String baseUrl = "http://127.0.0.1:" + stub.port();
+        N8nConfig config = new N8nConfig();
+        config.setBaseUrl(baseUrl);
+        config.setApiKey("benchmark");
+        config.getWebhook().setBaseUrl(baseUrl + "/webhook");
+        config.getCache().setEnabled(false);
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ConnectionPoolStats poolStats = new ConnectionPoolStats(registry);
+        apiConnections = config.n8nConnectionProvider(poolStats);
+        webhookConnections = config.webhookConnectionProvider(poolStats);
+
+        UpstreamResilience resilience = new UpstreamResilience(config);
+        UpstreamMetrics metrics = new UpstreamMetrics(registry, config);
+        apiService = new N8nApiService(
+                config.n8nWebClient(apiConnections, config.n8nUpstreamPool(apiConnections)),
+                config, resilience, metrics, new AdmissionControl(config), new ObjectMapper());
+        apiService.init();
+        webhookService = new N8nWebhookService(config.webhookWebClient(webhookConnections,
+                config.webhookUpstreamPool(webhookConnections)), resilience, metrics);
+
+        executionRequest = WorkflowExecutionRequest.builder()
+                .workflowId("wf-1")
+                .inputData(Map.of("orderId", 1234, "customer", "acme"))
+                .build();
+        webhookRequest = N8nWebhookRequest.builder()
+                .webhookPath("/order-created")
+                .data(Map.of("orderId", 1234, "total", 99.5))
+                .method("POST")
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        apiConnections.dispose();
+        webhookConnections.dispose();
+        stub.disposeNow();
+    }
+
+    @Benchmark
+    public Map<String, Object> getWorkflow() {
+        return apiService.getWorkflow("wf-1").block();
+    }
+
+    @Benchmark
+    public WorkflowExecutionResponse executeWorkflow() {
+        return apiService.executeWorkflow(executionRequest).block();
+    }
+
+    @Benchmark
+    public N8nWebhookResponse triggerWebhook() {
+        return webhookService.triggerWebhook(webhookRequest).block();
+    }
+}
@@ -0,0 +1,91 @@
+package com.n8n.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.stereotype.Component;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.SocketAddress;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Reactor Netty 커넥션 풀이 원격 주소별로 생성될 때 전달하는 메트릭을 보관하고
+ * 풀 이름 단위의 스냅샷(active / idle / pending)을 제공합니다.
+ * 같은 값을 n8n.pool.connections(state 태그) / n8n.pool.pending / n8n.pool.max.connections 게이지로도 노출합니다.
+ */
+@Component
+public class ConnectionPoolStats implements ConnectionProvider.MeterRegistrar {
+
+    private final Map<PoolKey, ConnectionPoolMetrics> pools = new ConcurrentHashMap<>();
+    private final Map<PoolKey, List<Meter>> gauges = new ConcurrentHashMap<>();
+    private final MeterRegistry registry;
+
+    public ConnectionPoolStats(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void registerMetrics(String poolName, String id, SocketAddress remoteAddress,
+                                ConnectionPoolMetrics metrics) {
+        PoolKey key = new PoolKey(poolName, id, remoteAddress.toString());
+        pools.put(key, metrics);
+
+        Tags tags = Tags.of("pool", poolName, "remote", key.remoteAddress());
+        gauges.put(key, List.of(
+                gauge("n8n.pool.connections", tags.and("state", "active"), metrics, ConnectionPoolMetrics::acquiredSize),
+                gauge("n8n.pool.connections", tags.and("state", "idle"), metrics, ConnectionPoolMetrics::idleSize),
+                gauge("n8n.pool.connections", tags.and("state", "allocated"), metrics,
+                        ConnectionPoolMetrics::allocatedSize),
+                gauge("n8n.pool.pending", tags, metrics, ConnectionPoolMetrics::pendingAcquireSize),
+                gauge("n8n.pool.max.connections", tags, metrics, ConnectionPoolMetrics::maxAllocatedSize)));
+    }
+
+    @Override
+    public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+        PoolKey key = new PoolKey(poolName, id, remoteAddress.toString());
+        pools.remove(key);
+        List<Meter> meters = gauges.remove(key);
+        if (meters != null) {
+            meters.forEach(registry::remove);
+        }
+    }
+
+    /**
+     * 풀 이름 -> 원격 주소 -> 커넥션 상태 형태의 스냅샷을 반환합니다.
+     *
+     * @return 풀별 커넥션 통계
+     */
+    public Map<String, Map<String, Map<String, Object>>> snapshot() {
+        Map<String, Map<String, Map<String, Object>>> result = new LinkedHashMap<>();
+        pools.forEach((key, metrics) -> {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("active", metrics.acquiredSize());
+            stats.put("idle", metrics.idleSize());
+            stats.put("allocated", metrics.allocatedSize());
+            stats.put("pending", metrics.pendingAcquireSize());
+            stats.put("maxConnections", metrics.maxAllocatedSize());
+            stats.put("maxPending", metrics.maxPendingAcquireSize());
+            result.computeIfAbsent(key.poolName(), name -> new LinkedHashMap<>())
+                    .put(key.remoteAddress(), stats);
+        });
+        return result;
+    }
+
+    private Meter gauge(String name, Tags tags, ConnectionPoolMetrics metrics,
+                        ToDoubleFunction<ConnectionPoolMetrics> value) {
+        return Gauge.builder(name, metrics, value)
+                .tags(tags)
+                .strongReference(true)
+                .register(registry);
+    }
+
+    private record PoolKey(String poolName, String id, String remoteAddress) {
+    }
+}
@@ -1,10 +1,21 @@
 package com.n8n.config;
 
+import io.netty.channel.ChannelOption;
 import lombok.Data;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 @Data
 @Configuration
@@ -13,27 +24,400 @@ public class N8nConfig {
 
     private String baseUrl;
     private String apiKey;
+    /** baseUrl 과 함께 요청을 나눠 받을 n8n 노드 URL (main / worker 복제본) */
+    private List<String> nodes = new ArrayList<>();
+    private BalancerConfig balancer = new BalancerConfig();
+    private PoolConfig pool = new PoolConfig();
+    private CacheConfig cache = new CacheConfig();
+    private ListingConfig listing = new ListingConfig();
+    private ExecutionsConfig executions = new ExecutionsConfig();
+    private BatchConfig batch = new BatchConfig();
+    private ResilienceConfig resilience = new ResilienceConfig();
+    private MetricsConfig metrics = new MetricsConfig();
+    private IdempotencyConfig idempotency = new IdempotencyConfig();
+    private AdmissionConfig admission = new AdmissionConfig();
     private WebhookConfig webhook = new WebhookConfig();
 
     @Data
     public static class WebhookConfig {
         private String baseUrl;
+        /** baseUrl 과 함께 Webhook 을 나눠 받을 노드 URL (webhook 복제본, baseUrl 과 같은 경로까지 포함) */
+        private List<String> nodes = new ArrayList<>();
+        private BalancerConfig balancer = new BalancerConfig();
+        private PoolConfig pool = new PoolConfig();
+        private QueueConfig queue = new QueueConfig();
+        private ProxyConfig proxy = new ProxyConfig();
+    }
+
+    /**
+     * Webhook 원시 프록시(/api/n8n/webhook/proxy/**) 설정
+     * 헤더 목록에 없는 헤더(인증, 쿠키, hop-by-hop 등)는 전달하지 않습니다.
+     */
+    @Data
+    public static class ProxyConfig {
+        private DataSize maxRequestSize = DataSize.ofMegabytes(10);
+        private DataSize maxResponseSize = DataSize.ofMegabytes(50);
+        private List<String> requestHeaders = new ArrayList<>(List.of(
+                "Content-Type", "Content-Length", "Content-Encoding", "Accept", "Accept-Encoding",
+                "User-Agent", "X-Request-Id"));
+        private List<String> responseHeaders = new ArrayList<>(List.of(
+                "Content-Type", "Content-Length", "Content-Encoding", "Content-Disposition",
+                "Cache-Control", "ETag", "Last-Modified", "X-Request-Id"));
+    }
+
+    /**
+     * 디스크 기반 비동기 Webhook 전송 큐 설정
+     * 세그먼트 크기 x 최대 세그먼트 수 만큼만 디스크를 사용합니다.
+     */
+    @Data
+    public static class QueueConfig {
+        private boolean enabled = false;
+        private String directory = "data/webhook-queue";
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+        private int maxSegments = 16;
+        private int batchSize = 100;
+        private int concurrency = 8;
+        /** 0 이하이면 성공할 때까지 재시도 */
+        private int maxAttempts = 10;
+        private Duration retryBackoff = Duration.ofSeconds(1);
+        private Duration maxRetryBackoff = Duration.ofSeconds(30);
+        private Duration pollInterval = Duration.ofMillis(200);
+        private Duration flushInterval = Duration.ofSeconds(1);
+    }
+
+    /**
+     * WebClient 별 전용 커넥션 풀 / HTTP 클라이언트 설정
+     */
+    @Data
+    public static class PoolConfig {
+        private int maxConnections = 100;
+        private int pendingAcquireMaxCount = 500;
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+        private Duration evictInBackground = Duration.ofSeconds(30);
+        private boolean keepAlive = true;
+        private Duration connectTimeout = Duration.ofSeconds(3);
+        private Duration responseTimeout = Duration.ofSeconds(30);
+        /** HTTP11, H2C(평문 HTTP/2), H2(TLS HTTP/2) 중 선택 */
+        private List<HttpProtocol> protocols = new ArrayList<>(List.of(HttpProtocol.HTTP11));
+    }
+
+    /**
+     * 여러 upstream 노드 사이의 부하 분산 설정 (노드가 둘 이상일 때만 적용)
+     */
+    @Data
+    public static class BalancerConfig {
+        private Strategy strategy = Strategy.P2C;
+        /** 같은 실행 ID 의 상태 / 결과 조회를 항상 같은 노드로 보냄 */
+        private boolean stickyExecutions = true;
+        private HealthCheckConfig healthCheck = new HealthCheckConfig();
+        private OutlierConfig outlier = new OutlierConfig();
+
+        public enum Strategy {
+            /** 임의의 두 노드 중 진행 중인 요청이 적은 쪽 (power of two choices) */
+            P2C,
+            /** 모든 노드 중 진행 중인 요청이 가장 적은 쪽 */
+            LEAST_OUTSTANDING
+        }
+    }
+
+    /**
+     * 능동 헬스 체크: interval 마다 각 노드의 path(호스트 루트 기준)를 호출해
+     * 연속 unhealthyThreshold 번 실패하면 제외하고, 연속 healthyThreshold 번 성공하면 복귀시킵니다.
+     */
+    @Data
+    public static class HealthCheckConfig {
+        private boolean enabled = true;
+        private String path = "/healthz";
+        private Duration interval = Duration.ofSeconds(10);
+        private Duration timeout = Duration.ofSeconds(2);
+        private int unhealthyThreshold = 2;
+        private int healthyThreshold = 2;
+    }
+
+    /**
+     * 수동 이상 노드 제외: 연결 오류 / 502·503·504 가 연속 consecutiveFailures 번 나면 노드를 제외합니다.
+     * 제외 시간은 baseEjectionTime x 제외 횟수 (최대 maxEjectionTime) 이며, 동시에 제외되는 노드는 maxEjectionPercent 이하입니다.
+     */
+    @Data
+    public static class OutlierConfig {
+        private boolean enabled = true;
+        private int consecutiveFailures = 5;
+        private Duration baseEjectionTime = Duration.ofSeconds(30);
+        private Duration maxEjectionTime = Duration.ofMinutes(5);
+        private int maxEjectionPercent = 50;
+    }
+
+    /**
+     * 워크플로우 메타데이터 캐시 설정
+     * refreshAfter 가 지난 항목은 기존 값을 반환하면서 백그라운드에서 갱신하고 (stale-while-revalidate),
+     * ttl 이 지난 항목은 만료됩니다.
+     */
+    @Data
+    public static class CacheConfig {
+        private boolean enabled = true;
+        private Duration ttl = Duration.ofSeconds(60);
+        private Duration refreshAfter = Duration.ofSeconds(10);
+        private long maxSize = 1000;
+        /** 필드 프로젝션(fields=)별 목록 캐시의 최대 조합 수 */
+        private long maxProjections = 32;
+    }
+
+    /**
+     * 워크플로우 목록 조회 설정 (n8n 커서 페이지네이션의 페이지 크기)
+     */
+    @Data
+    public static class ListingConfig {
+        private int pageSize = 100;
+    }
+
+    /**
+     * 실행 상태 조회 설정
+     * 같은 실행 ID 에 대한 동시 조회는 하나의 upstream 호출을 공유하고,
+     * 결과는 reuseWindow 동안 재사용됩니다 (0 이면 진행 중인 호출만 공유).
+     */
+    @Data
+    public static class ExecutionsConfig {
+        private boolean coalesce = true;
+        private Duration reuseWindow = Duration.ZERO;
+        private StreamConfig stream = new StreamConfig();
+        private SpoolConfig spool = new SpoolConfig();
+    }
+
+    /**
+     * 실행 결과 전체 페이로드(includeData) 스풀 설정
+     * 본문이 threshold 를 넘으면 메모리 대신 directory 아래 임시 파일에 기록합니다.
+     * 종료된 실행은 ttl, 진행 중인 실행은 runningTtl 동안 재사용한 뒤 파일을 삭제하며,
+     * 보관 중인 페이로드 전체 크기는 maxDiskUsage 를 넘지 않습니다.
+     */
+    @Data
+    public static class SpoolConfig {
+        private DataSize threshold = DataSize.ofMegabytes(1);
+        private String directory = System.getProperty("java.io.tmpdir") + "/n8n-execution-spool";
+        private Duration ttl = Duration.ofMinutes(5);
+        private Duration runningTtl = Duration.ofSeconds(5);
+        private DataSize maxDiskUsage = DataSize.ofGigabytes(2);
+        private int maxPageSize = 500;
+    }
+
+    /**
+     * 실행 상태 SSE 스트림 폴링 설정
+     * 상태가 바뀌지 않으면 폴링 간격을 backoffMultiplier 배씩 maxInterval 까지 늘리고, 바뀌면 minInterval 로 되돌립니다.
+     */
+    @Data
+    public static class StreamConfig {
+        private Duration minInterval = Duration.ofSeconds(1);
+        private Duration maxInterval = Duration.ofSeconds(15);
+        private double backoffMultiplier = 1.5;
+        private int maxConsecutiveErrors = 10;
+        private int maxIdsPerStream = 50;
+    }
+
+    /**
+     * 배치 워크플로우 실행 설정
+     */
+    @Data
+    public static class BatchConfig {
+        private int maxConcurrency = 16;
+        private int maxItems = 1000;
+    }
+
+    /**
+     * upstream 호출 재시도 / 서킷 브레이커 설정
+     * 재시도는 멱등 조회(GET)에만 적용되고, 서킷 브레이커는 API 경로 및 Webhook 경로별로 적용됩니다.
+     */
+    @Data
+    public static class ResilienceConfig {
+        private RetryConfig retry = new RetryConfig();
+        private CircuitBreakerConfig circuitBreaker = new CircuitBreakerConfig();
+        private HedgeConfig hedge = new HedgeConfig();
+    }
+
+    @Data
+    public static class RetryConfig {
+        private boolean enabled = true;
+        private int maxRetries = 2;
+        private Duration minBackoff = Duration.ofMillis(100);
+        private Duration maxBackoff = Duration.ofSeconds(2);
+        private double jitter = 0.5;
+    }
+
+    @Data
+    public static class CircuitBreakerConfig {
+        private boolean enabled = true;
+        private int failureThreshold = 5;
+        private Duration openDuration = Duration.ofSeconds(30);
+        private int halfOpenMaxCalls = 3;
+        private int maxBreakers = 256;
+    }
+
+    /**
+     * 조회(GET) hedging 설정
+     * 응답이 delay 안에 오지 않으면 같은 요청을 한 번 더 보내고 먼저 온 응답을 쓰며 나머지는 취소합니다.
+     * percentile 이 0 보다 크면 경로별 최근 응답 시간의 해당 백분위를 [minDelay, maxDelay] 범위로 잘라 delay 로 쓰고,
+     * 기록이 minSamples 보다 적으면 delay 를 씁니다. 추가 요청은 일반 요청의 budgetPercent% 이하로 제한됩니다.
+     */
+    @Data
+    public static class HedgeConfig {
+        private boolean enabled = false;
+        private Duration delay = Duration.ofMillis(200);
+        private double percentile = 95;
+        private Duration minDelay = Duration.ofMillis(20);
+        private Duration maxDelay = Duration.ofSeconds(2);
+        private int window = 512;
+        private int minSamples = 50;
+        private double budgetPercent = 10;
+        private int maxBurst = 10;
+    }
+
+    /**
+     * upstream 호출 메트릭 설정
+     * 워크플로우 ID / Webhook 경로 태그는 처음 관측된 값부터 최대 개수까지만 사용하고 이후는 "other" 로 묶습니다.
+     */
+    @Data
+    public static class MetricsConfig {
+        private int maxWorkflowTags = 200;
+        private int maxWebhookTags = 200;
+    }
+
+    /**
+     * Idempotency-Key 헤더 처리 설정 (워크플로우 실행 / Webhook 트리거)
+     * 성공한 응답을 ttl 동안 보관하고, 같은 키의 재요청에는 n8n 을 다시 호출하지 않고 저장된 응답을 돌려줍니다.
+     */
+    @Data
+    public static class IdempotencyConfig {
+        private boolean enabled = true;
+        private Duration ttl = Duration.ofMinutes(10);
+        private long maxKeys = 100_000;
+        private int maxKeyLength = 255;
+    }
+
+    /**
+     * 워크플로우 실행 / Webhook 호출 유입 제어 설정
+     * 사용자, 워크플로우 ID, Webhook 경로별 토큰 버킷과 n8n 동시 호출 상한을 적용하며 초과 시 429 + Retry-After 로 응답합니다.
+     */
+    @Data
+    public static class AdmissionConfig {
+        private boolean enabled = true;
+        private BucketConfig principal = BucketConfig.of(50, 100);
+        private BucketConfig workflow = BucketConfig.of(20, 40);
+        private BucketConfig webhook = BucketConfig.of(50, 100);
+        /** n8n 으로 동시에 진행할 수 있는 실행 / Webhook 호출 수 */
+        private int maxConcurrentCalls = 256;
+        private Duration concurrencyRetryAfter = Duration.ofSeconds(1);
+        /** 배치 항목이 동시 실행 슬롯을 다시 시도하는 간격 */
+        private Duration concurrencyPollInterval = Duration.ofMillis(10);
+        /** 키별 버킷 최대 개수 */
+        private long maxKeys = 100_000;
+        /** 이 시간 동안 쓰이지 않은 버킷은 제거 (다시 만들어지면 burst 가 가득 찬 상태) */
+        private Duration idleExpiry = Duration.ofMinutes(10);
+    }
+
+    @Data
+    public static class BucketConfig {
+        private boolean enabled = true;
+        /** 초당 허용 요청 수 */
+        private double rate;
+        /** 한 번에 허용되는 최대 요청 수 */
+        private int burst;
+
+        static BucketConfig of(double rate, int burst) {
+            BucketConfig config = new BucketConfig();
+            config.setRate(rate);
+            config.setBurst(burst);
+            return config;
+        }
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider n8nConnectionProvider(ConnectionPoolStats connectionPoolStats) {
+        return connectionProvider("n8n-api", pool, connectionPoolStats);
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider webhookConnectionProvider(ConnectionPoolStats connectionPoolStats) {
+        return connectionProvider("n8n-webhook", webhook.getPool(), connectionPoolStats);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public UpstreamPool n8nUpstreamPool(
+            @Qualifier("n8nConnectionProvider") ConnectionProvider n8nConnectionProvider) {
+        return new UpstreamPool("n8n-api", baseUrl, nodes, balancer,
+                probeClient(n8nConnectionProvider, pool));
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public UpstreamPool webhookUpstreamPool(
+            @Qualifier("webhookConnectionProvider") ConnectionProvider webhookConnectionProvider) {
+        return new UpstreamPool("n8n-webhook", webhook.getBaseUrl(), webhook.getNodes(), webhook.getBalancer(),
+                probeClient(webhookConnectionProvider, webhook.getPool()));
     }
 
     @Bean
-    public WebClient n8nWebClient() {
-        return WebClient.builder()
+    public WebClient n8nWebClient(
+            @Qualifier("n8nConnectionProvider") ConnectionProvider n8nConnectionProvider,
+            @Qualifier("n8nUpstreamPool") UpstreamPool n8nUpstreamPool) {
+        WebClient.Builder builder = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient(n8nConnectionProvider, pool)))
                 .baseUrl(baseUrl)
                 .defaultHeader("X-N8N-API-KEY", apiKey)
-                .defaultHeader("Content-Type", "application/json")
-                .build();
+                .defaultHeader("Content-Type", "application/json");
+        if (n8nUpstreamPool.isBalanced()) {
+            builder.filter(n8nUpstreamPool.filter());
+        }
+        return builder.build();
     }
 
     @Bean
-    public WebClient webhookWebClient() {
-        return WebClient.builder()
+    public WebClient webhookWebClient(
+            @Qualifier("webhookConnectionProvider") ConnectionProvider webhookConnectionProvider,
+            @Qualifier("webhookUpstreamPool") UpstreamPool webhookUpstreamPool) {
+        WebClient.Builder builder = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(
+                        httpClient(webhookConnectionProvider, webhook.getPool())))
                 .baseUrl(webhook.getBaseUrl())
-                .defaultHeader("Content-Type", "application/json")
+                .defaultHeader("Content-Type", "application/json");
+        if (webhookUpstreamPool.isBalanced()) {
+            builder.filter(webhookUpstreamPool.filter());
+        }
+        return builder.build();
+    }
+
+    /**
+     * 헬스 체크 전용 클라이언트 (부하 분산 필터 없이 노드 URL 을 직접 호출)
+     */
+    private static WebClient probeClient(ConnectionProvider provider, PoolConfig config) {
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient(provider, config)))
+                .build();
+    }
+
+    private static ConnectionProvider connectionProvider(String name, PoolConfig config,
+                                                         ConnectionPoolStats stats) {
+        return ConnectionProvider.builder(name)
+                .maxConnections(config.getMaxConnections())
+                .pendingAcquireMaxCount(config.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(config.getPendingAcquireTimeout())
+                .maxIdleTime(config.getMaxIdleTime())
+                .maxLifeTime(config.getMaxLifeTime())
+                .evictInBackground(config.getEvictInBackground())
+                .metrics(true, () -> stats)
                 .build();
     }
+
+    private static HttpClient httpClient(ConnectionProvider provider, PoolConfig config) {
+        HttpClient client = HttpClient.create(provider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) config.getConnectTimeout().toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, config.isKeepAlive())
+                .keepAlive(config.isKeepAlive())
+                .responseTimeout(config.getResponseTimeout())
+                .protocol(config.getProtocols().toArray(HttpProtocol[]::new));
+
+        // H2 는 TLS(ALPN) 위에서만 협상되므로 보안 연결을 활성화
+        if (config.getProtocols().contains(HttpProtocol.H2)) {
+            client = client.secure();
+        }
+        return client;
+    }
 }
@@ -0,0 +1,33 @@
+package com.n8n.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 요청 / 페이로드 로깅 설정
+ * 페이로드는 com.n8n.payload 로거가 DEBUG 일 때만, 엔드포인트별 샘플링 비율에 따라 기록됩니다.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "payload-logging")
+public class PayloadLoggingConfig {
+
+    /** sampleRates 에 없는 엔드포인트의 샘플링 비율 (0.0 ~ 1.0) */
+    private double defaultSampleRate = 0.1;
+    /** 엔드포인트 키별 샘플링 비율 (예: public.webhook.receive: 0.01) */
+    private Map<String, Double> sampleRates = new HashMap<>();
+    /** 렌더링된 페이로드 최대 길이 (초과분은 잘라냄) */
+    private int maxLength = 2048;
+    /** 키 이름(대소문자, '-', '_' 무시)에 포함되면 값을 가리는 토큰 */
+    private Set<String> redactKeys = new LinkedHashSet<>(List.of(
+            "apikey", "authorization", "password", "secret", "token", "cookie", "credential"));
+    /** 비동기 appender 큐 크기 (logback-spring.xml 에서 읽음) */
+    private int asyncQueueSize = 8192;
+}
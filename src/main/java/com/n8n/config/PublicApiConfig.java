@@ -0,0 +1,111 @@
+package com.n8n.config;
+
+import com.n8n.validation.FieldRule;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * n8n 에서 호출하는 공개 API(/api/public/**) 설정
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "public-api")
+public class PublicApiConfig {
+
+    private IngestionConfig ingestion = new IngestionConfig();
+    private CalculateConfig calculate = new CalculateConfig();
+    private ValidationConfig validation = new ValidationConfig();
+    private ProcessConfig process = new ProcessConfig();
+    private UsersConfig users = new UsersConfig();
+
+    /**
+     * /api/public/webhook/receive 비동기 수집 모드 설정
+     * 활성화하면 요청 본문을 링 버퍼에 복사하고 즉시 202 를 반환하며,
+     * 버퍼가 가득 차면 429 와 Retry-After 로 n8n 에 재시도를 요청합니다.
+     */
+    @Data
+    public static class IngestionConfig {
+        private boolean enabled = false;
+        /** 링 버퍼 크기 (2의 거듭제곱) */
+        private int capacity = 8192;
+        private int batchSize = 256;
+        private int consumers = 2;
+        private Duration retryAfter = Duration.ofSeconds(1);
+        private Duration idleWait = Duration.ofMillis(1);
+    }
+
+    /**
+     * /api/public/calculate/batch 설정
+     */
+    @Data
+    public static class CalculateConfig {
+        private int maxRows = 1_000_000;
+    }
+
+    /**
+     * /api/public/validate 규칙 엔진 설정
+     * rule-sets 의 각 항목은 시작 시 한 번 컴파일되어 ?ruleSet=이름 으로 선택합니다.
+     */
+    @Data
+    public static class ValidationConfig {
+        /** 배치 검증 요청당 최대 레코드 수 */
+        private int maxRecords = 100_000;
+        /** NDJSON 병렬 검증 시 한 작업이 처리하는 줄 수 */
+        private int chunkSize = 1024;
+        /** NDJSON 한 줄의 최대 크기 (서블릿 모드, 리액티브 모드는 spring.codec.max-in-memory-size) */
+        private DataSize maxLineSize = DataSize.ofMegabytes(1);
+        private Map<String, List<FieldRule>> ruleSets = new LinkedHashMap<>();
+    }
+
+    /**
+     * /api/public/process/stream 스트리밍 처리 설정
+     */
+    @Data
+    public static class ProcessConfig {
+        /** 출력을 flush 하는 레코드 단위 (리액티브 모드에서는 DataBuffer 하나에 담는 레코드 수) */
+        private int chunkSize = 256;
+        /** data 필드를 변환해 쓰는 조각 크기 (문자 수) */
+        private int transformChunkChars = 8192;
+        /** 서블릿 모드에서 문자열 값 하나의 최대 길이 (문자 수, 요청당 메모리 상한) */
+        private int maxStringLength = 5_000_000;
+        /** 서블릿 모드에서 객체 / 배열인 data 값 하나의 최대 크기 (입력 바이트 수, 요청당 메모리 상한) */
+        private int maxDataLength = 5_000_000;
+    }
+
+    /**
+     * /api/public/users 사용자 저장소 설정
+     */
+    @Data
+    public static class UsersConfig {
+        /** 레코드를 direct 버퍼(GC 힙 밖)에 저장 */
+        private boolean offHeap = false;
+        /** 레코드를 이어 붙이는 버퍼 하나의 크기 (레코드 최대 크기이기도 함) */
+        private DataSize slabSize = DataSize.ofMegabytes(16);
+        private int stripes = 64;
+        private int initialCapacity = 65536;
+        private UserPersistenceConfig persistence = new UserPersistenceConfig();
+    }
+
+    /**
+     * 사용자 저장소 스냅샷 + 변경 로그 설정
+     * 변경 로그는 세그먼트 크기 x 최대 세그먼트 수 까지만 쌓이며, 스냅샷 후 이전 세그먼트가 삭제됩니다.
+     */
+    @Data
+    public static class UserPersistenceConfig {
+        private boolean enabled = false;
+        private String directory = "data/users";
+        private Duration snapshotInterval = Duration.ofMinutes(5);
+        /** 마지막 스냅샷 이후 로그가 이만큼 쌓이면 주기와 관계없이 스냅샷 */
+        private DataSize snapshotLogSize = DataSize.ofMegabytes(256);
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+        private int maxSegments = 16;
+        private Duration flushInterval = Duration.ofSeconds(1);
+    }
+}
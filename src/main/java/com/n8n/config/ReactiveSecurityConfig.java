@@ -0,0 +1,30 @@
+package com.n8n.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+
+/**
+ * 리액티브 서버 모드(WebFlux / Netty)용 Security 설정
+ * {@link SecurityConfig} 와 동일한 규칙을 SecurityWebFilterChain 으로 적용합니다.
+ */
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSecurityConfig {
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .authorizeExchange(exchange -> exchange
+                        .pathMatchers("/api/public/**", "/webhook/**", "/actuator/health").permitAll()
+                        .anyExchange().authenticated()
+                )
+                .httpBasic(basic -> {})
+                .build();
+    }
+}
@@ -0,0 +1,413 @@
+package com.n8n.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 여러 n8n 노드에 요청을 나눠 보내는 upstream 풀
+ *
+ * <p>{@link #filter()} 는 WebClient 의 baseUrl 로 만들어진 요청 URL 을 선택된 노드의 URL 로 바꿉니다.
+ * 노드는 진행 중인 요청 수로 고르며(P2C 또는 least-outstanding), 요청 속성 {@link #STICKY_KEY_ATTRIBUTE} 가 있으면
+ * rendezvous 해싱으로 키마다 항상 같은 노드를 고릅니다. 고른 노드가 빠지면 그 키만 다른 노드로 옮겨 갑니다.</p>
+ *
+ * <p>노드는 능동 헬스 체크에 연속 실패하거나(unhealthy), 실제 요청에서 연결 오류 / 502·503·504 가 연속되면(ejected)
+ * 후보에서 빠집니다. 모든 노드가 빠졌다면 전체 노드를 후보로 삼아 요청을 계속 보냅니다.</p>
+ */
+@Slf4j
+public class UpstreamPool implements AutoCloseable {
+
+    /** 이 값(String)이 같은 요청은 같은 노드로 보냄 */
+    public static final String STICKY_KEY_ATTRIBUTE = UpstreamPool.class.getName() + ".stickyKey";
+
+    private final String name;
+    private final String primaryUrl;
+    private final Node[] nodes;
+    private final N8nConfig.BalancerConfig config;
+    private final WebClient probeClient;
+    private final LongSupplier clock;
+
+    private Disposable healthChecks;
+
+    public UpstreamPool(String name, String baseUrl, List<String> extraNodes, N8nConfig.BalancerConfig config,
+                        WebClient probeClient) {
+        this(name, baseUrl, extraNodes, config, probeClient, System::nanoTime);
+    }
+
+    UpstreamPool(String name, String baseUrl, List<String> extraNodes, N8nConfig.BalancerConfig config,
+                 WebClient probeClient, LongSupplier clock) {
+        this.name = name;
+        this.primaryUrl = trimSlash(baseUrl);
+        Set<String> urls = new LinkedHashSet<>();
+        if (primaryUrl != null) {
+            urls.add(primaryUrl);
+        }
+        extraNodes.forEach(url -> urls.add(trimSlash(url)));
+        String healthPath = config.getHealthCheck().getPath();
+        long now = clock.getAsLong();
+        this.nodes = urls.stream()
+                .map(url -> new Node(url, URI.create(url).resolve(healthPath), now))
+                .toArray(Node[]::new);
+        this.config = config;
+        this.probeClient = probeClient;
+        this.clock = clock;
+    }
+
+    /**
+     * 노드가 둘 이상이어서 요청을 나눠 보내는지 여부. 노드가 하나면 필터를 붙이지 않습니다.
+     */
+    public boolean isBalanced() {
+        return nodes.length > 1 && primaryUrl != null;
+    }
+
+    public void start() {
+        N8nConfig.HealthCheckConfig healthCheck = config.getHealthCheck();
+        if (!isBalanced() || !healthCheck.isEnabled()) {
+            return;
+        }
+        healthChecks = Flux.interval(healthCheck.getInterval(), healthCheck.getInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> Flux.fromArray(nodes).flatMap(this::probe).then())
+                .subscribe();
+        log.info("Upstream pool {} started: nodes={}, strategy={}", name,
+                Arrays.stream(nodes).map(Node::baseUrl).toList(), config.getStrategy());
+    }
+
+    @Override
+    public void close() {
+        if (healthChecks != null) {
+            healthChecks.dispose();
+        }
+    }
+
+    /**
+     * baseUrl 로 시작하는 요청을 선택된 노드로 보내고, 결과를 노드 상태에 반영하는 필터
+     */
+    public ExchangeFilterFunction filter() {
+        return (request, next) -> {
+            String url = request.url().toString();
+            String path = relativePath(url);
+            if (path == null) {
+                return next.exchange(request);
+            }
+            return Mono.defer(() -> {
+                Node node = select((String) request.attribute(STICKY_KEY_ATTRIBUTE).orElse(null));
+                ClientRequest routed = ClientRequest.from(request)
+                        .url(URI.create(node.baseUrl + path))
+                        .build();
+                node.begin();
+                // 진행 중 요청 수는 응답 본문까지 다 읽었을 때 줄임
+                AtomicBoolean done = new AtomicBoolean();
+                Runnable end = () -> {
+                    if (done.compareAndSet(false, true)) {
+                        node.outstanding.decrementAndGet();
+                    }
+                };
+                return next.exchange(routed)
+                        .doOnNext(response -> record(node, isFailure(response.statusCode())))
+                        .map(response -> response.mutate()
+                                .body(body -> body.doFinally(signal -> end.run()))
+                                .build())
+                        .doOnError(error -> {
+                            // 필터 단계의 오류는 연결 실패 / 타임아웃 (WebClientRequestException)
+                            record(node, true);
+                            end.run();
+                        })
+                        .doOnCancel(end);
+            });
+        };
+    }
+
+    public Map<String, Object> stats() {
+        long now = clock.getAsLong();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("strategy", config.getStrategy());
+        stats.put("balanced", isBalanced());
+        Map<String, Object> nodeStats = new LinkedHashMap<>();
+        for (Node node : nodes) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("healthy", node.healthy);
+            values.put("ejected", node.isEjected(now));
+            values.put("outstanding", node.outstanding.get());
+            values.put("requests", node.requests.sum());
+            values.put("failures", node.failures.sum());
+            values.put("ejections", node.totalEjections.sum());
+            nodeStats.put(node.baseUrl, values);
+        }
+        stats.put("nodes", nodeStats);
+        return stats;
+    }
+
+    /**
+     * 요청을 보낼 노드를 고릅니다.
+     *
+     * @param stickyKey 같은 노드로 보낼 키, 없으면 null
+     */
+    Node select(String stickyKey) {
+        Node[] candidates = candidates(clock.getAsLong());
+        if (candidates.length == 1) {
+            return candidates[0];
+        }
+        if (stickyKey != null && config.isStickyExecutions()) {
+            return rendezvous(candidates, stickyKey);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (config.getStrategy() == N8nConfig.BalancerConfig.Strategy.LEAST_OUTSTANDING) {
+            // 동률이면 앞쪽 노드로 몰리지 않도록 임의 위치에서 시작
+            int start = random.nextInt(candidates.length);
+            Node best = candidates[start];
+            for (int i = 1; i < candidates.length; i++) {
+                Node node = candidates[(start + i) % candidates.length];
+                if (node.outstanding.get() < best.outstanding.get()) {
+                    best = node;
+                }
+            }
+            return best;
+        }
+        int first = random.nextInt(candidates.length);
+        int second = random.nextInt(candidates.length - 1);
+        if (second >= first) {
+            second++;
+        }
+        Node a = candidates[first];
+        Node b = candidates[second];
+        return a.outstanding.get() <= b.outstanding.get() ? a : b;
+    }
+
+    Node[] nodes() {
+        return nodes;
+    }
+
+    /**
+     * 실제 요청 결과를 반영합니다. 연속 실패가 임계값에 닿으면 노드를 일정 시간 제외합니다.
+     */
+    void record(Node node, boolean failure) {
+        N8nConfig.OutlierConfig outlier = config.getOutlier();
+        if (!failure) {
+            if (node.consecutiveFailures.get() != 0) {
+                node.consecutiveFailures.set(0);
+            }
+            return;
+        }
+        node.failures.increment();
+        if (!outlier.isEnabled() || node.consecutiveFailures.incrementAndGet() < outlier.getConsecutiveFailures()) {
+            return;
+        }
+        long now = clock.getAsLong();
+        synchronized (node) {
+            if (node.isEjected(now) || ejectedCount(now) * 100 >= outlier.getMaxEjectionPercent() * nodes.length) {
+                return;
+            }
+            // 제외 시간이 끝난 뒤 maxEjectionTime 동안 문제가 없었다면 제외 횟수를 초기화
+            if (now - node.ejectedUntil > outlier.getMaxEjectionTime().toNanos()) {
+                node.ejections = 0;
+            }
+            node.ejections++;
+            long ejectionNanos = Math.min(outlier.getBaseEjectionTime().toNanos() * node.ejections,
+                    outlier.getMaxEjectionTime().toNanos());
+            node.ejectedUntil = now + ejectionNanos;
+            node.consecutiveFailures.set(0);
+            node.totalEjections.increment();
+        }
+        log.warn("Ejected upstream node {} from pool {} for {} ms after {} consecutive failures",
+                node.baseUrl, name, (node.ejectedUntil - now) / 1_000_000, outlier.getConsecutiveFailures());
+    }
+
+    /**
+     * 헬스 체크 결과를 반영합니다.
+     */
+    void recordHealth(Node node, boolean passed) {
+        N8nConfig.HealthCheckConfig healthCheck = config.getHealthCheck();
+        if (passed) {
+            node.healthFailures.set(0);
+            if (!node.healthy && node.healthPasses.incrementAndGet() >= healthCheck.getHealthyThreshold()) {
+                node.healthy = true;
+                log.info("Upstream node {} in pool {} is healthy again", node.baseUrl, name);
+            }
+        } else {
+            node.healthPasses.set(0);
+            if (node.healthy && node.healthFailures.incrementAndGet() >= healthCheck.getUnhealthyThreshold()) {
+                node.healthy = false;
+                log.warn("Upstream node {} in pool {} failed {} health checks", node.baseUrl, name,
+                        healthCheck.getUnhealthyThreshold());
+            }
+        }
+    }
+
+    private Mono<Void> probe(Node node) {
+        return probeClient.get()
+                .uri(node.healthUri)
+                .retrieve()
+                .toBodilessEntity()
+                .timeout(config.getHealthCheck().getTimeout())
+                .map(response -> true)
+                .onErrorReturn(false)
+                .doOnNext(passed -> recordHealth(node, passed))
+                .then();
+    }
+
+    private Node[] candidates(long now) {
+        int available = 0;
+        for (Node node : nodes) {
+            if (node.isAvailable(now)) {
+                available++;
+            }
+        }
+        if (available == nodes.length || available == 0) {
+            return nodes;
+        }
+        Node[] candidates = new Node[available];
+        int i = 0;
+        for (Node node : nodes) {
+            if (node.isAvailable(now)) {
+                candidates[i++] = node;
+            }
+        }
+        return candidates;
+    }
+
+    private int ejectedCount(long now) {
+        int ejected = 0;
+        for (Node node : nodes) {
+            if (node.isEjected(now)) {
+                ejected++;
+            }
+        }
+        return ejected;
+    }
+
+    /**
+     * 키와 노드 URL 을 함께 해시해 가장 큰 값을 가진 노드를 고릅니다 (highest random weight).
+     */
+    private static Node rendezvous(Node[] candidates, String key) {
+        long keyHash = fnv1a(key);
+        Node best = null;
+        long bestWeight = 0;
+        for (Node node : candidates) {
+            long weight = mix(keyHash ^ node.hash);
+            if (best == null || Long.compareUnsigned(weight, bestWeight) > 0) {
+                best = node;
+                bestWeight = weight;
+            }
+        }
+        return best;
+    }
+
+    private static boolean isFailure(HttpStatusCode status) {
+        int code = status.value();
+        return code == 502 || code == 503 || code == 504;
+    }
+
+    /**
+     * 요청 URL 이 baseUrl 로 시작하면 나머지 부분(경로 + 쿼리), 아니면 null
+     */
+    private String relativePath(String url) {
+        if (primaryUrl == null || !url.startsWith(primaryUrl)) {
+            return null;
+        }
+        String rest = url.substring(primaryUrl.length());
+        return rest.isEmpty() || rest.charAt(0) == '/' || rest.charAt(0) == '?' ? rest : null;
+    }
+
+    private static String trimSlash(String url) {
+        if (url == null) {
+            return null;
+        }
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    private static long fnv1a(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * murmur3 fmix64
+     */
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    static final class Node {
+        private final String baseUrl;
+        private final URI healthUri;
+        private final long hash;
+
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder totalEjections = new LongAdder();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private final AtomicInteger healthFailures = new AtomicInteger();
+        private final AtomicInteger healthPasses = new AtomicInteger();
+
+        private volatile boolean healthy = true;
+        private volatile long ejectedUntil;
+        /** 연속 제외 횟수 (제외 시간 배수), node 모니터로 보호 */
+        private int ejections;
+
+        private Node(String baseUrl, URI healthUri, long createdAt) {
+            this.baseUrl = baseUrl;
+            this.healthUri = healthUri;
+            this.hash = fnv1a(baseUrl);
+            this.ejectedUntil = createdAt;
+        }
+
+        String baseUrl() {
+            return baseUrl;
+        }
+
+        int outstanding() {
+            return outstanding.get();
+        }
+
+        long requests() {
+            return requests.sum();
+        }
+
+        long failures() {
+            return failures.sum();
+        }
+
+        boolean isAvailable(long now) {
+            return healthy && !isEjected(now);
+        }
+
+        boolean isEjected(long now) {
+            return now - ejectedUntil < 0;
+        }
+
+        void begin() {
+            outstanding.incrementAndGet();
+            requests.increment();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.n8n.controller;
+
+import com.n8n.execution.ExecutionPayload;
+import com.n8n.execution.ExecutionPayloadStore;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * 실행 결과 전체 본문(노드별 출력 포함) 다운로드 (서블릿 모드)
+ * 스풀 파일을 응답 OutputStream 으로 복사하며, 복사가 끝날 때까지 파일 참조를 유지합니다.
+ * 서블릿 API 로는 파일을 소켓으로 바로 넘길 수 없어 zero-copy 전송은 리액티브 모드
+ * ({@link ReactiveExecutionDataController})에서만 사용합니다. 단일 Range 요청을 지원합니다.
+ *
+ * GET /api/n8n/executions/{executionId}/data
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ExecutionDataController {
+
+    static final String PATH = "/api/n8n/executions/{executionId}/data";
+
+    private final ExecutionPayloadStore executionPayloadStore;
+
+    @GetMapping(PATH)
+    public void getExecutionData(@PathVariable String executionId,
+                                 @RequestHeader HttpHeaders requestHeaders,
+                                 HttpServletResponse response) {
+        log.info("Fetching execution data: {}", executionId);
+
+        try {
+            // 블로킹 복사는 boundedElastic 에서, 참조는 복사가 끝난 뒤 반납
+            executionPayloadStore.writePayload(executionId, payload -> Mono.<Void>fromCallable(() -> {
+                                write(payload, requestHeaders, response);
+                                return null;
+                            })
+                            .subscribeOn(Schedulers.boundedElastic()))
+                    .block();
+        } catch (RuntimeException error) {
+            log.error("Error fetching execution data {}: {}", executionId, error.getMessage());
+            if (!response.isCommitted()) {
+                response.reset();
+                response.setStatus(status(error).value());
+            }
+        }
+    }
+
+    private static void write(ExecutionPayload payload, HttpHeaders requestHeaders,
+                              HttpServletResponse response) throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        Slice slice = Slice.of(requestHeaders, payload.getSize(), headers);
+        response.setStatus(slice.status().value());
+        headers.forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        if (slice.count() == 0) {
+            return;
+        }
+        try (InputStream in = payload.resource().getInputStream()) {
+            StreamUtils.copyRange(in, response.getOutputStream(), slice.position(),
+                    slice.position() + slice.count() - 1);
+        }
+    }
+
+    static HttpStatus status(Throwable error) {
+        return error instanceof WebClientResponseException.NotFound
+                ? HttpStatus.NOT_FOUND : HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+
+    /**
+     * 보낼 본문 구간. 단일 Range 만 지원하며, 여러 구간이거나 해석할 수 없는 Range 는 무시하고 전체를 보냅니다.
+     */
+    record Slice(HttpStatus status, long position, long count) {
+
+        /**
+         * Range 요청 헤더로 구간을 정하고 Content-Type / Content-Length / Content-Range 응답 헤더를 채웁니다.
+         */
+        static Slice of(HttpHeaders requestHeaders, long size, HttpHeaders responseHeaders) {
+            responseHeaders.setContentType(MediaType.APPLICATION_JSON);
+            responseHeaders.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+            List<HttpRange> ranges;
+            try {
+                ranges = requestHeaders.getRange();
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+            if (ranges.size() != 1) {
+                responseHeaders.setContentLength(size);
+                return new Slice(HttpStatus.OK, 0, size);
+            }
+            long start = ranges.get(0).getRangeStart(size);
+            if (start >= size) {
+                responseHeaders.set(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                responseHeaders.setContentLength(0);
+                return new Slice(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, 0, 0);
+            }
+            long end = ranges.get(0).getRangeEnd(size);
+            responseHeaders.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            responseHeaders.setContentLength(end - start + 1);
+            return new Slice(HttpStatus.PARTIAL_CONTENT, start, end - start + 1);
+        }
+    }
+}
@@ -1,15 +1,31 @@
 package com.n8n.controller;
 
+import com.n8n.config.N8nConfig;
 import com.n8n.dto.ApiResponse;
+import com.n8n.dto.BatchExecutionResult;
+import com.n8n.dto.ExecutionStatusEvent;
+import com.n8n.dto.NodeOutputPage;
 import com.n8n.dto.WorkflowExecutionRequest;
 import com.n8n.dto.WorkflowExecutionResponse;
+import com.n8n.execution.ExecutionPayloadStore;
+import com.n8n.logging.PayloadLogger;
+import com.n8n.service.AdmissionControl;
+import com.n8n.service.ExecutionStatusMultiplexer;
+import com.n8n.service.IdempotencyStore;
 import com.n8n.service.N8nApiService;
+import com.n8n.service.WorkflowProjection;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.security.Principal;
 import java.util.List;
 import java.util.Map;
 
@@ -20,17 +36,24 @@ import java.util.Map;
 public class N8nApiController {
 
     private final N8nApiService n8nApiService;
+    private final N8nConfig n8nConfig;
+    private final ExecutionStatusMultiplexer executionStatusMultiplexer;
+    private final PayloadLogger payloadLogger;
+    private final IdempotencyStore idempotencyStore;
+    private final AdmissionControl admissionControl;
+    private final ExecutionPayloadStore executionPayloadStore;
 
     /**
      * 모든 워크플로우 목록을 조회합니다.
      *
-     * GET /api/n8n/workflows
+     * GET /api/n8n/workflows?fields=id,name,active
      */
     @GetMapping("/workflows")
-    public Mono<ResponseEntity<ApiResponse<List<Map<String, Object>>>>> getWorkflows() {
+    public Mono<ResponseEntity<ApiResponse<List<Map<String, Object>>>>> getWorkflows(
+            @RequestParam(required = false) String fields) {
         log.info("Fetching all workflows");
 
-        return n8nApiService.getWorkflows()
+        return n8nApiService.getWorkflows(WorkflowProjection.of(fields))
                 .map(workflows -> ResponseEntity.ok(
                         ApiResponse.success("Workflows retrieved successfully", workflows)))
                 .onErrorResume(error -> Mono.just(
@@ -38,17 +61,34 @@ public class N8nApiController {
                                 ApiResponse.error("Failed to fetch workflows: " + error.getMessage()))));
     }
 
+    /**
+     * 모든 워크플로우를 NDJSON 으로 스트리밍합니다.
+     * n8n 의 커서 페이지를 필요할 때마다 가져오므로 워크플로우 수와 관계없이 메모리 사용량이 일정합니다.
+     *
+     * GET /api/n8n/workflows/stream?fields=id,name,active
+     */
+    @GetMapping(value = "/workflows/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<Map<String, Object>>> streamWorkflows(
+            @RequestParam(required = false) String fields) {
+        log.info("Streaming all workflows");
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(n8nApiService.streamWorkflows(WorkflowProjection.of(fields)));
+    }
+
     /**
      * 특정 워크플로우 정보를 조회합니다.
      *
-     * GET /api/n8n/workflows/{workflowId}
+     * GET /api/n8n/workflows/{workflowId}?fields=id,name,nodes
      */
     @GetMapping("/workflows/{workflowId}")
     public Mono<ResponseEntity<ApiResponse<Map<String, Object>>>> getWorkflow(
-            @PathVariable String workflowId) {
+            @PathVariable String workflowId,
+            @RequestParam(required = false) String fields) {
         log.info("Fetching workflow: {}", workflowId);
 
-        return n8nApiService.getWorkflow(workflowId)
+        return n8nApiService.getWorkflow(workflowId, WorkflowProjection.of(fields))
                 .map(workflow -> ResponseEntity.ok(
                         ApiResponse.success("Workflow retrieved successfully", workflow)))
                 .onErrorResume(error -> Mono.just(
@@ -64,20 +104,63 @@ public class N8nApiController {
      *   "workflowId": "workflow-id",
      *   "inputData": { "key": "value" }
      * }
+     * Idempotency-Key 헤더가 있으면 같은 키의 재요청은 워크플로우를 다시 실행하지 않고 첫 응답을 돌려받습니다.
      */
     @PostMapping("/workflows/execute")
     public Mono<ResponseEntity<ApiResponse<WorkflowExecutionResponse>>> executeWorkflow(
-            @RequestBody WorkflowExecutionRequest request) {
+            @RequestBody WorkflowExecutionRequest request,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            Principal principal) {
         log.info("Executing workflow: {}", request.getWorkflowId());
+        payloadLogger.log("n8n.workflows.execute", "Workflow input", request.getInputData());
 
-        return n8nApiService.executeWorkflow(request)
-                .map(response -> ResponseEntity.ok(
-                        ApiResponse.success("Workflow execution initiated", response)))
+        if (!idempotencyStore.isValidKey(idempotencyKey)) {
+            return Mono.just(ResponseEntity.badRequest().body(ApiResponse.error("Invalid Idempotency-Key")));
+        }
+        // 유입 제어는 실제로 n8n 을 호출할 때만 적용 (재생된 응답은 토큰 / 슬롯을 쓰지 않음)
+        return idempotencyStore.execute(principal, "execute:" + request.getWorkflowId(), idempotencyKey, request,
+                        () -> admissionControl.admitExecution(principal, request.getWorkflowId(),
+                                () -> n8nApiService.executeWorkflow(request)),
+                        response -> !"failed".equals(response.getStatus()))
+                .map(outcome -> outcome.ok().body(
+                        ApiResponse.success("Workflow execution initiated", outcome.value())))
+                .onErrorResume(AdmissionControl.RejectedException.class, error -> Mono.just(
+                        error.permit().rejection()))
+                .onErrorResume(IdempotencyStore.KeyReuseException.class, error -> Mono.just(
+                        ResponseEntity.unprocessableEntity().body(ApiResponse.error(error.getMessage()))))
                 .onErrorResume(error -> Mono.just(
                         ResponseEntity.internalServerError().body(
                                 ApiResponse.error("Failed to execute workflow: " + error.getMessage()))));
     }
 
+    /**
+     * 여러 워크플로우 실행을 한 번에 요청합니다.
+     * 결과는 완료되는 순서대로 항목별 NDJSON 으로 스트리밍됩니다.
+     * 항목 수가 한도를 넘으면 스트림 대신 400 과 오류 응답(JSON)을 돌려줍니다.
+     *
+     * POST /api/n8n/workflows/execute/batch
+     * Body: [
+     *   { "workflowId": "workflow-id", "inputData": { "key": "value" } },
+     *   ...
+     * ]
+     */
+    @PostMapping(value = "/workflows/execute/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<?> executeWorkflowBatch(
+            @RequestBody List<WorkflowExecutionRequest> requests,
+            Principal principal) {
+        log.info("Executing workflow batch: {} items", requests.size());
+
+        int maxItems = n8nConfig.getBatch().getMaxItems();
+        if (requests.size() > maxItems) {
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(ApiResponse.error("Batch must not contain more than " + maxItems + " items"));
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(n8nApiService.executeWorkflowBatch(requests, principal));
+    }
+
     /**
      * 실행 상태를 조회합니다.
      *
@@ -96,6 +179,71 @@ public class N8nApiController {
                                 ApiResponse.error("Failed to fetch execution status: " + error.getMessage()))));
     }
 
+    /**
+     * 한 노드의 출력 항목을 구간 단위로 조회합니다. 본문 전체를 메모리에 올리지 않고 요청한 구간만 읽습니다.
+     *
+     * GET /api/n8n/executions/{executionId}/nodes/{node}/output?run=0&output=0&offset=0&limit=100
+     */
+    @GetMapping("/executions/{executionId}/nodes/{node}/output")
+    public Mono<ResponseEntity<ApiResponse<NodeOutputPage>>> getNodeOutput(
+            @PathVariable String executionId,
+            @PathVariable String node,
+            @RequestParam(defaultValue = "0") int run,
+            @RequestParam(defaultValue = "0") int output,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "100") int limit) {
+        log.info("Fetching node output: execution={}, node={}", executionId, node);
+
+        if (run < 0 || output < 0 || offset < 0 || limit <= 0) {
+            return Mono.just(ResponseEntity.badRequest().body(
+                    ApiResponse.error("run, output and offset must be >= 0 and limit must be > 0")));
+        }
+        return executionPayloadStore.getNodeOutput(executionId, node, run, output, offset, limit)
+                .map(page -> page
+                        .map(value -> ResponseEntity.ok(ApiResponse.success("Node output retrieved", value)))
+                        .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(
+                                ApiResponse.error("No output for node " + node + " (run " + run
+                                        + ", output " + output + ")"))))
+                .onErrorResume(error -> {
+                    log.error("Error fetching node output {}/{}: {}", executionId, node, error.getMessage());
+                    if (error instanceof WebClientResponseException.NotFound) {
+                        return Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).body(
+                                ApiResponse.error("Execution not found: " + executionId)));
+                    }
+                    return Mono.just(ResponseEntity.internalServerError().body(
+                            ApiResponse.error("Failed to fetch node output: " + error.getMessage())));
+                });
+    }
+
+    /**
+     * 하나 이상의 실행 상태 변화를 Server-Sent Events 로 구독합니다.
+     * 실행 ID 당 n8n 폴링은 구독자 수와 관계없이 하나만 수행되며,
+     * 모든 실행이 종료 상태에 도달하면 스트림이 끝납니다.
+     *
+     * GET /api/n8n/executions/stream?ids=1,2,3
+     */
+    @GetMapping(value = "/executions/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<ExecutionStatusEvent>>> streamExecutionStatus(
+            @RequestParam List<String> ids) {
+        log.info("Streaming execution status: {}", ids);
+
+        List<String> executionIds = ids.stream().distinct().toList();
+        if (executionIds.isEmpty()
+                || executionIds.size() > n8nConfig.getExecutions().getStream().getMaxIdsPerStream()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Flux<ServerSentEvent<ExecutionStatusEvent>> events = Flux.fromIterable(executionIds)
+                .flatMap(executionStatusMultiplexer::watch, executionIds.size())
+                .map(event -> ServerSentEvent.builder(event)
+                        .id(event.getExecutionId())
+                        .event(event.isTerminal() ? "completed" : "status")
+                        .build());
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(events);
+    }
+
     /**
      * 워크플로우를 활성화합니다.
      *
@@ -0,0 +1,152 @@
+package com.n8n.controller;
+
+import com.n8n.config.ConnectionPoolStats;
+import com.n8n.config.UpstreamPool;
+import com.n8n.dto.ApiResponse;
+import com.n8n.execution.ExecutionPayloadStore;
+import com.n8n.ingestion.WebhookIngestionPipeline;
+import com.n8n.service.AdmissionControl;
+import com.n8n.service.ExecutionStatusMultiplexer;
+import com.n8n.service.IdempotencyStore;
+import com.n8n.service.N8nApiService;
+import com.n8n.service.UpstreamResilience;
+import com.n8n.user.UserStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * n8n 연동 내부 상태(커넥션 풀 등) 조회 엔드포인트
+ */
+@RestController
+@RequestMapping("/api/n8n/stats")
+@RequiredArgsConstructor
+public class N8nStatsController {
+
+    private final ConnectionPoolStats connectionPoolStats;
+    private final N8nApiService n8nApiService;
+    private final UpstreamResilience upstreamResilience;
+    private final ExecutionStatusMultiplexer executionStatusMultiplexer;
+    private final ExecutionPayloadStore executionPayloadStore;
+    private final WebhookIngestionPipeline webhookIngestionPipeline;
+    private final IdempotencyStore idempotencyStore;
+    private final AdmissionControl admissionControl;
+    private final UserStore userStore;
+    @Qualifier("n8nUpstreamPool")
+    private final UpstreamPool n8nUpstreamPool;
+    @Qualifier("webhookUpstreamPool")
+    private final UpstreamPool webhookUpstreamPool;
+
+    /**
+     * WebClient 별 커넥션 풀 상태를 조회합니다.
+     *
+     * GET /api/n8n/stats/pools
+     */
+    @GetMapping("/pools")
+    public ResponseEntity<ApiResponse<Map<String, Map<String, Map<String, Object>>>>> getPoolStats() {
+        return ResponseEntity.ok(ApiResponse.success("Connection pool stats", connectionPoolStats.snapshot()));
+    }
+
+    /**
+     * upstream 노드별 상태(헬스 체크, 제외 여부, 진행 중인 요청 수)를 조회합니다.
+     *
+     * GET /api/n8n/stats/upstreams
+     */
+    @GetMapping("/upstreams")
+    public ResponseEntity<ApiResponse<Map<String, Map<String, Object>>>> getUpstreamStats() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        stats.put("n8n-api", n8nUpstreamPool.stats());
+        stats.put("n8n-webhook", webhookUpstreamPool.stats());
+        return ResponseEntity.ok(ApiResponse.success("Upstream pool stats", stats));
+    }
+
+    /**
+     * 워크플로우 메타데이터 캐시 통계를 조회합니다.
+     *
+     * GET /api/n8n/stats/cache
+     */
+    @GetMapping("/cache")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getCacheStats() {
+        return ResponseEntity.ok(ApiResponse.success("Workflow cache stats", n8nApiService.getCacheStats()));
+    }
+
+    /**
+     * upstream 경로 / Webhook 경로별 서킷 브레이커 상태를 조회합니다.
+     *
+     * GET /api/n8n/stats/circuit-breakers
+     */
+    @GetMapping("/circuit-breakers")
+    public ResponseEntity<ApiResponse<Map<String, Map<String, Object>>>> getCircuitBreakerStats() {
+        return ResponseEntity.ok(ApiResponse.success("Circuit breaker stats", upstreamResilience.stats()));
+    }
+
+    /**
+     * 경로별 조회 hedging 현황(hedge 지연, 추가 요청 / 승리 / 예산 부족 횟수)을 조회합니다.
+     *
+     * GET /api/n8n/stats/hedging
+     */
+    @GetMapping("/hedging")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getHedgingStats() {
+        return ResponseEntity.ok(ApiResponse.success("Hedging stats", upstreamResilience.hedgeStats()));
+    }
+
+    /**
+     * 실행 상태 조회 공유 / 폴링 스트림 / 실행 결과 스풀 현황을 조회합니다.
+     *
+     * GET /api/n8n/stats/executions
+     */
+    @GetMapping("/executions")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getExecutionStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("coalescedLookups", n8nApiService.getCoalescedExecutionLookups());
+        stats.put("activeStatusStreams", executionStatusMultiplexer.activeStreams());
+        stats.put("payloadSpool", executionPayloadStore.stats());
+        return ResponseEntity.ok(ApiResponse.success("Execution stats", stats));
+    }
+
+    /**
+     * 수신 Webhook 수집 파이프라인 상태(큐 깊이, 수락/드롭/처리 건수)를 조회합니다.
+     *
+     * GET /api/n8n/stats/ingestion
+     */
+    @GetMapping("/ingestion")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getIngestionStats() {
+        return ResponseEntity.ok(ApiResponse.success("Webhook ingestion stats", webhookIngestionPipeline.stats()));
+    }
+
+    /**
+     * Idempotency-Key 저장소 현황(저장된 키 수, 실제 실행 / 재사용 횟수)을 조회합니다.
+     *
+     * GET /api/n8n/stats/idempotency
+     */
+    @GetMapping("/idempotency")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getIdempotencyStats() {
+        return ResponseEntity.ok(ApiResponse.success("Idempotency stats", idempotencyStore.stats()));
+    }
+
+    /**
+     * 유입 제어 현황(버킷 수, 진행 중인 호출 수, 사유별 거부 횟수)을 조회합니다.
+     *
+     * GET /api/n8n/stats/admission
+     */
+    @GetMapping("/admission")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getAdmissionStats() {
+        return ResponseEntity.ok(ApiResponse.success("Admission control stats", admissionControl.stats()));
+    }
+
+    /**
+     * 사용자 저장소 현황(사용자 수, 저장 공간, 스냅샷 / 변경 로그 상태)을 조회합니다.
+     *
+     * GET /api/n8n/stats/users
+     */
+    @GetMapping("/users")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getUserStoreStats() {
+        return ResponseEntity.ok(ApiResponse.success("User store stats", userStore.stats()));
+    }
+}
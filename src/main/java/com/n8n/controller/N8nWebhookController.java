@@ -3,6 +3,9 @@ package com.n8n.controller;
 import com.n8n.dto.ApiResponse;
 import com.n8n.dto.N8nWebhookRequest;
 import com.n8n.dto.N8nWebhookResponse;
+import com.n8n.logging.PayloadLogger;
+import com.n8n.service.AdmissionControl;
+import com.n8n.service.IdempotencyStore;
 import com.n8n.service.N8nWebhookService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,6 +13,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Mono;
 
+import java.security.Principal;
 import java.util.Map;
 
 @Slf4j
@@ -19,6 +23,9 @@ import java.util.Map;
 public class N8nWebhookController {
 
     private final N8nWebhookService webhookService;
+    private final PayloadLogger payloadLogger;
+    private final IdempotencyStore idempotencyStore;
+    private final AdmissionControl admissionControl;
 
     /**
      * n8n Webhook을 호출합니다.
@@ -30,18 +37,17 @@ public class N8nWebhookController {
      *   "headers": { "Custom-Header": "value" },
      *   "method": "POST"
      * }
+     * Idempotency-Key 헤더가 있으면 같은 키의 재요청은 Webhook 을 다시 호출하지 않고 첫 응답을 돌려받습니다.
      */
     @PostMapping("/trigger")
     public Mono<ResponseEntity<ApiResponse<N8nWebhookResponse>>> triggerWebhook(
-            @RequestBody N8nWebhookRequest request) {
+            @RequestBody N8nWebhookRequest request,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            Principal principal) {
         log.info("Received webhook trigger request for path: {}", request.getWebhookPath());
+        payloadLogger.log("n8n.webhook.trigger", "Webhook request", request);
 
-        return webhookService.triggerWebhook(request)
-                .map(response -> ResponseEntity.ok(
-                        ApiResponse.success("Webhook triggered", response)))
-                .onErrorResume(error -> Mono.just(
-                        ResponseEntity.internalServerError().body(
-                                ApiResponse.error("Failed to trigger webhook: " + error.getMessage()))));
+        return trigger(request, idempotencyKey, principal);
     }
 
     /**
@@ -51,15 +57,21 @@ public class N8nWebhookController {
      */
     @GetMapping("/test/{*webhookPath}")
     public Mono<ResponseEntity<ApiResponse<N8nWebhookResponse>>> testWebhook(
-            @PathVariable String webhookPath) {
+            @PathVariable String webhookPath,
+            Principal principal) {
         log.info("Testing webhook: {}", webhookPath);
 
+        AdmissionControl.Permit permit = admissionControl.acquireWebhook(principal, webhookPath);
+        if (!permit.isGranted()) {
+            return Mono.just(permit.rejection());
+        }
         return webhookService.testWebhook(webhookPath)
                 .map(response -> ResponseEntity.ok(
                         ApiResponse.success("Webhook test completed", response)))
                 .onErrorResume(error -> Mono.just(
                         ResponseEntity.internalServerError().body(
-                                ApiResponse.error("Failed to test webhook: " + error.getMessage()))));
+                                ApiResponse.error("Failed to test webhook: " + error.getMessage()))))
+                .doFinally(signal -> permit.release());
     }
 
     /**
@@ -67,12 +79,16 @@ public class N8nWebhookController {
      *
      * POST /api/n8n/webhook/simple/{webhookPath}
      * Body: { "any": "data" }
+     * Idempotency-Key 헤더를 지원합니다.
      */
     @PostMapping("/simple/{*webhookPath}")
     public Mono<ResponseEntity<ApiResponse<N8nWebhookResponse>>> simpleWebhookTrigger(
             @PathVariable String webhookPath,
-            @RequestBody(required = false) Map<String, Object> data) {
+            @RequestBody(required = false) Map<String, Object> data,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            Principal principal) {
         log.info("Simple webhook trigger for path: {}", webhookPath);
+        payloadLogger.log("n8n.webhook.simple", "Webhook data", data);
 
         N8nWebhookRequest request = N8nWebhookRequest.builder()
                 .webhookPath(webhookPath)
@@ -80,9 +96,25 @@ public class N8nWebhookController {
                 .method("POST")
                 .build();
 
-        return webhookService.triggerWebhook(request)
-                .map(response -> ResponseEntity.ok(
-                        ApiResponse.success("Webhook triggered", response)))
+        return trigger(request, idempotencyKey, principal);
+    }
+
+    private Mono<ResponseEntity<ApiResponse<N8nWebhookResponse>>> trigger(
+            N8nWebhookRequest request, String idempotencyKey, Principal principal) {
+        if (!idempotencyStore.isValidKey(idempotencyKey)) {
+            return Mono.just(ResponseEntity.badRequest().body(ApiResponse.error("Invalid Idempotency-Key")));
+        }
+        // 유입 제어는 실제로 n8n 을 호출할 때만 적용 (재생된 응답은 토큰 / 슬롯을 쓰지 않음)
+        return idempotencyStore.execute(principal, "webhook:" + request.getWebhookPath(), idempotencyKey, request,
+                        () -> admissionControl.admitWebhook(principal, request.getWebhookPath(),
+                                () -> webhookService.triggerWebhook(request)),
+                        N8nWebhookResponse::isSuccess)
+                .map(outcome -> outcome.ok().body(
+                        ApiResponse.success("Webhook triggered", outcome.value())))
+                .onErrorResume(AdmissionControl.RejectedException.class, error -> Mono.just(
+                        error.permit().rejection()))
+                .onErrorResume(IdempotencyStore.KeyReuseException.class, error -> Mono.just(
+                        ResponseEntity.unprocessableEntity().body(ApiResponse.error(error.getMessage()))))
                 .onErrorResume(error -> Mono.just(
                         ResponseEntity.internalServerError().body(
                                 ApiResponse.error("Failed to trigger webhook: " + error.getMessage()))));
@@ -1,13 +1,40 @@
 package com.n8n.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.n8n.config.PublicApiConfig;
 import com.n8n.dto.ApiResponse;
+import com.n8n.dto.CalculationBatchRequest;
+import com.n8n.dto.CalculationBatchResponse;
+import com.n8n.ingestion.IngestedWebhook;
+import com.n8n.ingestion.WebhookIngestionPipeline;
+import com.n8n.logging.PayloadLogger;
+import com.n8n.queue.SegmentLog;
+import com.n8n.service.ColumnarCalculator;
+import com.n8n.user.UserStore;
+import com.n8n.validation.CompiledRuleSet;
+import com.n8n.validation.FieldError;
+import com.n8n.validation.RecordValidation;
+import com.n8n.validation.ValidationEngine;
+import com.n8n.validation.ValidationStats;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * n8n 워크플로우에서 호출할 수 있는 공개 API 엔드포인트
@@ -16,11 +43,23 @@ import java.util.Map;
 @Slf4j
 @RestController
 @RequestMapping("/api/public")
+@RequiredArgsConstructor
 public class PublicApiController {
 
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+    private final PublicApiConfig publicApiConfig;
+    private final WebhookIngestionPipeline ingestionPipeline;
+    private final PayloadLogger payloadLogger;
+    private final ValidationEngine validationEngine;
+    private final UserStore userStore;
+
     /**
      * 간단한 데이터 처리 API
      * n8n의 HTTP Request 노드에서 호출 가능
+     * 본문 전체를 Map 으로 바인딩하므로 큰 페이로드는 /api/public/process/stream 을 사용합니다.
      *
      * POST /api/public/process
      * Body: { "data": "your data" }
@@ -28,7 +67,7 @@ public class PublicApiController {
     @PostMapping("/process")
     public ResponseEntity<ApiResponse<Map<String, Object>>> processData(
             @RequestBody Map<String, Object> request) {
-        log.info("Processing data from n8n: {}", request);
+        payloadLogger.log("public.process", "Processing data from n8n", request);
 
         Map<String, Object> result = new HashMap<>();
         result.put("originalData", request);
@@ -48,21 +87,25 @@ public class PublicApiController {
 
     /**
      * 사용자 정보 생성 API
+     * ID 는 충돌 없는 시퀀스로 발급되며, 이미 등록된 이메일이면 409 를 반환합니다.
      *
      * POST /api/public/users
      * Body: { "name": "John", "email": "john@example.com" }
      */
     @PostMapping("/users")
     public ResponseEntity<ApiResponse<Map<String, Object>>> createUser(
-            @RequestBody Map<String, Object> userData) {
-        log.info("Creating user from n8n: {}", userData);
-
-        Map<String, Object> user = new HashMap<>(userData);
-        user.put("id", System.currentTimeMillis());
-        user.put("createdAt", LocalDateTime.now());
-        user.put("status", "active");
+            @RequestBody Map<String, Object> userData) throws IOException {
+        payloadLogger.log("public.users.create", "Creating user from n8n", userData);
 
-        return ResponseEntity.ok(ApiResponse.success("User created", user));
+        try {
+            return ResponseEntity.ok(ApiResponse.success("User created", userStore.create(userData)));
+        } catch (UserStore.DuplicateEmailException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponse.error(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (SegmentLog.LogFullException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ApiResponse.error(e.getMessage()));
+        }
     }
 
     /**
@@ -72,45 +115,83 @@ public class PublicApiController {
      */
     @GetMapping("/users/{userId}")
     public ResponseEntity<ApiResponse<Map<String, Object>>> getUser(
-            @PathVariable String userId) {
+            @PathVariable long userId) {
         log.info("Fetching user from n8n: {}", userId);
 
-        Map<String, Object> user = new HashMap<>();
-        user.put("id", userId);
-        user.put("name", "Sample User");
-        user.put("email", "sample@example.com");
-        user.put("status", "active");
-        user.put("retrievedAt", LocalDateTime.now());
-
-        return ResponseEntity.ok(ApiResponse.success("User retrieved", user));
+        return userStore.get(userId)
+                .map(user -> ResponseEntity.ok(ApiResponse.success("User retrieved", user)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("User not found: " + userId)));
     }
 
     /**
      * 데이터 검증 API
+     * 등록된 규칙 집합(public-api.validation.rule-sets)으로 검증하며, 생략하면 default 규칙 집합을 사용합니다.
      *
-     * POST /api/public/validate
+     * POST /api/public/validate?ruleSet=user
      * Body: { "field": "value" }
      */
     @PostMapping("/validate")
     public ResponseEntity<ApiResponse<Map<String, Object>>> validateData(
+            @RequestParam(defaultValue = ValidationEngine.DEFAULT_RULE_SET) String ruleSet,
             @RequestBody Map<String, Object> data) {
-        log.info("Validating data from n8n: {}", data);
+        payloadLogger.log("public.validate", "Validating data from n8n", data);
+
+        Optional<CompiledRuleSet> rules = validationEngine.find(ruleSet);
+        if (rules.isEmpty()) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Unknown rule set: " + ruleSet));
+        }
+        RecordValidation result = rules.get().validate(data, 0);
 
         Map<String, Object> validation = new HashMap<>();
-        validation.put("isValid", true);
+        validation.put("isValid", result.valid());
+        validation.put("ruleSet", ruleSet);
         validation.put("checkedAt", LocalDateTime.now());
         validation.put("fieldCount", data.size());
+        validation.put("errors", result.errors());
 
-        // 간단한 검증 로직 예시
         if (data.containsKey("email")) {
-            String email = data.get("email").toString();
-            boolean isValidEmail = email.contains("@") && email.contains(".");
-            validation.put("emailValid", isValidEmail);
+            validation.put("emailValid", result.errors().stream()
+                    .map(FieldError::field)
+                    .noneMatch("email"::equals));
         }
 
         return ResponseEntity.ok(ApiResponse.success("Validation completed", validation));
     }
 
+    /**
+     * 배치 검증 API
+     * 레코드 배열을 CPU 코어 수만큼 병렬로 검증하고 레코드별 결과와 집계 통계를 반환합니다.
+     *
+     * POST /api/public/validate/batch?ruleSet=user
+     * Body: [ { "name": "John", "email": "john@example.com" }, ... ]
+     */
+    @PostMapping(value = "/validate/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<Map<String, Object>>> validateBatch(
+            @RequestParam(defaultValue = ValidationEngine.DEFAULT_RULE_SET) String ruleSet,
+            @RequestBody List<Map<String, Object>> records) {
+        log.debug("Validating batch of {} records from n8n (ruleSet={})", records.size(), ruleSet);
+
+        Optional<CompiledRuleSet> rules = validationEngine.find(ruleSet);
+        if (rules.isEmpty()) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Unknown rule set: " + ruleSet));
+        }
+        if (records.size() > validationEngine.maxRecords()) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(
+                    "Too many records: " + records.size() + " (max " + validationEngine.maxRecords() + ")"));
+        }
+
+        ValidationStats stats = new ValidationStats();
+        List<RecordValidation> results = validationEngine.validateAll(rules.get(), records, stats);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("ruleSet", ruleSet);
+        response.put("stats", stats.toMap());
+        response.put("results", results);
+
+        return ResponseEntity.ok(ApiResponse.success("Batch validation completed", response));
+    }
+
     /**
      * 계산 API
      *
@@ -120,7 +201,7 @@ public class PublicApiController {
     @PostMapping("/calculate")
     public ResponseEntity<ApiResponse<Map<String, Object>>> calculate(
             @RequestBody Map<String, Object> request) {
-        log.info("Calculating from n8n: {}", request);
+        payloadLogger.log("public.calculate", "Calculating from n8n", request);
 
         String operation = request.getOrDefault("operation", "add").toString();
         double num1 = Double.parseDouble(request.getOrDefault("num1", 0).toString());
@@ -144,6 +225,41 @@ public class PublicApiController {
         return ResponseEntity.ok(ApiResponse.success("Calculation completed", response));
     }
 
+    /**
+     * 열 단위 배치 계산 API
+     * 행마다 calculate 를 호출하는 대신 피연산자 열을 한 번에 보내고 결과 열을 받습니다.
+     *
+     * POST /api/public/calculate/batch
+     * Body: { "operation": "multiply", "num1": [10, 20, 30], "num2": [5, 4, 3] }
+     *   또는 { "operations": ["add", "divide", ...], "num1": [...], "num2": [...] }
+     */
+    @PostMapping("/calculate/batch")
+    public ResponseEntity<ApiResponse<CalculationBatchResponse>> calculateBatch(
+            @RequestBody CalculationBatchRequest request) {
+        int rows = Math.max(request.getNum1() != null ? request.getNum1().length : 0,
+                request.getNum2() != null ? request.getNum2().length : 0);
+        log.debug("Calculating batch of {} rows from n8n", rows);
+
+        if (rows > publicApiConfig.getCalculate().getMaxRows()) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(
+                    "Too many rows: " + rows + " (max " + publicApiConfig.getCalculate().getMaxRows() + ")"));
+        }
+        double[] result;
+        try {
+            result = request.getOperations() != null
+                    ? ColumnarCalculator.compute(request.getOperations(), request.getNum1(), request.getNum2())
+                    : ColumnarCalculator.compute(request.getOperation(), request.getNum1(), request.getNum2());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+
+        return ResponseEntity.ok(ApiResponse.success("Batch calculation completed", CalculationBatchResponse.builder()
+                .count(result.length)
+                .result(result)
+                .calculatedAt(System.currentTimeMillis())
+                .build()));
+    }
+
     /**
      * 헬스 체크 API
      *
@@ -162,16 +278,36 @@ public class PublicApiController {
     /**
      * Webhook 수신 엔드포인트
      * n8n의 Webhook 노드에서 데이터를 전송받을 수 있음
+     * 비동기 수집 모드(public-api.ingestion.enabled)에서는 본문을 버퍼에 복사하고 즉시 202 를 반환하며,
+     * 버퍼가 가득 차면 429 와 Retry-After 를 반환합니다.
      *
      * POST /webhook/receive
      */
     @PostMapping("/webhook/receive")
     public ResponseEntity<ApiResponse<Map<String, Object>>> receiveWebhook(
-            @RequestBody(required = false) Map<String, Object> webhookData,
-            @RequestHeader Map<String, String> headers) {
-        log.info("Received webhook from n8n");
-        log.info("Headers: {}", headers);
-        log.info("Data: {}", webhookData);
+            @RequestBody(required = false) byte[] body,
+            @RequestHeader Map<String, String> headers) throws IOException {
+        if (ingestionPipeline.isEnabled()) {
+            IngestedWebhook webhook = new IngestedWebhook(System.currentTimeMillis(),
+                    Map.copyOf(headers), body != null ? body : new byte[0]);
+            if (!ingestionPipeline.offer(webhook)) {
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER,
+                                String.valueOf(retryAfterSeconds(publicApiConfig.getIngestion().getRetryAfter())))
+                        .body(ApiResponse.error("Ingestion buffer is full"));
+            }
+            return ResponseEntity.accepted().body(ApiResponse.success("Webhook accepted", null));
+        }
+
+        Map<String, Object> webhookData;
+        try {
+            webhookData = body != null && body.length > 0 ? objectMapper.readValue(body, JSON_OBJECT) : null;
+        } catch (JsonProcessingException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Invalid JSON body: " + e.getOriginalMessage()));
+        }
+        log.debug("Received webhook from n8n");
+        payloadLogger.log("public.webhook.receive", "Headers", headers);
+        payloadLogger.log("public.webhook.receive", "Data", webhookData);
 
         Map<String, Object> response = new HashMap<>();
         response.put("received", true);
@@ -181,4 +317,11 @@ public class PublicApiController {
 
         return ResponseEntity.ok(ApiResponse.success("Webhook received", response));
     }
+
+    /**
+     * Retry-After 는 초 단위 정수이므로 1초 미만 값은 0 이 되지 않도록 올림합니다.
+     */
+    private static long retryAfterSeconds(Duration retryAfter) {
+        return Math.max(1, (retryAfter.toNanos() + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
 }
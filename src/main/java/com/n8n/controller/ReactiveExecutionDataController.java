@@ -0,0 +1,71 @@
+package com.n8n.controller;
+
+import com.n8n.execution.ExecutionPayload;
+import com.n8n.execution.ExecutionPayloadStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ZeroCopyHttpOutputMessage;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * 실행 결과 전체 본문(노드별 출력 포함) 다운로드 (리액티브 모드)
+ * 스풀 파일은 Netty 의 zero-copy 전송({@link ZeroCopyHttpOutputMessage#writeWith})으로 보내고,
+ * 전송이 끝나거나 실패 / 취소될 때 파일 참조를 반납합니다. 서블릿 모드는 {@link ExecutionDataController} 참고.
+ *
+ * GET /api/n8n/executions/{executionId}/data
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExecutionDataController {
+
+    private static final int READ_CHUNK_SIZE = 8192;
+
+    private final ExecutionPayloadStore executionPayloadStore;
+
+    @GetMapping(ExecutionDataController.PATH)
+    public Mono<Void> getExecutionData(@PathVariable String executionId,
+                                       @RequestHeader HttpHeaders requestHeaders,
+                                       ServerHttpResponse response) {
+        log.info("Fetching execution data: {}", executionId);
+
+        return executionPayloadStore.writePayload(executionId, payload -> write(payload, requestHeaders, response))
+                .onErrorResume(error -> {
+                    log.error("Error fetching execution data {}: {}", executionId, error.getMessage());
+                    if (response.isCommitted()) {
+                        return Mono.error(error);
+                    }
+                    response.getHeaders().clear();
+                    response.setStatusCode(ExecutionDataController.status(error));
+                    return response.setComplete();
+                });
+    }
+
+    private static Mono<Void> write(ExecutionPayload payload, HttpHeaders requestHeaders,
+                                    ServerHttpResponse response) {
+        ExecutionDataController.Slice slice =
+                ExecutionDataController.Slice.of(requestHeaders, payload.getSize(), response.getHeaders());
+        response.setStatusCode(slice.status());
+        if (slice.count() == 0) {
+            return response.setComplete();
+        }
+        Resource resource = payload.resource();
+        if (resource instanceof FileSystemResource file && response instanceof ZeroCopyHttpOutputMessage zeroCopy) {
+            return zeroCopy.writeWith(file.getFilePath(), slice.position(), slice.count());
+        }
+        return response.writeWith(DataBufferUtils.takeUntilByteCount(
+                DataBufferUtils.read(resource, slice.position(), response.bufferFactory(), READ_CHUNK_SIZE),
+                slice.count()));
+    }
+}
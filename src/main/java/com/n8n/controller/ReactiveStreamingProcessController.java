@@ -0,0 +1,37 @@
+package com.n8n.controller;
+
+import com.n8n.service.PayloadStreamProcessor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+
+/**
+ * 대용량 페이로드 스트리밍 처리 API (리액티브 모드)
+ * JSON 배열 / NDJSON 본문을 코덱이 레코드 단위로 디코딩하며, 레코드 하나의 크기는
+ * spring.codec.max-in-memory-size 로 제한됩니다. 서블릿 모드는 {@link StreamingProcessController} 참고.
+ *
+ * POST /api/public/process/stream
+ */
+@RestController
+@RequestMapping("/api/public")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveStreamingProcessController {
+
+    private final PayloadStreamProcessor processor;
+
+    @PostMapping(value = "/process/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<DataBuffer> processStream(@RequestBody Flux<Map<String, Object>> records,
+                                          ServerHttpResponse response) {
+        return processor.process(records, response.bufferFactory());
+    }
+}
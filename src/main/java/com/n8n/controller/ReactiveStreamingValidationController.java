@@ -0,0 +1,55 @@
+package com.n8n.controller;
+
+import com.n8n.dto.ApiResponse;
+import com.n8n.validation.CompiledRuleSet;
+import com.n8n.validation.ValidationEngine;
+import com.n8n.validation.ValidationStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * NDJSON 스트리밍 검증 API (리액티브 모드)
+ * 코덱이 본문을 줄 단위로 디코딩하며, 한 줄의 크기는 spring.codec.max-in-memory-size 로 제한됩니다.
+ * 서블릿 모드는 {@link StreamingValidationController} 참고.
+ *
+ * POST /api/public/validate/batch?ruleSet=user
+ * Content-Type: application/x-ndjson
+ */
+@RestController
+@RequestMapping("/api/public")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveStreamingValidationController {
+
+    private final ValidationEngine validationEngine;
+
+    @PostMapping(value = "/validate/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<Object>> validateNdjson(
+            @RequestParam(defaultValue = ValidationEngine.DEFAULT_RULE_SET) String ruleSet,
+            @RequestBody(required = false) Flux<String> lines) {
+        Optional<CompiledRuleSet> rules = validationEngine.find(ruleSet);
+        if (rules.isEmpty()) {
+            return ResponseEntity.badRequest().body(Flux.just(ApiResponse.error("Unknown rule set: " + ruleSet)));
+        }
+
+        ValidationStats stats = new ValidationStats();
+        Flux<Object> results = validationEngine.validateNdjson(rules.get(), lines != null ? lines : Flux.empty(), stats)
+                .cast(Object.class)
+                .concatWith(Flux.defer(() -> Flux.just(Map.of("summary", stats.toMap()))))
+                .onErrorResume(ValidationEngine.LimitExceededException.class,
+                        error -> Flux.just(ApiResponse.error(error.getMessage())));
+        return ResponseEntity.ok(results);
+    }
+}
@@ -0,0 +1,92 @@
+package com.n8n.controller;
+
+import com.n8n.service.AdmissionControl;
+import com.n8n.service.WebhookProxyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.security.Principal;
+
+/**
+ * n8n Webhook 원시 프록시 (리액티브 모드)
+ * Netty 가 받은 요청 버퍼를 WebClient 로 그대로 넘기고, n8n 응답 버퍼를 writeWith 로 그대로 씁니다.
+ * 서블릿 모드는 {@link WebhookProxyController} 참고.
+ *
+ * ANY /api/n8n/webhook/proxy/{webhookPath}
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWebhookProxyController {
+
+    private final WebhookProxyService proxyService;
+    private final AdmissionControl admissionControl;
+
+    @RequestMapping(WebhookProxyController.PREFIX + "/{*webhookPath}")
+    public Mono<Void> proxy(@PathVariable String webhookPath,
+                            ServerHttpRequest request,
+                            ServerHttpResponse response,
+                            Principal principal) {
+        log.debug("Proxying {} webhook: {}", request.getMethod(), webhookPath);
+        ReactiveDownstream downstream = new ReactiveDownstream(response);
+
+        AdmissionControl.Permit permit = admissionControl.acquireWebhook(principal, webhookPath);
+        if (!permit.isGranted()) {
+            return proxyService.write(downstream, permit.rejection());
+        }
+
+        String rawPath = request.getPath().pathWithinApplication().value()
+                .substring(WebhookProxyController.PREFIX.length());
+        String query = request.getURI().getRawQuery();
+        return proxyService.forward(request.getMethod(), webhookPath,
+                        query != null ? rawPath + "?" + query : rawPath,
+                        request.getHeaders(), request.getBody(), downstream)
+                .doFinally(signal -> permit.release());
+    }
+
+    private record ReactiveDownstream(ServerHttpResponse response) implements WebhookProxyService.Downstream {
+
+        @Override
+        public boolean isCommitted() {
+            return response.isCommitted();
+        }
+
+        @Override
+        public void setStatus(int status) {
+            response.setStatusCode(HttpStatusCode.valueOf(status));
+        }
+
+        @Override
+        public HttpHeaders headers() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public DataBufferFactory bufferFactory() {
+            return response.bufferFactory();
+        }
+
+        @Override
+        public Mono<Void> write(Flux<DataBuffer> body) {
+            return response.writeWith(body);
+        }
+
+        @Override
+        public void reset() {
+            response.getHeaders().clear();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.n8n.controller;
+
+import com.n8n.service.PayloadStreamProcessor;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * 대용량 페이로드 스트리밍 처리 API (서블릿 모드)
+ * 요청 InputStream 을 직접 읽고 응답 OutputStream 에 바로 써서 본문 전체를 메모리에 올리지 않습니다.
+ * 리액티브 모드에서는 {@link ReactiveStreamingProcessController} 가 같은 경로를 처리합니다.
+ *
+ * POST /api/public/process/stream
+ * Body: [ { "data": "..." }, ... ] 또는 NDJSON
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/public")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class StreamingProcessController {
+
+    private final PayloadStreamProcessor processor;
+
+    @PostMapping("/process/stream")
+    public void processStream(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        long records = processor.process(request.getInputStream(), response.getOutputStream());
+        log.debug("Streamed {} records through /process/stream", records);
+    }
+}
@@ -0,0 +1,62 @@
+package com.n8n.controller;
+
+import com.n8n.dto.ApiResponse;
+import com.n8n.validation.CompiledRuleSet;
+import com.n8n.validation.ValidationEngine;
+import com.n8n.validation.ValidationStats;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * NDJSON 스트리밍 검증 API (서블릿 모드)
+ * 요청 InputStream 을 한 줄씩 읽어 청크 단위로 병렬 검증하고, 결과를 입력 순서대로 한 줄씩 내보낸 뒤
+ * 마지막 줄에 {"summary": {...}} 형태로 집계 통계를 보냅니다. 본문 전체를 메모리에 올리지 않으며,
+ * 레코드 수(max-records) / 줄 크기(max-line-size)를 넘으면 읽기를 멈추고 마지막 줄에 오류를 보냅니다.
+ * 리액티브 모드에서는 {@link ReactiveStreamingValidationController} 가 같은 경로를 처리합니다.
+ *
+ * POST /api/public/validate/batch?ruleSet=user
+ * Content-Type: application/x-ndjson
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/public")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class StreamingValidationController {
+
+    private final ValidationEngine validationEngine;
+
+    @PostMapping(value = "/validate/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<Object>> validateNdjson(
+            @RequestParam(defaultValue = ValidationEngine.DEFAULT_RULE_SET) String ruleSet,
+            HttpServletRequest request) throws IOException {
+        Optional<CompiledRuleSet> rules = validationEngine.find(ruleSet);
+        if (rules.isEmpty()) {
+            return ResponseEntity.badRequest().body(Flux.just(ApiResponse.error("Unknown rule set: " + ruleSet)));
+        }
+        log.debug("Validating NDJSON stream from n8n (ruleSet={})", ruleSet);
+
+        ValidationStats stats = new ValidationStats();
+        Flux<String> lines = ValidationEngine.ndjsonLines(request.getInputStream(), validationEngine.maxLineBytes());
+        Flux<Object> results = validationEngine.validateNdjson(rules.get(), lines, stats)
+                .cast(Object.class)
+                .concatWith(Flux.defer(() -> Flux.just(Map.of("summary", stats.toMap()))))
+                .onErrorResume(ValidationEngine.LimitExceededException.class,
+                        error -> Flux.just(ApiResponse.error(error.getMessage())));
+        return ResponseEntity.ok(results);
+    }
+}
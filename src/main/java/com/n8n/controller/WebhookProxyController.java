@@ -0,0 +1,149 @@
+package com.n8n.controller;
+
+import com.n8n.service.AdmissionControl;
+import com.n8n.service.WebhookProxyService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.Principal;
+import java.util.Collections;
+
+/**
+ * n8n Webhook 원시 프록시 (서블릿 모드)
+ * 요청 InputStream 을 DataBuffer 로 잘라 n8n 에 보내고, n8n 응답 버퍼를 응답 OutputStream 에 바로 씁니다.
+ * 블로킹 입출력은 boundedElastic 스레드에서 수행해 Netty 이벤트 루프를 막지 않습니다.
+ * 리액티브 모드에서는 {@link ReactiveWebhookProxyController} 가 같은 경로를 처리합니다.
+ *
+ * ANY /api/n8n/webhook/proxy/{webhookPath}
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class WebhookProxyController {
+
+    static final String PREFIX = "/api/n8n/webhook/proxy";
+    private static final int READ_CHUNK_SIZE = 8192;
+
+    private final WebhookProxyService proxyService;
+    private final AdmissionControl admissionControl;
+
+    @RequestMapping(PREFIX + "/{*webhookPath}")
+    public void proxy(@PathVariable String webhookPath,
+                      HttpServletRequest request,
+                      HttpServletResponse response,
+                      Principal principal) throws IOException {
+        log.debug("Proxying {} webhook: {}", request.getMethod(), webhookPath);
+        ServletDownstream downstream = new ServletDownstream(response);
+
+        AdmissionControl.Permit permit = admissionControl.acquireWebhook(principal, webhookPath);
+        if (!permit.isGranted()) {
+            proxyService.write(downstream, permit.rejection()).block();
+            return;
+        }
+
+        String rawPath = request.getRequestURI().substring(request.getContextPath().length() + PREFIX.length());
+        String query = request.getQueryString();
+        Flux<DataBuffer> body = DataBufferUtils.readInputStream(request::getInputStream,
+                        DefaultDataBufferFactory.sharedInstance, READ_CHUNK_SIZE)
+                .subscribeOn(Schedulers.boundedElastic());
+
+        try {
+            proxyService.forward(HttpMethod.valueOf(request.getMethod()), webhookPath,
+                            query != null ? rawPath + "?" + query : rawPath,
+                            headers(request), body, downstream)
+                    .block();
+        } finally {
+            permit.release();
+        }
+    }
+
+    private static HttpHeaders headers(HttpServletRequest request) {
+        HttpHeaders headers = new HttpHeaders();
+        for (String name : Collections.list(request.getHeaderNames())) {
+            headers.addAll(name, Collections.list(request.getHeaders(name)));
+        }
+        return headers;
+    }
+
+    /**
+     * 상태 / 헤더는 첫 본문 버퍼를 쓰기 직전에 HttpServletResponse 로 옮깁니다.
+     */
+    private static final class ServletDownstream implements WebhookProxyService.Downstream {
+
+        private final HttpServletResponse response;
+        private final HttpHeaders headers = new HttpHeaders();
+        private int status = 200;
+
+        private ServletDownstream(HttpServletResponse response) {
+            this.response = response;
+        }
+
+        @Override
+        public boolean isCommitted() {
+            return response.isCommitted();
+        }
+
+        @Override
+        public void setStatus(int status) {
+            this.status = status;
+        }
+
+        @Override
+        public HttpHeaders headers() {
+            return headers;
+        }
+
+        @Override
+        public DataBufferFactory bufferFactory() {
+            return DefaultDataBufferFactory.sharedInstance;
+        }
+
+        @Override
+        public Mono<Void> write(Flux<DataBuffer> body) {
+            return Mono.fromRunnable(() -> {
+                        response.setStatus(status);
+                        headers.forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+                    })
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .thenMany(DataBufferUtils.write(body.publishOn(Schedulers.boundedElastic()),
+                            outputStream()))
+                    .doOnNext(DataBufferUtils::release)
+                    .then();
+        }
+
+        @Override
+        public void reset() {
+            // addHeader 로 이미 옮긴 upstream 헤더와 출력 버퍼에 남은 upstream 본문까지 지움
+            response.reset();
+            headers.clear();
+            status = 200;
+        }
+
+        private OutputStream outputStream() {
+            try {
+                return response.getOutputStream();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.n8n.controller;
+
+import com.n8n.dto.ApiResponse;
+import com.n8n.dto.N8nWebhookRequest;
+import com.n8n.queue.SegmentLog;
+import com.n8n.queue.WebhookDeliveryQueue;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 디스크 기반 비동기 Webhook 전송 큐 엔드포인트
+ * n8n.webhook.queue.enabled=true 일 때만 활성화됩니다.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/n8n/webhook")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "n8n.webhook.queue", name = "enabled", havingValue = "true")
+public class WebhookQueueController {
+
+    private final WebhookDeliveryQueue deliveryQueue;
+
+    /**
+     * n8n Webhook 호출을 큐에 넣고 즉시 202 를 반환합니다.
+     * 전송은 백그라운드에서 재시도와 함께 최소 1회 이상 수행됩니다.
+     *
+     * POST /api/n8n/webhook/async
+     * Body: N8nWebhookRequest 와 동일
+     */
+    @PostMapping("/async")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> enqueueWebhook(
+            @RequestBody N8nWebhookRequest request) {
+        log.info("Enqueueing webhook for path: {}", request.getWebhookPath());
+
+        try {
+            long offset = deliveryQueue.enqueue(request);
+            return ResponseEntity.accepted().body(
+                    ApiResponse.success("Webhook queued", Map.of("offset", offset)));
+        } catch (SegmentLog.LogFullException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(
+                    ApiResponse.error("Webhook queue is full: " + e.getMessage()));
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Failed to enqueue webhook: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().body(
+                    ApiResponse.error("Failed to enqueue webhook: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 큐 상태(적재/전송/재시도/dead-letter 건수, 오프셋)를 조회합니다.
+     *
+     * GET /api/n8n/webhook/queue/stats
+     */
+    @GetMapping("/queue/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getQueueStats() {
+        return ResponseEntity.ok(ApiResponse.success("Webhook queue stats", deliveryQueue.stats()));
+    }
+}
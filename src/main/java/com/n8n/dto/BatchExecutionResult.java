@@ -0,0 +1,18 @@
+package com.n8n.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchExecutionResult {
+    private long index;
+    private String workflowId;
+    private boolean success;
+    private WorkflowExecutionResponse response;
+    private String error;
+}
@@ -0,0 +1,22 @@
+package com.n8n.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 열(column) 단위 계산 요청
+ * operation 하나를 모든 행에 적용하거나 operations 로 행마다 지정합니다.
+ * 피연산자는 Jackson 이 박싱 없이 double[] 로 바로 읽으며, 길이 1 인 열은 모든 행에 같은 값으로 적용됩니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalculationBatchRequest {
+    private String operation;
+    private String[] operations;
+    private double[] num1;
+    private double[] num2;
+}
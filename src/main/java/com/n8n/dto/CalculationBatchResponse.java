@@ -0,0 +1,16 @@
+package com.n8n.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalculationBatchResponse {
+    private int count;
+    private double[] result;
+    private Long calculatedAt;
+}
@@ -0,0 +1,19 @@
+package com.n8n.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExecutionStatusEvent {
+    private String executionId;
+    private String status;
+    private boolean finished;
+    private boolean terminal;
+    private Object stoppedAt;
+    private String error;
+}
@@ -0,0 +1,28 @@
+package com.n8n.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 실행 결과 중 한 노드 출력의 일부 구간
+ * items 는 runData[node][run].data.main[output] 배열의 [offset, offset + limit) 구간입니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NodeOutputPage {
+    private String executionId;
+    private String node;
+    private int run;
+    private int output;
+    private int offset;
+    private int limit;
+    private int total;
+    private boolean hasMore;
+    private List<Object> items;
+}
@@ -0,0 +1,24 @@
+package com.n8n.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * n8n 목록 API 의 한 페이지 ({ "data": [...], "nextCursor": "..." })
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class WorkflowPage<T> {
+    private List<T> data;
+    private String nextCursor;
+
+    public boolean hasNext() {
+        return nextCursor != null && !nextCursor.isEmpty();
+    }
+}
@@ -0,0 +1,36 @@
+package com.n8n.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 워크플로우 요약 정보
+ * 선언되지 않은 필드(nodes, connections, pinData 등)는 역직렬화 시 트리로 만들지 않고 건너뜁니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class WorkflowSummary {
+    private String id;
+    private String name;
+    private Boolean active;
+    private List<WorkflowTag> tags;
+    private String createdAt;
+    private String updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class WorkflowTag {
+        private String id;
+        private String name;
+    }
+}
@@ -0,0 +1,63 @@
+package com.n8n.execution;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/**
+ * 스풀 파일 전체가 쓸 수 있는 디스크 용량
+ *
+ * <p>다운로드 중인 스풀과 캐시에 보관 중인 파일이 같은 카운터를 공유합니다. 파일에 쓰기 전에 {@link #reserve(long)} 로
+ * 예약하고, 파일이 삭제되면 {@link #release(long)} 로 돌려줍니다. 예약이 한도를 넘으면 reclaimer 로 오래된 파일을
+ * 정리한 뒤 한 번 더 시도합니다.</p>
+ */
+final class DiskBudget {
+
+    private final long limit;
+    private final LongConsumer reclaimer;
+    private final AtomicLong used = new AtomicLong();
+
+    DiskBudget(long limit, LongConsumer reclaimer) {
+        this.limit = limit;
+        this.reclaimer = reclaimer;
+    }
+
+    /**
+     * @throws IllegalStateException 정리한 뒤에도 한도를 넘는 경우
+     */
+    void reserve(long bytes) {
+        if (tryReserve(bytes)) {
+            return;
+        }
+        reclaimer.accept(bytes);
+        if (!tryReserve(bytes)) {
+            throw new IllegalStateException("Spool disk usage limit of " + limit + " bytes reached");
+        }
+    }
+
+    void release(long bytes) {
+        used.addAndGet(-bytes);
+    }
+
+    long used() {
+        return used.get();
+    }
+
+    long available() {
+        return limit - used.get();
+    }
+
+    long limit() {
+        return limit;
+    }
+
+    private boolean tryReserve(long bytes) {
+        long current;
+        do {
+            current = used.get();
+            if (current + bytes > limit) {
+                return false;
+            }
+        } while (!used.compareAndSet(current, current + bytes));
+        return true;
+    }
+}
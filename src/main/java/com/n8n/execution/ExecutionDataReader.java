@@ -0,0 +1,136 @@
+package com.n8n.execution;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.n8n.dto.NodeOutputPage;
+import com.n8n.service.ExecutionStatusMultiplexer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 실행 결과 본문을 스트리밍 파서로 읽는 유틸리티
+ *
+ * <p>필요한 경로 밖의 하위 트리는 skipChildren 으로 건너뛰므로 본문 전체를 트리로 만들지 않고,
+ * 메모리에는 요청한 구간의 항목만 올라옵니다.</p>
+ */
+public final class ExecutionDataReader {
+
+    private ExecutionDataReader() {
+    }
+
+    /**
+     * 최상위 finished / status 필드로 실행 종료 여부를 판정합니다. 두 필드를 모두 읽으면 나머지는 읽지 않습니다.
+     */
+    public static boolean isTerminal(JsonFactory jsonFactory, InputStream in) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return false;
+            }
+            Boolean finished = null;
+            String status = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME && (finished == null || status == null)) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("finished".equals(field)) {
+                    finished = value == JsonToken.VALUE_TRUE;
+                } else if ("status".equals(field) && value == JsonToken.VALUE_STRING) {
+                    status = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return Boolean.TRUE.equals(finished)
+                    || (status != null && ExecutionStatusMultiplexer.TERMINAL_STATUSES.contains(status));
+        }
+    }
+
+    /**
+     * data.resultData.runData[node][run].data.main[output] 항목 중 [offset, offset + limit) 구간을 읽습니다.
+     * 전체 항목 수를 세기 위해 구간 뒤의 항목은 건너뛰며 끝까지 읽습니다.
+     *
+     * @return 노드 / 실행 회차 / 출력이 없으면 empty
+     */
+    public static Optional<NodeOutputPage> readNodeOutput(ObjectMapper objectMapper, InputStream in,
+                                                          String executionId, String node,
+                                                          int run, int output, int offset, int limit)
+            throws IOException {
+        Object[] path = {"data", "resultData", "runData", node, run, "data", "main", output};
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            parser.nextToken();
+            for (Object step : path) {
+                boolean found = step instanceof String field ? field(parser, field) : element(parser, (Integer) step);
+                if (!found) {
+                    return Optional.empty();
+                }
+            }
+
+            List<Object> items = new ArrayList<>(Math.min(limit, 1024));
+            int total = 0;
+            // 출력에 항목이 없으면 n8n 은 null 을 기록함
+            if (parser.currentToken() == JsonToken.START_ARRAY) {
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    if (total >= offset && total - offset < limit) {
+                        items.add(objectMapper.readValue(parser, Object.class));
+                    } else {
+                        parser.skipChildren();
+                    }
+                    total++;
+                }
+            } else if (parser.currentToken() != JsonToken.VALUE_NULL) {
+                return Optional.empty();
+            }
+
+            return Optional.of(NodeOutputPage.builder()
+                    .executionId(executionId)
+                    .node(node)
+                    .run(run)
+                    .output(output)
+                    .offset(offset)
+                    .limit(limit)
+                    .total(total)
+                    .hasMore(offset + items.size() < total)
+                    .items(items)
+                    .build());
+        }
+    }
+
+    /**
+     * 현재 객체에서 field 의 값 시작 토큰으로 이동합니다.
+     */
+    private static boolean field(JsonParser parser, String name) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if (name.equals(field)) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    /**
+     * 현재 배열에서 index 번째 요소의 시작 토큰으로 이동합니다.
+     */
+    private static boolean element(JsonParser parser, int index) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            return false;
+        }
+        for (int i = 0; parser.nextToken() != JsonToken.END_ARRAY; i++) {
+            if (i == index) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+}
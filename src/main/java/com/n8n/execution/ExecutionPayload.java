@@ -0,0 +1,119 @@
+package com.n8n.execution;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * n8n 실행 결과 본문 (GET /api/v1/executions/{id}?includeData=true)
+ *
+ * <p>스풀 임계값 이하이면 byte[] 로, 넘으면 임시 파일로 보관합니다. 어느 쪽이든 {@link #open()} 으로
+ * 다시 읽거나 {@link #resource()} 로 응답 본문에 그대로 실을 수 있습니다.</p>
+ *
+ * <p>파일은 참조 수로 관리합니다. 캐시가 참조 하나를 갖고, 읽는 쪽은 {@link #retain()} 으로 참조를 얻은 동안에만
+ * 파일을 엽니다. 마지막 참조가 {@link #release()} 될 때 파일을 지우고 디스크 예산을 돌려줍니다.</p>
+ */
+public final class ExecutionPayload {
+
+    private final String executionId;
+    private final byte[] bytes;
+    private final Path file;
+    private final long size;
+    private final boolean terminal;
+    private final DiskBudget budget;
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    private ExecutionPayload(String executionId, byte[] bytes, Path file, long size, boolean terminal,
+                             DiskBudget budget) {
+        this.executionId = executionId;
+        this.bytes = bytes;
+        this.file = file;
+        this.size = size;
+        this.terminal = terminal;
+        this.budget = budget;
+    }
+
+    static ExecutionPayload inMemory(String executionId, byte[] bytes, boolean terminal) {
+        return new ExecutionPayload(executionId, bytes, null, bytes.length, terminal, null);
+    }
+
+    static ExecutionPayload spilled(String executionId, Path file, long size, boolean terminal, DiskBudget budget) {
+        return new ExecutionPayload(executionId, null, file, size, terminal, budget);
+    }
+
+    public String getExecutionId() {
+        return executionId;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public boolean isSpilled() {
+        return file != null;
+    }
+
+    /**
+     * 실행이 종료 상태(finished 또는 success / error / canceled / crashed)인지 여부
+     */
+    public boolean isTerminal() {
+        return terminal;
+    }
+
+    /**
+     * 참조를 하나 늘립니다.
+     *
+     * @return 이미 마지막 참조가 해제되어 파일이 지워졌으면 false
+     */
+    boolean retain() {
+        int current;
+        do {
+            current = references.get();
+            if (current == 0) {
+                return false;
+            }
+        } while (!references.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * 참조를 하나 줄이고, 마지막 참조였으면 파일을 지웁니다.
+     *
+     * @return 파일을 지웠으면 true
+     */
+    boolean release() {
+        if (references.decrementAndGet() != 0 || file == null) {
+            return false;
+        }
+        PayloadSpool.delete(file);
+        budget.release(size);
+        return true;
+    }
+
+    /**
+     * 참조를 가진 동안에만 호출합니다.
+     */
+    public InputStream open() throws IOException {
+        return file != null ? Files.newInputStream(file) : new ByteArrayInputStream(bytes);
+    }
+
+    /**
+     * 응답 본문용 Resource. 참조를 가진 동안에만 호출하고, 응답을 다 쓸 때까지 참조를 놓지 않아야 합니다
+     * ({@link ExecutionPayloadStore#writePayload}).
+     * 파일이면 경로를 가리키는 {@link FileSystemResource} 이므로 응답 쪽에서 zero-copy 로 전송할 수 있습니다.
+     */
+    public Resource resource() {
+        return file != null ? new FileSystemResource(file) : new ByteArrayResource(bytes);
+    }
+
+    Path file() {
+        return file;
+    }
+}
@@ -0,0 +1,277 @@
+package com.n8n.execution;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.n8n.config.N8nConfig;
+import com.n8n.config.UpstreamPool;
+import com.n8n.dto.NodeOutputPage;
+import com.n8n.metrics.UpstreamMetrics;
+import com.n8n.service.UpstreamResilience;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 실행 결과 전체 페이로드(includeData) 저장소
+ *
+ * <p>n8n 응답을 Map 으로 디코딩하지 않고 DataBuffer 스트림으로 받아 {@link PayloadSpool} 에 기록합니다.
+ * 코덱의 max-in-memory-size 제한을 받지 않으며, 큰 본문은 임시 파일에 두고 파일 그대로 응답하거나
+ * {@link ExecutionDataReader} 로 필요한 노드 출력 구간만 읽습니다.</p>
+ *
+ * <p>같은 실행에 대한 동시 요청은 하나의 다운로드를 공유합니다. 종료된 실행은 ttl, 진행 중인 실행은 runningTtl 동안
+ * 재사용되며, 만료되거나 maxDiskUsage 를 넘어 밀려나면 파일을 삭제합니다.</p>
+ *
+ * <p>진행 중인 다운로드와 보관 중인 파일은 하나의 {@link DiskBudget} 을 나눠 씁니다. 예산이 모자라면 가장 오래 쓰이지
+ * 않은 파일부터 캐시에서 내보내고, 그래도 모자라면 다운로드가 실패합니다. 캐시에서 밀려난 파일은 읽는 중인 요청이
+ * 참조를 놓을 때 삭제됩니다.</p>
+ */
+@Slf4j
+@Component
+public class ExecutionPayloadStore {
+
+    private static final String ROUTE = "GET /api/v1/executions/{id}";
+    private static final int RECLAIM_BATCH = 16;
+
+    private final WebClient n8nWebClient;
+    private final N8nConfig.SpoolConfig config;
+    private final UpstreamResilience resilience;
+    private final UpstreamMetrics metrics;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final DiskBudget diskBudget;
+    private final AsyncCache<String, ExecutionPayload> payloads;
+
+    private final AtomicLong fetched = new AtomicLong();
+    private final AtomicLong spilled = new AtomicLong();
+    private final AtomicLong deleted = new AtomicLong();
+
+    public ExecutionPayloadStore(@Qualifier("n8nWebClient") WebClient n8nWebClient,
+                                 N8nConfig n8nConfig,
+                                 UpstreamResilience resilience,
+                                 UpstreamMetrics metrics,
+                                 ObjectMapper objectMapper) {
+        this.n8nWebClient = n8nWebClient;
+        this.config = n8nConfig.getExecutions().getSpool();
+        this.resilience = resilience;
+        this.metrics = metrics;
+        this.objectMapper = objectMapper;
+        this.directory = Paths.get(config.getDirectory());
+        this.diskBudget = new DiskBudget(config.getMaxDiskUsage().toBytes(), this::reclaim);
+        this.payloads = Caffeine.newBuilder()
+                .maximumWeight(Math.max(1, config.getMaxDiskUsage().toKilobytes()))
+                .<String, ExecutionPayload>weigher((executionId, payload) ->
+                        (int) Math.min(Integer.MAX_VALUE, payload.getSize() / 1024 + 1))
+                .expireAfter(new PayloadExpiry())
+                // 만료된 파일이 다음 캐시 접근까지 남지 않도록 만료 시점에 정리
+                .scheduler(Scheduler.systemScheduler())
+                // reclaim() 이 내보낸 직후 예산이 돌아오도록 제거 리스너를 호출 스레드에서 실행
+                .executor(Runnable::run)
+                .removalListener((executionId, payload, cause) -> {
+                    if (payload != null) {
+                        release(payload);
+                    }
+                })
+                .recordStats()
+                .buildAsync();
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(directory);
+        // 이전 프로세스가 남긴 스풀 파일 정리
+        try (DirectoryStream<Path> stale = Files.newDirectoryStream(directory,
+                PayloadSpool.FILE_PREFIX + "*" + PayloadSpool.FILE_SUFFIX)) {
+            for (Path file : stale) {
+                PayloadSpool.delete(file);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        payloads.synchronous().invalidateAll();
+        payloads.synchronous().cleanUp();
+    }
+
+    /**
+     * 실행 결과 전체 본문을 writer 로 응답에 씁니다. writer 가 돌려준 쓰기가 끝나거나 실패 / 취소될 때까지 참조를
+     * 유지하므로, 그동안 캐시에서 밀려나도 파일은 지워지지 않고 writer 는 파일 경로로 zero-copy 전송을 할 수 있습니다.
+     *
+     * @param executionId 실행 ID
+     * @param writer      {@link ExecutionPayload#resource()} 를 응답에 쓰는 함수
+     * @return 쓰기 완료 (n8n 이 404 를 반환하면 WebClientResponseException.NotFound)
+     */
+    public Mono<Void> writePayload(String executionId, Function<ExecutionPayload, Mono<Void>> writer) {
+        return Mono.usingWhen(retained(executionId),
+                writer,
+                payload -> Mono.fromRunnable(() -> release(payload)));
+    }
+
+    /**
+     * 한 노드 출력의 [offset, offset + limit) 구간을 조회합니다. limit 는 maxPageSize 로 제한됩니다.
+     *
+     * @return 노드 / 실행 회차 / 출력이 없으면 empty
+     */
+    public Mono<Optional<NodeOutputPage>> getNodeOutput(String executionId, String node,
+                                                        int run, int output, int offset, int limit) {
+        int pageSize = Math.min(limit, config.getMaxPageSize());
+        return withPayload(executionId, payload -> {
+            try (InputStream in = payload.open()) {
+                return ExecutionDataReader.readNodeOutput(objectMapper, in, executionId, node,
+                        run, output, offset, pageSize);
+            }
+        });
+    }
+
+    public Map<String, Object> stats() {
+        long entries = 0;
+        long files = 0;
+        long diskBytes = 0;
+        for (ExecutionPayload payload : payloads.synchronous().asMap().values()) {
+            entries++;
+            if (payload.isSpilled()) {
+                files++;
+                diskBytes += payload.getSize();
+            }
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", entries);
+        stats.put("spooledFiles", files);
+        stats.put("diskBytes", diskBytes);
+        stats.put("reservedDiskBytes", diskBudget.used());
+        stats.put("maxDiskBytes", diskBudget.limit());
+        stats.put("fetched", fetched.get());
+        stats.put("spilled", spilled.get());
+        stats.put("deletedFiles", deleted.get());
+        stats.put("hitRate", payloads.synchronous().stats().hitRate());
+        return stats;
+    }
+
+    /**
+     * 페이로드 참조를 얻어 boundedElastic 에서 reader 를 실행하고, 끝나거나 취소되면 참조를 놓습니다.
+     */
+    private <T> Mono<T> withPayload(String executionId, PayloadReader<T> reader) {
+        return Mono.usingWhen(retained(executionId),
+                payload -> Mono.fromCallable(() -> {
+                    try {
+                        return reader.read(payload);
+                    } catch (IOException e) {
+                        throw new IllegalStateException("Failed to read execution " + executionId + " payload", e);
+                    }
+                }).subscribeOn(Schedulers.boundedElastic()),
+                payload -> Mono.fromRunnable(() -> release(payload)));
+    }
+
+    /**
+     * 캐시의 페이로드에 참조를 하나 더해 반환합니다. 그 사이 캐시에서 밀려나 파일이 지워졌으면 다시 조회합니다.
+     */
+    private Mono<ExecutionPayload> retained(String executionId) {
+        // 구독 취소가 다른 요청과 공유하는 다운로드를 취소하지 않도록 suppressCancel
+        return Mono.fromFuture(() -> payloads.get(executionId, (key, executor) -> fetch(key).toFuture()), true)
+                .filter(ExecutionPayload::retain)
+                .repeatWhenEmpty(2, Function.identity());
+    }
+
+    private void release(ExecutionPayload payload) {
+        if (payload.release()) {
+            deleted.incrementAndGet();
+        }
+    }
+
+    /**
+     * 디스크 예산이 모자랄 때 가장 오래 쓰이지 않은 파일부터 캐시에서 내보냅니다.
+     * 읽는 중인 요청이 있는 파일은 그 참조가 놓일 때 지워지므로 이번 예약에는 보탬이 되지 않을 수 있습니다.
+     */
+    private void reclaim(long bytes) {
+        payloads.synchronous().policy().eviction().ifPresent(eviction -> {
+            for (Map.Entry<String, ExecutionPayload> entry : eviction.coldest(RECLAIM_BATCH).entrySet()) {
+                if (diskBudget.available() >= bytes) {
+                    return;
+                }
+                if (entry.getValue().isSpilled()) {
+                    payloads.synchronous().asMap().remove(entry.getKey(), entry.getValue());
+                }
+            }
+        });
+    }
+
+    private Mono<ExecutionPayload> fetch(String executionId) {
+        Mono<ExecutionPayload> download = Mono.defer(() -> {
+            PayloadSpool spool = new PayloadSpool(executionId, directory, config.getThreshold().toBytes(), diskBudget);
+            return n8nWebClient.get()
+                    .uri(uriBuilder -> uriBuilder.path("/api/v1/executions/{id}")
+                            .queryParam("includeData", true)
+                            .build(executionId))
+                    .attribute(UpstreamPool.STICKY_KEY_ATTRIBUTE, executionId)
+                    .retrieve()
+                    .bodyToFlux(DataBuffer.class)
+                    // 파일 쓰기는 이벤트 루프 밖에서
+                    .publishOn(Schedulers.boundedElastic())
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                    .doOnNext(spool::write)
+                    .then(Mono.fromCallable(() -> spool.finish(objectMapper.getFactory())))
+                    .doOnError(error -> spool.discard())
+                    .doOnCancel(spool::discard);
+        });
+        // 실행 ID 는 무한히 늘어나므로 태그로 쓰지 않음
+        return metrics.api("execution_data", null, resilience.idempotent(ROUTE, download))
+                .doOnNext(payload -> {
+                    fetched.incrementAndGet();
+                    if (payload.isSpilled()) {
+                        spilled.incrementAndGet();
+                    }
+                    log.debug("Fetched execution {} payload: {} bytes, spilled={}, terminal={}",
+                            executionId, payload.getSize(), payload.isSpilled(), payload.isTerminal());
+                });
+    }
+
+    @FunctionalInterface
+    private interface PayloadReader<T> {
+        T read(ExecutionPayload payload) throws IOException;
+    }
+
+    /**
+     * 종료된 실행은 ttl, 진행 중인 실행은 runningTtl 뒤에 만료
+     */
+    private final class PayloadExpiry implements Expiry<String, ExecutionPayload> {
+
+        @Override
+        public long expireAfterCreate(String executionId, ExecutionPayload payload, long currentTime) {
+            return (payload.isTerminal() ? config.getTtl() : config.getRunningTtl()).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String executionId, ExecutionPayload payload, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(executionId, payload, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String executionId, ExecutionPayload payload, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
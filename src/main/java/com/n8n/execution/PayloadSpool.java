@@ -0,0 +1,163 @@
+package com.n8n.execution;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 응답 본문 DataBuffer 를 받아 threshold 까지는 메모리에, 넘어서면 임시 파일에 기록합니다.
+ *
+ * <p>파일로 넘어간 뒤에는 각 버퍼의 ByteBuffer 를 FileChannel 에 그대로 쓰므로 본문 크기와 관계없이
+ * 메모리에는 수신 중인 버퍼 몇 개만 남습니다. 파일에 쓰는 만큼 {@link DiskBudget} 에서 미리 예약하므로 동시에 진행 중인
+ * 다운로드를 모두 합쳐도 한도를 넘지 않습니다. 완료 전에 실패하거나 취소되면 {@link #discard()} 로 파일을 지우고
+ * 예약을 돌려줍니다.</p>
+ */
+@Slf4j
+final class PayloadSpool {
+
+    static final String FILE_PREFIX = "execution-";
+    static final String FILE_SUFFIX = ".json";
+
+    private final String executionId;
+    private final Path directory;
+    private final long threshold;
+    private final DiskBudget budget;
+
+    private ByteArrayOutputStream memory = new ByteArrayOutputStream();
+    private Path file;
+    private FileChannel channel;
+    private long size;
+    private long reserved;
+    private boolean closed;
+
+    PayloadSpool(String executionId, Path directory, long threshold, DiskBudget budget) {
+        this.executionId = executionId;
+        this.directory = directory;
+        this.threshold = threshold;
+        this.budget = budget;
+    }
+
+    /**
+     * 버퍼를 기록하고 해제합니다.
+     *
+     * @throws IllegalStateException 디스크 예산이 부족한 경우
+     */
+    synchronized void write(DataBuffer buffer) {
+        try {
+            if (closed) {
+                return;
+            }
+            int count = buffer.readableByteCount();
+            size += count;
+            if (channel == null && size <= threshold) {
+                byte[] bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+                memory.writeBytes(bytes);
+                return;
+            }
+            // 파일로 넘어가는 순간에는 메모리에 모아 둔 앞부분까지 함께 예약
+            reserve(channel == null ? size : count);
+            if (channel == null) {
+                spill();
+            }
+            try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+                while (iterator.hasNext()) {
+                    ByteBuffer chunk = iterator.next();
+                    while (chunk.hasRemaining()) {
+                        channel.write(chunk);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    /**
+     * 기록을 마치고 결과를 반환합니다. 종료 여부는 본문 최상위 필드(finished, status)로 판정합니다.
+     */
+    synchronized ExecutionPayload finish(JsonFactory jsonFactory) throws IOException {
+        closed = true;
+        if (channel == null) {
+            byte[] bytes = memory.toByteArray();
+            memory = null;
+            return ExecutionPayload.inMemory(executionId, bytes, isTerminal(jsonFactory, bytes));
+        }
+        channel.close();
+        try (InputStream in = Files.newInputStream(file)) {
+            // 예약은 페이로드가 넘겨받아 파일을 지울 때 돌려줌
+            boolean terminal = ExecutionDataReader.isTerminal(jsonFactory, in);
+            return ExecutionPayload.spilled(executionId, file, size, terminal, budget);
+        } catch (IOException | RuntimeException e) {
+            delete(file);
+            budget.release(reserved);
+            throw e;
+        }
+    }
+
+    synchronized void discard() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        memory = null;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.debug("Failed to close spool file {}: {}", file, e.getMessage());
+            }
+            delete(file);
+        }
+        budget.release(reserved);
+        reserved = 0;
+    }
+
+    static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete spool file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void reserve(long bytes) {
+        try {
+            budget.reserve(bytes);
+        } catch (IllegalStateException e) {
+            throw new IllegalStateException("Execution " + executionId + " payload: " + e.getMessage(), e);
+        }
+        reserved += bytes;
+    }
+
+    private void spill() throws IOException {
+        file = Files.createTempFile(directory, FILE_PREFIX, FILE_SUFFIX);
+        channel = FileChannel.open(file, StandardOpenOption.WRITE);
+        ByteBuffer head = ByteBuffer.wrap(memory.toByteArray());
+        while (head.hasRemaining()) {
+            channel.write(head);
+        }
+        memory = null;
+        log.debug("Spilling execution {} payload to {}", executionId, file);
+    }
+
+    private static boolean isTerminal(JsonFactory jsonFactory, byte[] bytes) throws IOException {
+        try (InputStream in = new ByteArrayInputStream(bytes)) {
+            return ExecutionDataReader.isTerminal(jsonFactory, in);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.n8n.ingestion;
+
+import java.util.Map;
+
+/**
+ * 링 버퍼에 적재된 수신 Webhook
+ *
+ * @param receivedAt 수신 시각 (epoch millis)
+ * @param headers    요청 헤더 사본
+ * @param payload    요청 본문 원본 바이트
+ */
+public record IngestedWebhook(long receivedAt, Map<String, String> headers, byte[] payload) {
+}
@@ -0,0 +1,14 @@
+package com.n8n.ingestion;
+
+import java.util.List;
+
+/**
+ * 수집 파이프라인이 배치 단위로 전달하는 대상
+ * 빈으로 등록된 모든 구현체가 각 배치를 받습니다.
+ */
+public interface IngestionSink {
+
+    String name();
+
+    void accept(List<IngestedWebhook> batch) throws Exception;
+}
@@ -0,0 +1,27 @@
+package com.n8n.ingestion;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 기본 sink: 배치 크기와 용량만 기록합니다. 실제 저장소 sink 는 {@link IngestionSink} 빈을 추가해 연결합니다.
+ */
+@Slf4j
+@Component
+public class LoggingIngestionSink implements IngestionSink {
+
+    @Override
+    public String name() {
+        return "logging";
+    }
+
+    @Override
+    public void accept(List<IngestedWebhook> batch) {
+        if (log.isDebugEnabled()) {
+            long bytes = batch.stream().mapToLong(webhook -> webhook.payload().length).sum();
+            log.debug("Ingested webhook batch: {} items, {} bytes", batch.size(), bytes);
+        }
+    }
+}
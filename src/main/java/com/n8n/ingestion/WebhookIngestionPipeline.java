@@ -0,0 +1,128 @@
+package com.n8n.ingestion;
+
+import com.n8n.config.PublicApiConfig;
+import com.n8n.support.MpmcRingBuffer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 수신 Webhook 비동기 수집 파이프라인
+ *
+ * <p>요청 스레드는 {@link #offer} 로 링 버퍼에 넣기만 하고, 전용 소비자 스레드들이 배치 단위로 꺼내
+ * 등록된 모든 {@link IngestionSink} 에 전달합니다. 버퍼가 가득 차면 offer 가 false 를 반환하며
+ * 호출 측은 429 로 응답합니다.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WebhookIngestionPipeline {
+
+    private final PublicApiConfig publicApiConfig;
+    private final List<IngestionSink> sinks;
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong sinkFailures = new AtomicLong();
+
+    private MpmcRingBuffer<IngestedWebhook> buffer;
+    private final List<Thread> consumers = new ArrayList<>();
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        PublicApiConfig.IngestionConfig config = publicApiConfig.getIngestion();
+        if (!config.isEnabled()) {
+            return;
+        }
+        buffer = new MpmcRingBuffer<>(config.getCapacity());
+        running = true;
+        for (int i = 0; i < config.getConsumers(); i++) {
+            Thread consumer = new Thread(this::consume, "webhook-ingestion-" + i);
+            consumer.setDaemon(true);
+            consumer.start();
+            consumers.add(consumer);
+        }
+        log.info("Webhook ingestion pipeline started: capacity={}, consumers={}, sinks={}",
+                config.getCapacity(), config.getConsumers(), sinks.stream().map(IngestionSink::name).toList());
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        for (Thread consumer : consumers) {
+            consumer.join(5000);
+        }
+        if (buffer != null) {
+            // 종료 전에 남은 항목을 마저 전달
+            drainOnce(Integer.MAX_VALUE);
+        }
+    }
+
+    public boolean isEnabled() {
+        return buffer != null;
+    }
+
+    /**
+     * 수신 Webhook 을 버퍼에 넣습니다.
+     *
+     * @return 버퍼가 가득 차 넣지 못했으면 false
+     */
+    public boolean offer(IngestedWebhook webhook) {
+        if (buffer.offer(webhook)) {
+            accepted.incrementAndGet();
+            return true;
+        }
+        rejected.incrementAndGet();
+        return false;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", isEnabled());
+        stats.put("queueDepth", buffer != null ? buffer.size() : 0);
+        stats.put("capacity", buffer != null ? buffer.capacity() : 0);
+        stats.put("accepted", accepted.get());
+        stats.put("dropped", rejected.get());
+        stats.put("processed", processed.get());
+        stats.put("sinkFailures", sinkFailures.get());
+        return stats;
+    }
+
+    private void consume() {
+        long idleNanos = publicApiConfig.getIngestion().getIdleWait().toNanos();
+        while (running) {
+            if (drainOnce(publicApiConfig.getIngestion().getBatchSize()) == 0) {
+                LockSupport.parkNanos(idleNanos);
+            }
+        }
+    }
+
+    private int drainOnce(int maxElements) {
+        List<IngestedWebhook> batch = new ArrayList<>(Math.min(maxElements, publicApiConfig.getIngestion().getBatchSize()));
+        int drained = buffer.drainTo(batch, maxElements);
+        if (drained == 0) {
+            return 0;
+        }
+        for (IngestionSink sink : sinks) {
+            try {
+                sink.accept(batch);
+            } catch (Exception e) {
+                sinkFailures.incrementAndGet();
+                log.error("Ingestion sink {} failed for batch of {}: {}", sink.name(), drained, e.getMessage(), e);
+            }
+        }
+        processed.addAndGet(drained);
+        return drained;
+    }
+}
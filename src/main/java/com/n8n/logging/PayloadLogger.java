@@ -0,0 +1,51 @@
+package com.n8n.logging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.n8n.config.PayloadLoggingConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 요청 페이로드 로깅
+ *
+ * <p>com.n8n.payload 로거가 DEBUG 일 때, 그리고 엔드포인트별 샘플링에 당첨된 요청에 대해서만
+ * 페이로드 문자열을 만듭니다. 렌더링은 maxLength 에서 멈추고 민감한 키의 값은 가려집니다.
+ * 실제 출력은 logback-spring.xml 의 비동기 appender 를 통해 요청 스레드를 막지 않습니다.</p>
+ */
+@Slf4j(topic = "com.n8n.payload")
+@Component
+public class PayloadLogger {
+
+    private final PayloadLoggingConfig config;
+    private final PayloadRenderer renderer;
+
+    public PayloadLogger(PayloadLoggingConfig config, ObjectMapper objectMapper) {
+        this.config = config;
+        this.renderer = new PayloadRenderer(config.getRedactKeys(), config.getMaxLength(),
+                value -> objectMapper.convertValue(value, Object.class));
+    }
+
+    /**
+     * 페이로드를 기록합니다.
+     *
+     * @param endpoint 샘플링 비율을 찾을 엔드포인트 키 (예: public.process)
+     * @param message  로그 메시지
+     * @param payload  요청 본문, 헤더 등
+     */
+    public void log(String endpoint, String message, Object payload) {
+        if (!log.isDebugEnabled() || !sampled(endpoint)) {
+            return;
+        }
+        log.debug("[{}] {}: {}", endpoint, message, renderer.render(payload));
+    }
+
+    private boolean sampled(String endpoint) {
+        double rate = config.getSampleRates().getOrDefault(endpoint, config.getDefaultSampleRate());
+        if (rate >= 1.0) {
+            return true;
+        }
+        return rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+}
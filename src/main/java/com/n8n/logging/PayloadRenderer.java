@@ -0,0 +1,126 @@
+package com.n8n.logging;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 페이로드를 로그용 문자열로 렌더링합니다.
+ *
+ * <p>maxLength 에 도달하면 더 이상 순회하지 않으므로 큰 Map 이라도 비용이 길이에 비례해 제한되며,
+ * 키 이름이 민감 토큰을 포함하면 값을 {@value #REDACTED} 로 대체합니다.
+ * Map / Collection / 단순 값이 아닌 객체(DTO 등)는 converter 로 Map 형태로 바꾼 뒤 렌더링합니다.</p>
+ */
+final class PayloadRenderer {
+
+    static final String REDACTED = "***";
+    private static final int MAX_DEPTH = 8;
+
+    private final Set<String> redactTokens;
+    private final int maxLength;
+    private final Function<Object, Object> converter;
+
+    PayloadRenderer(Set<String> redactKeys, int maxLength, Function<Object, Object> converter) {
+        this.redactTokens = redactKeys.stream().map(PayloadRenderer::normalize).collect(Collectors.toUnmodifiableSet());
+        this.maxLength = maxLength;
+        this.converter = converter;
+    }
+
+    String render(Object payload) {
+        StringBuilder out = new StringBuilder(Math.min(maxLength, 256));
+        if (!append(out, payload, 0)) {
+            out.setLength(maxLength);
+            out.append("...(truncated)");
+        }
+        return out.toString();
+    }
+
+    boolean isSensitive(String key) {
+        String normalized = normalize(key);
+        for (String token : redactTokens) {
+            if (normalized.contains(token)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return maxLength 를 넘어 렌더링을 중단했으면 false
+     */
+    private boolean append(StringBuilder out, Object value, int depth) {
+        if (value == null || value instanceof CharSequence || value instanceof Number
+                || value instanceof Boolean || value instanceof Enum<?>) {
+            return appendText(out, String.valueOf(value));
+        }
+        if (depth >= MAX_DEPTH) {
+            return appendText(out, "{...}");
+        }
+        if (value instanceof Map<?, ?> map) {
+            out.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!first) {
+                    out.append(", ");
+                }
+                first = false;
+                String key = String.valueOf(entry.getKey());
+                if (!appendText(out, key) || !appendText(out, "=")) {
+                    return false;
+                }
+                boolean fits = isSensitive(key)
+                        ? appendText(out, REDACTED)
+                        : append(out, entry.getValue(), depth + 1);
+                if (!fits) {
+                    return false;
+                }
+            }
+            return appendText(out, "}");
+        }
+        if (value instanceof Collection<?> collection) {
+            out.append('[');
+            boolean first = true;
+            for (Object element : collection) {
+                if (!first) {
+                    out.append(", ");
+                }
+                first = false;
+                if (!append(out, element, depth + 1)) {
+                    return false;
+                }
+            }
+            return appendText(out, "]");
+        }
+        if (value instanceof byte[] bytes) {
+            return appendText(out, "byte[" + bytes.length + "]");
+        }
+
+        Object converted;
+        try {
+            converted = converter.apply(value);
+        } catch (RuntimeException e) {
+            converted = null;
+        }
+        if (converted instanceof Map<?, ?> || converted instanceof Collection<?>) {
+            return append(out, converted, depth);
+        }
+        return appendText(out, String.valueOf(value));
+    }
+
+    private boolean appendText(StringBuilder out, String text) {
+        int remaining = maxLength - out.length();
+        if (text.length() <= remaining) {
+            out.append(text);
+            return true;
+        }
+        out.append(text, 0, Math.max(remaining, 0));
+        return false;
+    }
+
+    private static String normalize(String key) {
+        return key.toLowerCase(Locale.ROOT).replace("-", "").replace("_", "");
+    }
+}
@@ -0,0 +1,146 @@
+package com.n8n.metrics;
+
+import com.n8n.config.N8nConfig;
+import com.n8n.support.CallNotPermittedException;
+import com.n8n.support.TagLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.netty.handler.timeout.ReadTimeoutException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * n8n upstream 호출 메트릭
+ *
+ * <ul>
+ *   <li>n8n.api.requests / n8n.webhook.requests: 지연 시간 타이머 (p50/p99/p999 + Prometheus 히스토그램),
+ *       operation / workflow(또는 path) / outcome 태그</li>
+ *   <li>n8n.api.in.flight / n8n.webhook.in.flight: 진행 중인 호출 수</li>
+ *   <li>n8n.api.errors / n8n.webhook.errors: 원인(cause)별 오류 수</li>
+ * </ul>
+ *
+ * <p>워크플로우 ID / Webhook 경로 태그는 {@link TagLimiter} 로 카디널리티를 제한하며,
+ * 미터는 태그 조합별로 한 번만 생성해 재사용합니다.</p>
+ */
+@Component
+public class UpstreamMetrics {
+
+    private static final String API = "n8n.api";
+    private static final String WEBHOOK = "n8n.webhook";
+
+    private final MeterRegistry registry;
+    private final TagLimiter workflowTags;
+    private final TagLimiter webhookTags;
+
+    private final Map<MeterKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<MeterKey, Counter> errors = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    public UpstreamMetrics(MeterRegistry registry, N8nConfig n8nConfig) {
+        this.registry = registry;
+        this.workflowTags = new TagLimiter(n8nConfig.getMetrics().getMaxWorkflowTags());
+        this.webhookTags = new TagLimiter(n8nConfig.getMetrics().getMaxWebhookTags());
+    }
+
+    /**
+     * n8n REST API 호출을 계측합니다.
+     *
+     * @param operation  호출 종류 (list, get, execute, ...)
+     * @param workflowId 워크플로우 ID (없으면 null)
+     */
+    public <T> Mono<T> api(String operation, String workflowId, Mono<T> call) {
+        return record(API, operation, "workflow", workflowTags.limit(workflowId), call);
+    }
+
+    /**
+     * n8n Webhook 호출을 계측합니다.
+     *
+     * @param method      HTTP 메서드
+     * @param webhookPath Webhook 경로
+     */
+    public <T> Mono<T> webhook(String method, String webhookPath, Mono<T> call) {
+        return record(WEBHOOK, method, "path", webhookTags.limit(webhookPath), call);
+    }
+
+    private <T> Mono<T> record(String prefix, String operation, String targetTag, String target, Mono<T> call) {
+        return Mono.defer(() -> {
+            AtomicInteger active = inFlight(prefix, operation);
+            active.incrementAndGet();
+            long start = System.nanoTime();
+            return call
+                    .doOnError(error -> errorCounter(prefix, operation, targetTag, target, cause(error)).increment())
+                    .doFinally(signal -> {
+                        active.decrementAndGet();
+                        timer(prefix, operation, targetTag, target, outcome(signal))
+                                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    });
+        });
+    }
+
+    private AtomicInteger inFlight(String prefix, String operation) {
+        return inFlight.computeIfAbsent(prefix + ':' + operation, key -> registry.gauge(prefix + ".in.flight",
+                Tags.of("operation", operation), new AtomicInteger()));
+    }
+
+    private Timer timer(String prefix, String operation, String targetTag, String target, String outcome) {
+        return timers.computeIfAbsent(new MeterKey(prefix, operation, target, outcome), key ->
+                Timer.builder(prefix + ".requests")
+                        .description("Latency of calls to n8n")
+                        .tags("operation", operation, targetTag, target, "outcome", outcome)
+                        .publishPercentiles(0.5, 0.99, 0.999)
+                        .publishPercentileHistogram()
+                        .register(registry));
+    }
+
+    private Counter errorCounter(String prefix, String operation, String targetTag, String target, String cause) {
+        return errors.computeIfAbsent(new MeterKey(prefix, operation, target, cause), key ->
+                Counter.builder(prefix + ".errors")
+                        .description("Failed calls to n8n by cause")
+                        .tags("operation", operation, targetTag, target, "cause", cause)
+                        .register(registry));
+    }
+
+    private static String outcome(SignalType signal) {
+        return switch (signal) {
+            case ON_COMPLETE -> "success";
+            case ON_ERROR -> "error";
+            case CANCEL -> "cancelled";
+            default -> "unknown";
+        };
+    }
+
+    /**
+     * 오류 원인 분류 (태그 값이 고정된 집합이 되도록 상태 코드는 클래스 단위로 묶음)
+     */
+    static String cause(Throwable error) {
+        if (error instanceof CallNotPermittedException) {
+            return "circuit_open";
+        }
+        if (error instanceof WebClientResponseException response) {
+            int status = response.getStatusCode().value();
+            return status == 429 ? "rate_limited" : (status / 100) + "xx";
+        }
+        if (error instanceof TimeoutException || error instanceof ReadTimeoutException
+                || error.getCause() instanceof ReadTimeoutException) {
+            return "timeout";
+        }
+        if (error instanceof WebClientRequestException) {
+            return "connect";
+        }
+        return "other";
+    }
+
+    private record MeterKey(String prefix, String operation, String target, String qualifier) {
+    }
+}
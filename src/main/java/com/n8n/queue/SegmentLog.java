@@ -0,0 +1,297 @@
+package com.n8n.queue;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 메모리 매핑된 고정 크기 세그먼트 파일로 구성된 append-only 로그
+ *
+ * <p>레코드 형식은 [length:int][crc32c:int][payload] 이며, length 를 마지막에 기록하므로
+ * 쓰다 만 레코드는 length 0 으로 남아 복구 시 잘려 나갑니다.
+ * 오프셋은 {@code segmentIndex * segmentSize + position} 으로, 세그먼트가 바뀌어도 단조 증가합니다.
+ * 커밋된 오프셋 이전의 세그먼트는 {@link #compact()} 로 삭제되어 디스크 사용량이 제한됩니다.</p>
+ *
+ * <p>쓰기는 단일 락으로 직렬화되고, 읽기는 락 없이 공개된(volatile) limit 까지만 읽습니다.</p>
+ */
+public class SegmentLog implements Closeable {
+
+    private static final int HEADER_SIZE = 8;
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String COMMIT_FILE = "commit.offset";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final NavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final MappedByteBuffer commitBuffer;
+
+    private volatile Segment active;
+    private volatile long committedOffset;
+
+    public record Entry(long offset, long nextOffset, byte[] payload) {
+    }
+
+    /**
+     * 세그먼트 수가 maxSegments 에 도달해 더 이상 추가할 수 없을 때 발생합니다.
+     */
+    public static class LogFullException extends IllegalStateException {
+        public LogFullException(String message) {
+            super(message);
+        }
+    }
+
+    private SegmentLog(Path directory, int segmentSize, int maxSegments) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+
+        Files.createDirectories(directory);
+        try (FileChannel channel = FileChannel.open(directory.resolve(COMMIT_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            this.commitBuffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Long.BYTES);
+        }
+        this.committedOffset = commitBuffer.getLong(0);
+    }
+
+    public static SegmentLog open(Path directory, int segmentSize, int maxSegments) throws IOException {
+        if (segmentSize <= HEADER_SIZE) {
+            throw new IllegalArgumentException("segmentSize must be larger than " + HEADER_SIZE);
+        }
+        SegmentLog log = new SegmentLog(directory, segmentSize, maxSegments);
+        log.recover();
+        return log;
+    }
+
+    /**
+     * 레코드를 추가하고 오프셋을 반환합니다. 현재 세그먼트에 공간이 없으면 새 세그먼트로 넘어갑니다.
+     *
+     * @param payload 레코드 내용 (비어 있으면 안 됨)
+     * @return 레코드 오프셋
+     */
+    public synchronized long append(byte[] payload) throws IOException {
+        // length 0 은 복구 시 로그의 끝으로 해석되므로 빈 레코드는 받지 않음
+        if (payload.length == 0) {
+            throw new IllegalArgumentException("Record payload must not be empty");
+        }
+        int recordSize = HEADER_SIZE + payload.length;
+        if (recordSize > segmentSize) {
+            throw new IllegalArgumentException(
+                    "Record of " + payload.length + " bytes does not fit in a segment of " + segmentSize);
+        }
+
+        Segment segment = active;
+        if (segment.limit + recordSize > segmentSize) {
+            segment = roll();
+        }
+
+        int position = segment.limit;
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        segment.buffer.putInt(position + Integer.BYTES, (int) crc.getValue());
+        segment.buffer.put(position + HEADER_SIZE, payload);
+        segment.buffer.putInt(position, payload.length);
+        segment.limit = position + recordSize;
+
+        return offset(segment.index, position);
+    }
+
+    /**
+     * fromOffset 부터 최대 maxEntries 개의 레코드를 읽습니다.
+     *
+     * @param fromOffset 시작 오프셋 (보통 커밋된 오프셋)
+     * @param maxEntries 최대 레코드 수
+     * @return 읽은 레코드 목록
+     */
+    public List<Entry> read(long fromOffset, int maxEntries) {
+        List<Entry> entries = new ArrayList<>();
+        long index = fromOffset / segmentSize;
+        int position = (int) (fromOffset % segmentSize);
+
+        while (entries.size() < maxEntries) {
+            Segment segment = segments.get(index);
+            if (segment == null) {
+                Map.Entry<Long, Segment> next = segments.higherEntry(index);
+                if (next == null) {
+                    break;
+                }
+                segment = next.getValue();
+                index = segment.index;
+                position = 0;
+            }
+
+            int limit = segment.limit;
+            if (position >= limit) {
+                if (segment == active) {
+                    break;
+                }
+                index++;
+                position = 0;
+                continue;
+            }
+
+            int length = segment.buffer.getInt(position);
+            byte[] payload = new byte[length];
+            segment.buffer.get(position + HEADER_SIZE, payload);
+            int next = position + HEADER_SIZE + length;
+            entries.add(new Entry(offset(index, position), offset(index, next), payload));
+            position = next;
+        }
+        return entries;
+    }
+
+    public long committedOffset() {
+        return committedOffset;
+    }
+
+    /**
+     * 처리 완료된 위치를 기록합니다. 재시작 시 이 오프셋부터 다시 읽습니다.
+     *
+     * @param offset 다음에 읽을 오프셋
+     */
+    public synchronized void commit(long offset) {
+        if (offset > committedOffset) {
+            committedOffset = offset;
+            commitBuffer.putLong(0, offset);
+        }
+    }
+
+    /**
+     * 다음 레코드가 기록될 오프셋
+     */
+    public long endOffset() {
+        Segment segment = active;
+        return offset(segment.index, segment.limit);
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * 커밋된 오프셋보다 앞선(모두 처리된) 세그먼트 파일을 삭제합니다.
+     *
+     * @return 삭제한 세그먼트 수
+     */
+    public synchronized int compact() throws IOException {
+        long committedIndex = committedOffset / segmentSize;
+        int removed = 0;
+        for (Segment segment : List.copyOf(segments.headMap(committedIndex, false).values())) {
+            if (segment == active) {
+                continue;
+            }
+            segments.remove(segment.index);
+            Files.deleteIfExists(segment.path);
+            removed++;
+        }
+        return removed;
+    }
+
+    /**
+     * 매핑된 페이지를 디스크로 강제 기록합니다.
+     */
+    public synchronized void flush() {
+        active.buffer.force();
+        commitBuffer.force();
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+
+    private void recover() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : files.filter(p -> p.getFileName().toString().endsWith(SEGMENT_SUFFIX)).toList()) {
+                String name = path.getFileName().toString();
+                long index = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+                Segment segment = map(index, path);
+                segment.limit = scan(segment.buffer);
+                segments.put(index, segment);
+            }
+        }
+
+        if (segments.isEmpty()) {
+            long index = committedOffset / segmentSize;
+            Segment segment = map(index, segmentPath(index));
+            segments.put(index, segment);
+        }
+        active = segments.lastEntry().getValue();
+
+        // 마지막 세그먼트의 잘린 레코드 잔여 바이트를 지워 이후 레코드와 섞이지 않게 함
+        for (int i = active.limit; i < segmentSize; i++) {
+            active.buffer.put(i, (byte) 0);
+        }
+    }
+
+    private int scan(MappedByteBuffer buffer) {
+        int position = 0;
+        CRC32C crc = new CRC32C();
+        while (position + HEADER_SIZE <= segmentSize) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + HEADER_SIZE + length > segmentSize) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(position + HEADER_SIZE, payload);
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != buffer.getInt(position + Integer.BYTES)) {
+                break;
+            }
+            position += HEADER_SIZE + length;
+        }
+        return position;
+    }
+
+    private Segment roll() throws IOException {
+        if (segments.size() >= maxSegments) {
+            throw new LogFullException("Segment log is full (" + maxSegments + " segments)");
+        }
+        active.buffer.force();
+        long index = active.index + 1;
+        Segment segment = map(index, segmentPath(index));
+        segments.put(index, segment);
+        active = segment;
+        return segment;
+    }
+
+    private Segment map(long index, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new Segment(index, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+        }
+    }
+
+    private Path segmentPath(long index) {
+        return directory.resolve(String.format("%020d%s", index, SEGMENT_SUFFIX));
+    }
+
+    private long offset(long index, int position) {
+        return index * segmentSize + position;
+    }
+
+    private static final class Segment {
+        private final long index;
+        private final Path path;
+        private final MappedByteBuffer buffer;
+        private volatile int limit;
+
+        private Segment(long index, Path path, MappedByteBuffer buffer) {
+            this.index = index;
+            this.path = path;
+            this.buffer = buffer;
+        }
+    }
+}
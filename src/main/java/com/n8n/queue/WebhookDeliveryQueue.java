@@ -0,0 +1,192 @@
+package com.n8n.queue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.n8n.config.N8nConfig;
+import com.n8n.dto.N8nWebhookRequest;
+import com.n8n.dto.N8nWebhookResponse;
+import com.n8n.service.N8nWebhookService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 디스크 기반 비동기 Webhook 전송 큐 (at-least-once)
+ *
+ * <p>enqueue 는 세그먼트 로그에 레코드를 추가하고 바로 반환합니다.
+ * 백그라운드 디스패처가 커밋된 오프셋부터 배치 단위로 읽어 전송하고, 배치 전체가 끝나면 오프셋을 커밋합니다.
+ * 재시작 시에는 커밋되지 않은 레코드부터 다시 전송하므로 중복 전송은 있을 수 있어도 유실은 없습니다.
+ * maxAttempts 만큼 실패한 레코드는 dead-letter 로그로 옮겨집니다. dead-letter 로그에 쓰지 못하면(가득 찬 경우 등)
+ * 그 레코드 앞까지만 커밋하고 다음 주기에 그 레코드부터 다시 전송하므로, 전송을 포기한 레코드도 버려지지 않습니다.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "n8n.webhook.queue", name = "enabled", havingValue = "true")
+public class WebhookDeliveryQueue {
+
+    private final N8nConfig n8nConfig;
+    private final N8nWebhookService webhookService;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+    private final AtomicLong deadLetterFailures = new AtomicLong();
+
+    private SegmentLog segmentLog;
+    private SegmentLog deadLetterLog;
+    private ScheduledExecutorService dispatcher;
+
+    @PostConstruct
+    void start() throws IOException {
+        N8nConfig.QueueConfig config = n8nConfig.getWebhook().getQueue();
+        Path directory = Path.of(config.getDirectory());
+        int segmentSize = (int) config.getSegmentSize().toBytes();
+
+        segmentLog = SegmentLog.open(directory, segmentSize, config.getMaxSegments());
+        deadLetterLog = SegmentLog.open(directory.resolve("dead-letter"), segmentSize, config.getMaxSegments());
+
+        long pending = segmentLog.endOffset() - segmentLog.committedOffset();
+        if (pending > 0) {
+            log.info("Replaying undelivered webhook queue entries ({} bytes) from offset {}",
+                    pending, segmentLog.committedOffset());
+        }
+
+        dispatcher = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "webhook-queue-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dispatcher.scheduleWithFixedDelay(this::drain,
+                0, config.getPollInterval().toMillis(), TimeUnit.MILLISECONDS);
+        dispatcher.scheduleWithFixedDelay(this::flush,
+                config.getFlushInterval().toMillis(), config.getFlushInterval().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        dispatcher.shutdown();
+        dispatcher.awaitTermination(10, TimeUnit.SECONDS);
+        segmentLog.close();
+        deadLetterLog.close();
+    }
+
+    /**
+     * Webhook 요청을 큐에 추가합니다. 디스크에 기록만 하고 즉시 반환합니다.
+     *
+     * @param request Webhook 요청 정보
+     * @return 큐 오프셋
+     */
+    public long enqueue(N8nWebhookRequest request) throws IOException {
+        long offset = segmentLog.append(objectMapper.writeValueAsBytes(request));
+        enqueued.incrementAndGet();
+        return offset;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enqueued", enqueued.get());
+        stats.put("delivered", delivered.get());
+        stats.put("retried", retried.get());
+        stats.put("deadLettered", deadLettered.get());
+        stats.put("deadLetterFailures", deadLetterFailures.get());
+        stats.put("endOffset", segmentLog.endOffset());
+        stats.put("committedOffset", segmentLog.committedOffset());
+        stats.put("pendingBytes", segmentLog.endOffset() - segmentLog.committedOffset());
+        stats.put("segments", segmentLog.segmentCount());
+        return stats;
+    }
+
+    private void drain() {
+        N8nConfig.QueueConfig config = n8nConfig.getWebhook().getQueue();
+        try {
+            List<SegmentLog.Entry> batch;
+            while (!(batch = segmentLog.read(segmentLog.committedOffset(), config.getBatchSize())).isEmpty()) {
+                AtomicLong completed = new AtomicLong(-1);
+                try {
+                    // flatMapSequential 은 순서대로 내보내므로 completed 는 항상 끝난 레코드들의 연속된 앞부분 끝
+                    Flux.fromIterable(batch)
+                            .flatMapSequential(entry -> deliver(entry).thenReturn(entry), config.getConcurrency())
+                            .doOnNext(entry -> completed.set(entry.nextOffset()))
+                            .then()
+                            .block();
+                } finally {
+                    if (completed.get() >= 0) {
+                        segmentLog.commit(completed.get());
+                        segmentLog.compact();
+                    }
+                }
+            }
+        } catch (Exception e) {
+            // 실패한 레코드부터는 커밋하지 않았으므로 다음 주기에 그 레코드부터 다시 전송
+            log.error("Webhook queue dispatch failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private Mono<Void> deliver(SegmentLog.Entry entry) {
+        N8nConfig.QueueConfig config = n8nConfig.getWebhook().getQueue();
+        N8nWebhookRequest request;
+        try {
+            request = objectMapper.readValue(entry.payload(), N8nWebhookRequest.class);
+        } catch (IOException e) {
+            log.error("Unreadable webhook queue entry at offset {}", entry.offset(), e);
+            return deadLetter(entry);
+        }
+
+        Retry retry = Retry.backoff(config.getMaxAttempts() > 0 ? config.getMaxAttempts() - 1 : Long.MAX_VALUE,
+                        config.getRetryBackoff())
+                .maxBackoff(config.getMaxRetryBackoff())
+                .jitter(0.5)
+                .doBeforeRetry(signal -> retried.incrementAndGet());
+
+        return Mono.defer(() -> webhookService.triggerWebhook(request))
+                .flatMap(response -> response.isSuccess()
+                        ? Mono.just(response)
+                        : Mono.<N8nWebhookResponse>error(new IllegalStateException(response.getMessage())))
+                .retryWhen(retry)
+                .doOnSuccess(response -> delivered.incrementAndGet())
+                .then()
+                .onErrorResume(error -> {
+                    log.error("Giving up webhook delivery to {} at offset {}: {}",
+                            request.getWebhookPath(), entry.offset(), error.getMessage());
+                    return deadLetter(entry);
+                });
+    }
+
+    /**
+     * dead-letter 로그에 쓰지 못하면 오류로 끝나 레코드가 커밋되지 않게 합니다.
+     */
+    private Mono<Void> deadLetter(SegmentLog.Entry entry) {
+        try {
+            deadLetterLog.append(entry.payload());
+            deadLettered.incrementAndGet();
+            return Mono.empty();
+        } catch (IOException | IllegalStateException e) {
+            deadLetterFailures.incrementAndGet();
+            log.error("Failed to write dead-letter entry at offset {}, keeping it in the queue", entry.offset(), e);
+            return Mono.error(e);
+        }
+    }
+
+    private void flush() {
+        segmentLog.flush();
+        deadLetterLog.flush();
+    }
+}
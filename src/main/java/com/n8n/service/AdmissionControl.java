@@ -0,0 +1,269 @@
+package com.n8n.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.n8n.config.N8nConfig;
+import com.n8n.dto.ApiResponse;
+import com.n8n.support.ConcurrencyLimiter;
+import com.n8n.support.RateLimiter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 워크플로우 실행 / Webhook 호출 유입 제어
+ *
+ * <p>사용자(principal), 워크플로우 ID, Webhook 경로별 GCRA 토큰 버킷({@link RateLimiter})으로 요청률을 제한하고,
+ * n8n 으로 동시에 나가는 호출 수를 {@link ConcurrencyLimiter} 로 제한합니다. 버킷은 크기 제한 + 유휴 만료가 있는
+ * Caffeine 캐시에 보관되며 판정은 CAS 한 번이라 경합 지점이 되지 않습니다.</p>
+ *
+ * <p>허용되면 {@link Permit} 을 돌려주고, 호출이 끝나면 {@link Permit#release()} 로 동시 실행 슬롯을 반납해야 합니다.
+ * 배치 항목은 거부하지 않고 {@link #awaitBatchItem(Principal, String)} 로 토큰과 슬롯이 생길 때까지 기다립니다.</p>
+ */
+@Component
+public class AdmissionControl {
+
+    private static final Permit UNLIMITED = new Permit(null, null, 0);
+
+    private final N8nConfig.AdmissionConfig config;
+    private final Cache<String, RateLimiter> buckets;
+    private final ConcurrencyLimiter concurrency;
+    private final Map<String, LongAdder> rejections = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> paced = new ConcurrentHashMap<>();
+
+    public AdmissionControl(N8nConfig n8nConfig) {
+        this.config = n8nConfig.getAdmission();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(config.getMaxKeys())
+                .expireAfterAccess(config.getIdleExpiry())
+                .build();
+        this.concurrency = new ConcurrencyLimiter(config.getMaxConcurrentCalls());
+    }
+
+    /**
+     * 워크플로우 실행 1건에 대한 허용 여부
+     */
+    public Permit acquireExecution(Principal principal, String workflowId) {
+        return acquire(principal, "workflow", config.getWorkflow(), workflowId);
+    }
+
+    /**
+     * Webhook 호출 1건에 대한 허용 여부
+     */
+    public Permit acquireWebhook(Principal principal, String webhookPath) {
+        return acquire(principal, "webhook", config.getWebhook(), webhookPath);
+    }
+
+    /**
+     * 워크플로우 실행 1건이 허용되면 call 을 구독하고, call 이 끝나거나 취소될 때 동시 실행 슬롯을 반납합니다.
+     * Idempotency 저장소 안에서 실제 실행에만 쓰면 재생된 요청은 토큰을 쓰지 않고, 클라이언트가 먼저 끊어도
+     * 분리되어 진행 중인 upstream 호출이 끝날 때까지 슬롯이 잡혀 있습니다.
+     *
+     * @return call 의 결과, 거부되면 {@link RejectedException}
+     */
+    public <T> Mono<T> admitExecution(Principal principal, String workflowId, Supplier<Mono<T>> call) {
+        return admit(() -> acquireExecution(principal, workflowId), call);
+    }
+
+    /**
+     * Webhook 호출 1건에 대한 {@link #admitExecution} 과 같은 동작
+     */
+    public <T> Mono<T> admitWebhook(Principal principal, String webhookPath, Supplier<Mono<T>> call) {
+        return admit(() -> acquireWebhook(principal, webhookPath), call);
+    }
+
+    /**
+     * 배치 항목 1건의 유입을 기다립니다. 거부하는 대신 사용자 버킷과 워크플로우 버킷에서 토큰이 생길 때까지
+     * 지연한 뒤, 동시 실행 슬롯이 빌 때까지 {@code concurrency-poll-interval} 간격으로 다시 시도합니다.
+     * 그래서 burst 보다 큰 배치도 버킷의 rate 로 나뉘어 실행됩니다. 구독이 취소되면 대기도 함께 멈춥니다.
+     */
+    public Mono<Permit> awaitBatchItem(Principal principal, String workflowId) {
+        if (!config.isEnabled()) {
+            return Mono.just(UNLIMITED);
+        }
+        Mono<Void> workflowToken = workflowId != null
+                ? awaitToken("workflow", config.getWorkflow(), workflowId)
+                : Mono.empty();
+        return awaitToken("principal", config.getPrincipal(), user(principal))
+                .then(workflowToken)
+                .then(awaitSlot());
+    }
+
+    /**
+     * n8n 호출 1건에 대한 동시 실행 슬롯만 가져옵니다 (요청률 버킷은 소모하지 않음).
+     */
+    public Permit acquireSlot() {
+        if (!config.isEnabled()) {
+            return UNLIMITED;
+        }
+        if (!concurrency.tryAcquire()) {
+            return reject("concurrency", config.getConcurrencyRetryAfter().toNanos());
+        }
+        return new Permit(concurrency, null, 0);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", config.isEnabled());
+        stats.put("buckets", buckets.estimatedSize());
+        stats.put("inFlight", concurrency.inUse());
+        stats.put("maxConcurrentCalls", concurrency.maxConcurrency());
+        Map<String, Long> rejected = new LinkedHashMap<>();
+        rejections.forEach((reason, count) -> rejected.put(reason, count.sum()));
+        stats.put("rejected", rejected);
+        Map<String, Long> delayed = new LinkedHashMap<>();
+        paced.forEach((reason, count) -> delayed.put(reason, count.sum()));
+        stats.put("batchDelays", delayed);
+        return stats;
+    }
+
+    private Permit acquire(Principal principal, String targetKind, N8nConfig.BucketConfig targetBucket,
+                           String target) {
+        if (!config.isEnabled()) {
+            return UNLIMITED;
+        }
+        long waitNanos = tryAcquire("principal", config.getPrincipal(), user(principal), 1);
+        if (waitNanos > 0) {
+            return reject("principal", waitNanos);
+        }
+        if (target != null) {
+            waitNanos = tryAcquire(targetKind, targetBucket, target, 1);
+            if (waitNanos > 0) {
+                return reject(targetKind, waitNanos);
+            }
+        }
+        return acquireSlot();
+    }
+
+    private static String user(Principal principal) {
+        return principal != null ? principal.getName() : "anonymous";
+    }
+
+    private long tryAcquire(String kind, N8nConfig.BucketConfig bucket, String key, int cost) {
+        if (!bucket.isEnabled()) {
+            return 0;
+        }
+        return buckets.get(kind + ':' + key, k -> new RateLimiter(bucket.getRate(), bucket.getBurst()))
+                .tryAcquire(cost);
+    }
+
+    private <T> Mono<T> admit(Supplier<Permit> acquire, Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            Permit permit = acquire.get();
+            if (!permit.isGranted()) {
+                return Mono.error(new RejectedException(permit));
+            }
+            return call.get().doFinally(signal -> permit.release());
+        });
+    }
+
+    private Mono<Void> awaitToken(String kind, N8nConfig.BucketConfig bucket, String key) {
+        return Mono.defer(() -> {
+            long waitNanos = tryAcquire(kind, bucket, key, 1);
+            if (waitNanos == 0) {
+                return Mono.empty();
+            }
+            paced.computeIfAbsent(kind, k -> new LongAdder()).increment();
+            return Mono.delay(Duration.ofNanos(waitNanos)).then(awaitToken(kind, bucket, key));
+        });
+    }
+
+    private Mono<Permit> awaitSlot() {
+        return Mono.defer(() -> {
+            if (concurrency.tryAcquire()) {
+                return Mono.just(new Permit(concurrency, null, 0));
+            }
+            paced.computeIfAbsent("concurrency", k -> new LongAdder()).increment();
+            return Mono.delay(config.getConcurrencyPollInterval()).then(awaitSlot());
+        });
+    }
+
+    private Permit reject(String reason, long waitNanos) {
+        rejections.computeIfAbsent(reason, key -> new LongAdder()).increment();
+        return new Permit(null, reason, waitNanos);
+    }
+
+    /**
+     * {@link #admitExecution} / {@link #admitWebhook} 에서 요청이 거부되었을 때 발생합니다.
+     * {@link #permit()} 의 {@link Permit#rejection()} 으로 429 응답을 만듭니다.
+     */
+    public static class RejectedException extends IllegalStateException {
+
+        private final transient Permit permit;
+
+        public RejectedException(Permit permit) {
+            super("Too many requests (" + permit.rejectedBy() + " limit)");
+            this.permit = permit;
+        }
+
+        public Permit permit() {
+            return permit;
+        }
+    }
+
+    /**
+     * 유입 제어 판정 결과
+     */
+    public static final class Permit {
+
+        private final ConcurrencyLimiter slot;
+        private final String rejectedBy;
+        private final long retryAfterNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(ConcurrencyLimiter slot, String rejectedBy, long retryAfterNanos) {
+            this.slot = slot;
+            this.rejectedBy = rejectedBy;
+            this.retryAfterNanos = retryAfterNanos;
+        }
+
+        public boolean isGranted() {
+            return rejectedBy == null;
+        }
+
+        /**
+         * Retry-After 헤더 값 (초, 올림)
+         */
+        public long retryAfterSeconds() {
+            return Math.max(1, (retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        }
+
+        /**
+         * 거부 사유
+         */
+        public String rejectedBy() {
+            return rejectedBy;
+        }
+
+        /**
+         * 429 거부 응답 (Retry-After 포함)
+         */
+        public <T> ResponseEntity<ApiResponse<T>> rejection() {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds()))
+                    .body(ApiResponse.error("Too many requests (" + rejectedBy + " limit), retry after "
+                            + retryAfterSeconds() + "s"));
+        }
+
+        /**
+         * 동시 실행 슬롯을 반납합니다. 여러 번 호출해도 한 번만 반납됩니다.
+         */
+        public void release() {
+            if (slot != null && released.compareAndSet(false, true)) {
+                slot.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.n8n.service;
+
+import com.n8n.config.N8nConfig;
+import com.n8n.dto.ExecutionStatusEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 실행 ID 별로 n8n 을 한 번만 폴링하고 상태 변화를 모든 구독자에게 나눠 주는 멀티플렉서
+ *
+ * <p>첫 구독자가 생기면 폴링을 시작하고, 마지막 구독자가 떠나거나 실행이 종료 상태에 도달하면 폴링을 멈춥니다.
+ * 늦게 합류한 구독자는 마지막 상태를 즉시 받습니다.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExecutionStatusMultiplexer {
+
+    public static final Set<String> TERMINAL_STATUSES = Set.of("success", "error", "canceled", "crashed");
+
+    private final N8nApiService n8nApiService;
+    private final N8nConfig n8nConfig;
+
+    private final Map<String, Flux<ExecutionStatusEvent>> streams = new ConcurrentHashMap<>();
+
+    /**
+     * 실행 상태 변화를 구독합니다. 종료 상태 이벤트를 보낸 뒤 완료됩니다.
+     *
+     * @param executionId 실행 ID
+     * @return 상태 변화 이벤트 스트림
+     */
+    public Flux<ExecutionStatusEvent> watch(String executionId) {
+        return Flux.defer(() -> streams.computeIfAbsent(executionId, this::share));
+    }
+
+    /**
+     * 현재 폴링 중인 실행 수
+     */
+    public int activeStreams() {
+        return streams.size();
+    }
+
+    private Flux<ExecutionStatusEvent> share(String executionId) {
+        AtomicReference<Flux<ExecutionStatusEvent>> self = new AtomicReference<>();
+        Flux<ExecutionStatusEvent> shared = poll(executionId)
+                .doFinally(signal -> streams.remove(executionId, self.get()))
+                .replay(1)
+                .refCount();
+        self.set(shared);
+        return shared;
+    }
+
+    private Flux<ExecutionStatusEvent> poll(String executionId) {
+        N8nConfig.StreamConfig config = n8nConfig.getExecutions().getStream();
+        PollState state = new PollState(config);
+        Mono<ExecutionStatusEvent> fetch = Mono.defer(() -> n8nApiService.getExecutionStatus(executionId))
+                .map(status -> state.toEvent(executionId, status));
+
+        log.debug("Start polling execution status: {}", executionId);
+        return fetch
+                .expand(previous -> previous.isTerminal()
+                        ? Mono.empty()
+                        : Mono.delay(state.nextInterval(previous)).then(fetch))
+                // 연속 오류가 한도에 도달한 terminal 이벤트는 직전 오류 이벤트와 같아 보여도 전달해야 함
+                .distinctUntilChanged(EventKey::of)
+                .takeUntil(ExecutionStatusEvent::isTerminal)
+                .doFinally(signal -> log.debug("Stop polling execution status: {} ({})", executionId, signal));
+    }
+
+    /**
+     * 구독자에게 변화로 보이는 이벤트 필드
+     */
+    private record EventKey(String status, boolean finished, String error, boolean terminal) {
+        private static EventKey of(ExecutionStatusEvent event) {
+            return new EventKey(event.getStatus(), event.isFinished(), event.getError(), event.isTerminal());
+        }
+    }
+
+    /**
+     * 한 실행에 대한 폴링 간격 / 연속 오류 상태 (해당 폴링 체인에서만 순차적으로 접근)
+     */
+    private static final class PollState {
+        private final N8nConfig.StreamConfig config;
+        private Duration interval;
+        private String lastStatus;
+        private int consecutiveErrors;
+
+        private PollState(N8nConfig.StreamConfig config) {
+            this.config = config;
+            this.interval = config.getMinInterval();
+        }
+
+        private ExecutionStatusEvent toEvent(String executionId, Map<String, Object> status) {
+            Object error = status.get("error");
+            if (error != null) {
+                consecutiveErrors++;
+                return ExecutionStatusEvent.builder()
+                        .executionId(executionId)
+                        .status("unavailable")
+                        .error(error.toString())
+                        .terminal(consecutiveErrors >= config.getMaxConsecutiveErrors())
+                        .build();
+            }
+            consecutiveErrors = 0;
+
+            String value = Objects.toString(status.get("status"), "unknown");
+            boolean finished = Boolean.TRUE.equals(status.get("finished"));
+            return ExecutionStatusEvent.builder()
+                    .executionId(executionId)
+                    .status(value)
+                    .finished(finished)
+                    .terminal(finished || TERMINAL_STATUSES.contains(value))
+                    .stoppedAt(status.get("stoppedAt"))
+                    .build();
+        }
+
+        private Duration nextInterval(ExecutionStatusEvent event) {
+            if (event.getStatus().equals(lastStatus)) {
+                long next = (long) (interval.toMillis() * config.getBackoffMultiplier());
+                interval = Duration.ofMillis(Math.min(next, config.getMaxInterval().toMillis()));
+            } else {
+                interval = config.getMinInterval();
+            }
+            lastStatus = event.getStatus();
+            return interval;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.n8n.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.n8n.config.N8nConfig;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 기반 중복 실행 방지 저장소
+ *
+ * <p>키는 (사용자, 라우트, 대상) 범위로 구분되며 크기 제한 + TTL 이 있는 Caffeine 캐시에 결과 future 로 저장됩니다.</p>
+ * <ul>
+ *   <li>첫 요청: upstream 호출을 시작하고 결과를 저장합니다. 클라이언트가 연결을 끊어도 호출은 끝까지 진행됩니다.</li>
+ *   <li>진행 중 도착한 중복 요청: 같은 future 를 기다립니다.</li>
+ *   <li>완료 후 도착한 중복 요청: 저장된 응답을 n8n 호출 없이 반환합니다.</li>
+ *   <li>오류 또는 storable 조건을 만족하지 않는 결과(실패 응답)는 저장하지 않으므로 재시도 시 다시 실행됩니다.</li>
+ *   <li>같은 키를 다른 요청 본문으로 재사용하면 첫 응답을 돌려주지 않고 {@link KeyReuseException} 으로 거부합니다.
+ *   본문은 맵 키를 정렬해 직렬화한 SHA-256 지문으로 비교합니다.</li>
+ * </ul>
+ */
+@Component
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final N8nConfig.IdempotencyConfig config;
+    private final ObjectWriter fingerprintWriter;
+    private final AsyncCache<Key, Object> results;
+    private final AtomicLong executions = new AtomicLong();
+    private final AtomicLong replays = new AtomicLong();
+    private final AtomicLong conflicts = new AtomicLong();
+
+    /**
+     * 같은 Idempotency-Key 가 다른 요청 본문과 함께 다시 왔을 때 발생합니다 (422 로 응답).
+     */
+    public static class KeyReuseException extends IllegalStateException {
+        public KeyReuseException() {
+            super("Idempotency-Key was already used with a different request body");
+        }
+    }
+
+    public IdempotencyStore(N8nConfig n8nConfig, ObjectMapper objectMapper) {
+        this.config = n8nConfig.getIdempotency();
+        this.fingerprintWriter = objectMapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+        this.results = Caffeine.newBuilder()
+                .maximumSize(config.getMaxKeys())
+                .expireAfterWrite(config.getTtl())
+                .buildAsync();
+    }
+
+    /**
+     * @return 키가 없거나 허용 길이 이내이면 true
+     */
+    public boolean isValidKey(String key) {
+        return key == null || (!key.isBlank() && key.length() <= config.getMaxKeyLength());
+    }
+
+    /**
+     * 키가 있으면 중복 실행을 막으면서 call 을 실행합니다. 키가 없거나 기능이 꺼져 있으면 그대로 실행합니다.
+     *
+     * @param principal 요청 사용자 (키 범위)
+     * @param route     라우트와 대상 (예: execute:workflowId) (키 범위)
+     * @param key       Idempotency-Key 헤더 값
+     * @param request   요청 본문 (같은 키의 재요청과 비교할 지문)
+     * @param call      upstream 호출
+     * @param storable  저장할 만한(성공한) 결과인지 여부
+     * @return 결과, 같은 키가 다른 본문으로 사용된 경우 {@link KeyReuseException}
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<Outcome<T>> execute(Principal principal, String route, String key, Object request,
+                                        Supplier<Mono<T>> call, Predicate<T> storable) {
+        if (key == null || !config.isEnabled()) {
+            return Mono.defer(call).map(value -> new Outcome<>(value, false));
+        }
+        return Mono.defer(() -> {
+            Key scoped = new Key(principal != null ? principal.getName() : "anonymous", route, key);
+            ConcurrentMap<Key, CompletableFuture<Object>> map = results.asMap();
+            Entry created = new Entry(fingerprint(request));
+            CompletableFuture<Object> existing = map.putIfAbsent(scoped, created);
+            if (existing != null) {
+                if (existing instanceof Entry entry && !MessageDigest.isEqual(entry.fingerprint, created.fingerprint)) {
+                    conflicts.incrementAndGet();
+                    return Mono.error(new KeyReuseException());
+                }
+                replays.incrementAndGet();
+                return Mono.fromFuture(existing, true).map(value -> new Outcome<>((T) value, true));
+            }
+
+            executions.incrementAndGet();
+            // 요청 구독과 분리해서 실행: 첫 요청이 취소돼도 결과를 저장해 재시도에 돌려줌
+            call.get().toFuture().whenComplete((value, error) -> {
+                if (error != null) {
+                    // 실패한 future 는 Caffeine 이 자동으로 제거
+                    created.completeExceptionally(error);
+                    return;
+                }
+                if (value == null || !storable.test(value)) {
+                    map.remove(scoped, created);
+                }
+                created.complete(value);
+            });
+            return Mono.fromFuture(created, true).map(value -> new Outcome<>((T) value, false));
+        });
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", config.isEnabled());
+        stats.put("keys", results.synchronous().estimatedSize());
+        stats.put("executions", executions.get());
+        stats.put("replays", replays.get());
+        stats.put("conflicts", conflicts.get());
+        return stats;
+    }
+
+    private byte[] fingerprint(Object request) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(fingerprintWriter.writeValueAsBytes(request));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to fingerprint request body", e);
+        }
+    }
+
+    /**
+     * @param value    결과
+     * @param replayed 저장된(또는 진행 중이던) 결과를 공유받았는지 여부
+     */
+    public record Outcome<T>(T value, boolean replayed) {
+
+        /**
+         * 재사용된 응답이면 {@value IdempotencyStore#REPLAYED_HEADER} 헤더를 붙인 200 응답 빌더를 반환합니다.
+         */
+        public ResponseEntity.BodyBuilder ok() {
+            ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+            return replayed ? builder.header(REPLAYED_HEADER, "true") : builder;
+        }
+    }
+
+    private record Key(String principal, String route, String key) {
+    }
+
+    /**
+     * 요청 본문 지문을 함께 보관하는 결과 future (캐시에 그대로 저장됨)
+     */
+    private static final class Entry extends CompletableFuture<Object> {
+        private final byte[] fingerprint;
+
+        private Entry(byte[] fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
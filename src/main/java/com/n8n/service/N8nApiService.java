@@ -1,25 +1,66 @@
 package com.n8n.service;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.n8n.config.N8nConfig;
+import com.n8n.config.UpstreamPool;
+import com.n8n.dto.BatchExecutionResult;
 import com.n8n.dto.WorkflowExecutionRequest;
 import com.n8n.dto.WorkflowExecutionResponse;
+import com.n8n.dto.WorkflowPage;
+import com.n8n.dto.WorkflowSummary;
+import com.n8n.metrics.UpstreamMetrics;
+import com.n8n.support.SingleFlight;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.Principal;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class N8nApiService {
 
+    private static final ParameterizedTypeReference<WorkflowPage<Map<String, Object>>> WORKFLOW_PAGE =
+            new ParameterizedTypeReference<>() {
+            };
+    private static final ParameterizedTypeReference<WorkflowPage<WorkflowSummary>> WORKFLOW_SUMMARY_PAGE =
+            new ParameterizedTypeReference<>() {
+            };
+
     @Qualifier("n8nWebClient")
     private final WebClient n8nWebClient;
+    private final N8nConfig n8nConfig;
+    private final UpstreamResilience resilience;
+    private final UpstreamMetrics metrics;
+    private final AdmissionControl admissionControl;
+    private final ObjectMapper objectMapper;
+
+    private WorkflowCache workflowCache;
+    private SingleFlight<String, Map<String, Object>> executionStatusFlight;
+
+    @PostConstruct
+    void init() {
+        workflowCache = new WorkflowCache(n8nConfig.getCache(),
+                this::fetchWorkflows, this::fetchWorkflowSummaries, this::fetchWorkflow,
+                this::fetchProjectedWorkflows, this::fetchProjectedWorkflow);
+        executionStatusFlight = new SingleFlight<>(n8nConfig.getExecutions().getReuseWindow());
+    }
 
     /**
      * 워크플로우를 실행합니다.
@@ -30,12 +71,13 @@ public class N8nApiService {
     public Mono<WorkflowExecutionResponse> executeWorkflow(WorkflowExecutionRequest request) {
         log.info("Executing n8n workflow: {}", request.getWorkflowId());
 
-        return n8nWebClient
-                .post()
-                .uri("/api/v1/workflows/{id}/execute", request.getWorkflowId())
-                .bodyValue(request.getInputData())
-                .retrieve()
-                .bodyToMono(Map.class)
+        return metrics.api("execute", request.getWorkflowId(),
+                        resilience.guarded("POST /api/v1/workflows/{id}/execute", n8nWebClient
+                                .post()
+                                .uri("/api/v1/workflows/{id}/execute", request.getWorkflowId())
+                                .bodyValue(request.getInputData())
+                                .retrieve()
+                                .bodyToMono(Map.class)))
                 .map(response -> WorkflowExecutionResponse.builder()
                         .executionId(response.getOrDefault("executionId", "").toString())
                         .status("started")
@@ -51,6 +93,41 @@ public class N8nApiService {
                 });
     }
 
+    /**
+     * 여러 워크플로우 실행 요청을 최대 동시 실행 수(n8n.batch.max-concurrency) 내에서 병렬로 실행합니다.
+     * 결과는 완료 순서대로 항목별 성공/실패와 함께 방출됩니다.
+     * 각 항목은 {@link AdmissionControl#awaitBatchItem(Principal, String)} 로 요청률 토큰과 전역 동시 실행 슬롯이
+     * 생길 때까지 기다린 뒤 실행되므로, 한도를 넘는 배치도 실패 없이 rate 에 맞춰 나뉘어 실행됩니다.
+     *
+     * @param requests  워크플로우 실행 요청 목록
+     * @param principal 요청 사용자 (사용자 버킷 키)
+     * @return 항목별 실행 결과
+     */
+    public Flux<BatchExecutionResult> executeWorkflowBatch(List<WorkflowExecutionRequest> requests,
+                                                           Principal principal) {
+        log.info("Executing workflow batch of {} items", requests.size());
+
+        return Flux.fromIterable(requests)
+                .index()
+                .flatMap(item -> Mono.usingWhen(
+                                        admissionControl.awaitBatchItem(principal, item.getT2().getWorkflowId()),
+                                        permit -> executeWorkflow(item.getT2()),
+                                        permit -> Mono.fromRunnable(permit::release))
+                                .map(response -> BatchExecutionResult.builder()
+                                        .index(item.getT1())
+                                        .workflowId(item.getT2().getWorkflowId())
+                                        .success(!"failed".equals(response.getStatus()))
+                                        .response(response)
+                                        .build())
+                                .onErrorResume(error -> Mono.just(BatchExecutionResult.builder()
+                                        .index(item.getT1())
+                                        .workflowId(item.getT2().getWorkflowId())
+                                        .success(false)
+                                        .error(error.getMessage())
+                                        .build())),
+                        n8nConfig.getBatch().getMaxConcurrency());
+    }
+
     /**
      * 모든 워크플로우 목록을 조회합니다.
      *
@@ -60,40 +137,105 @@ public class N8nApiService {
     public Mono<List<Map<String, Object>>> getWorkflows() {
         log.info("Fetching all workflows");
 
-        return n8nWebClient
-                .get()
-                .uri("/api/v1/workflows")
-                .retrieve()
-                .bodyToMono(Map.class)
-                .map(response -> {
-                    Object data = response.get("data");
-                    if (data instanceof List) {
-                        return (List<Map<String, Object>>) data;
-                    }
-                    return (List<Map<String, Object>>) (List<?>) List.of();
-                })
+        return workflowCache.getWorkflows()
+                .onErrorResume(error -> {
+                    log.error("Error fetching workflows: {}", error.getMessage(), error);
+                    return Mono.just((List<Map<String, Object>>) (List<?>) List.of());
+                });
+    }
+
+    /**
+     * 요청한 필드만 포함한 워크플로우 목록을 조회합니다.
+     * 요청 필드가 요약 필드(id, name, active, tags, createdAt, updatedAt)뿐이면 요약 DTO 로, 그 밖의 조합은
+     * {@link WorkflowProjection#readPage} 로 읽으므로 어느 쪽이든 요청하지 않은 하위 트리는 역직렬화하지 않습니다.
+     *
+     * @param projection 필드 프로젝션
+     * @return 워크플로우 목록
+     */
+    @SuppressWarnings("unchecked")
+    public Mono<List<Map<String, Object>>> getWorkflows(WorkflowProjection projection) {
+        if (projection.isAll()) {
+            return getWorkflows();
+        }
+        log.info("Fetching all workflows with projection");
+
+        Mono<List<Map<String, Object>>> workflows = projection.isSummary()
+                ? workflowCache.getWorkflowSummaries()
+                        .map(summaries -> summaries.stream().map(projection::apply).toList())
+                : workflowCache.getWorkflows(projection);
+        return workflows
                 .onErrorResume(error -> {
                     log.error("Error fetching workflows: {}", error.getMessage(), error);
                     return Mono.just((List<Map<String, Object>>) (List<?>) List.of());
                 });
     }
 
+    /**
+     * 모든 워크플로우를 n8n 커서(nextCursor)를 따라가며 스트리밍합니다.
+     * 다음 페이지는 하위 구독자가 이전 페이지를 모두 소비했을 때만 요청하므로
+     * 워크플로우 수와 관계없이 메모리에는 한 페이지만 유지됩니다.
+     *
+     * @return 워크플로우 스트림
+     */
+    public Flux<Map<String, Object>> streamWorkflows() {
+        log.info("Streaming all workflows");
+
+        return fetchAllWorkflows()
+                .doOnError(error -> log.error("Error streaming workflows: {}", error.getMessage(), error));
+    }
+
+    /**
+     * 요청한 필드만 포함해 모든 워크플로우를 스트리밍합니다.
+     *
+     * @param projection 필드 프로젝션
+     * @return 워크플로우 스트림
+     */
+    public Flux<Map<String, Object>> streamWorkflows(WorkflowProjection projection) {
+        if (projection.isAll()) {
+            return streamWorkflows();
+        }
+        log.info("Streaming all workflows with projection");
+
+        Flux<Map<String, Object>> workflows = projection.isSummary()
+                ? fetchAllPages(spec -> spec.bodyToMono(WORKFLOW_SUMMARY_PAGE)).map(projection::apply)
+                : fetchAllPages(spec -> decode(spec, projection::readPage));
+        return workflows
+                .doOnError(error -> log.error("Error streaming workflows: {}", error.getMessage(), error));
+    }
+
     /**
      * 특정 워크플로우 정보를 조회합니다.
      *
      * @param workflowId 워크플로우 ID
      * @return 워크플로우 정보
      */
-    @SuppressWarnings("unchecked")
     public Mono<Map<String, Object>> getWorkflow(String workflowId) {
         log.info("Fetching workflow: {}", workflowId);
 
-        return n8nWebClient
-                .get()
-                .uri("/api/v1/workflows/{id}", workflowId)
-                .retrieve()
-                .bodyToMono(Map.class)
-                .map(response -> (Map<String, Object>) response)
+        return workflowCache.getWorkflow(workflowId)
+                .onErrorResume(error -> {
+                    log.error("Error fetching workflow {}: {}", workflowId, error.getMessage(), error);
+                    Map<String, Object> errorMap = new HashMap<>();
+                    errorMap.put("error", error.getMessage());
+                    return Mono.just(errorMap);
+                });
+    }
+
+    /**
+     * 요청한 필드만 포함한 워크플로우 정보를 조회합니다.
+     * 요청하지 않은 최상위 필드(노드 그래프 등)는 역직렬화하지 않습니다.
+     *
+     * @param workflowId 워크플로우 ID
+     * @param projection 필드 프로젝션
+     * @return 워크플로우 정보
+     */
+    public Mono<Map<String, Object>> getWorkflow(String workflowId, WorkflowProjection projection) {
+        if (projection.isAll()) {
+            return getWorkflow(workflowId);
+        }
+        log.info("Fetching workflow {} with projection", workflowId);
+
+        return workflowCache.getWorkflow(workflowId, projection)
                 .onErrorResume(error -> {
                     log.error("Error fetching workflow {}: {}", workflowId, error.getMessage(), error);
                     Map<String, Object> errorMap = new HashMap<>();
@@ -102,22 +244,36 @@ public class N8nApiService {
                 });
     }
 
+    /**
+     * 워크플로우 캐시 통계(hit / miss / eviction)를 조회합니다.
+     *
+     * @return 캐시 통계
+     */
+    public Map<String, Object> getCacheStats() {
+        return workflowCache.stats();
+    }
+
+    /**
+     * 현재 upstream 호출을 공유 중인 실행 상태 조회 수
+     */
+    public int getCoalescedExecutionLookups() {
+        return executionStatusFlight.size();
+    }
+
     /**
      * 실행 상태를 조회합니다.
      *
      * @param executionId 실행 ID
      * @return 실행 상태
      */
-    @SuppressWarnings("unchecked")
     public Mono<Map<String, Object>> getExecutionStatus(String executionId) {
         log.info("Fetching execution status: {}", executionId);
 
-        return n8nWebClient
-                .get()
-                .uri("/api/v1/executions/{id}", executionId)
-                .retrieve()
-                .bodyToMono(Map.class)
-                .map(response -> (Map<String, Object>) response)
+        Mono<Map<String, Object>> status = n8nConfig.getExecutions().isCoalesce()
+                ? executionStatusFlight.execute(executionId, this::fetchExecutionStatus)
+                : fetchExecutionStatus(executionId);
+
+        return status
                 .onErrorResume(error -> {
                     log.error("Error fetching execution status {}: {}", executionId, error.getMessage(), error);
                     Map<String, Object> errorMap = new HashMap<>();
@@ -137,13 +293,16 @@ public class N8nApiService {
     public Mono<Map<String, Object>> toggleWorkflow(String workflowId, boolean active) {
         log.info("Toggling workflow {} to {}", workflowId, active ? "active" : "inactive");
 
-        return n8nWebClient
-                .patch()
-                .uri("/api/v1/workflows/{id}", workflowId)
-                .bodyValue(Map.of("active", active))
-                .retrieve()
-                .bodyToMono(Map.class)
+        return metrics.api("toggle", workflowId,
+                        resilience.guarded("PATCH /api/v1/workflows/{id}", n8nWebClient
+                                .patch()
+                                .uri("/api/v1/workflows/{id}", workflowId)
+                                .bodyValue(Map.of("active", active))
+                                .retrieve()
+                                .bodyToMono(Map.class)))
                 .map(response -> (Map<String, Object>) response)
+                // 활성화 상태가 바뀌었으므로 다음 조회가 n8n 의 최신 값을 읽도록 무효화
+                .doOnTerminate(() -> workflowCache.invalidate(workflowId))
                 .onErrorResume(error -> {
                     log.error("Error toggling workflow {}: {}", workflowId, error.getMessage(), error);
                     Map<String, Object> errorMap = new HashMap<>();
@@ -151,4 +310,95 @@ public class N8nApiService {
                     return Mono.just(errorMap);
                 });
     }
+
+    private Mono<List<Map<String, Object>>> fetchWorkflows() {
+        return fetchAllWorkflows().collectList();
+    }
+
+    private Mono<List<WorkflowSummary>> fetchWorkflowSummaries() {
+        return fetchAllPages(spec -> spec.bodyToMono(WORKFLOW_SUMMARY_PAGE)).collectList();
+    }
+
+    private Mono<List<Map<String, Object>>> fetchProjectedWorkflows(WorkflowProjection projection) {
+        return fetchAllPages(spec -> decode(spec, projection::readPage)).collectList();
+    }
+
+    private Flux<Map<String, Object>> fetchAllWorkflows() {
+        return fetchAllPages(spec -> spec.bodyToMono(WORKFLOW_PAGE));
+    }
+
+    private <T> Flux<T> fetchAllPages(Function<WebClient.ResponseSpec, Mono<WorkflowPage<T>>> pageDecoder) {
+        return fetchWorkflowPage(null, pageDecoder)
+                .expand(page -> page.hasNext() ? fetchWorkflowPage(page.getNextCursor(), pageDecoder) : Mono.empty())
+                .concatMapIterable(page -> page.getData() != null ? page.getData() : List.<T>of(), 1);
+    }
+
+    private <T> Mono<WorkflowPage<T>> fetchWorkflowPage(String cursor,
+                                                        Function<WebClient.ResponseSpec, Mono<WorkflowPage<T>>> pageDecoder) {
+        return metrics.api("list", null, resilience.hedged("GET /api/v1/workflows", pageDecoder.apply(n8nWebClient
+                .get()
+                .uri(uriBuilder -> {
+                    uriBuilder.path("/api/v1/workflows")
+                            .queryParam("limit", n8nConfig.getListing().getPageSize());
+                    if (cursor != null) {
+                        uriBuilder.queryParam("cursor", cursor);
+                    }
+                    return uriBuilder.build();
+                })
+                .retrieve())));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Mono<Map<String, Object>> fetchWorkflow(String workflowId) {
+        return metrics.api("get", workflowId,
+                        resilience.hedged("GET /api/v1/workflows/{id}", n8nWebClient
+                                .get()
+                                .uri("/api/v1/workflows/{id}", workflowId)
+                                .retrieve()
+                                .bodyToMono(Map.class)))
+                .map(response -> (Map<String, Object>) response);
+    }
+
+    private Mono<Map<String, Object>> fetchProjectedWorkflow(String workflowId, WorkflowProjection projection) {
+        return metrics.api("get", workflowId,
+                resilience.hedged("GET /api/v1/workflows/{id}", decode(n8nWebClient
+                        .get()
+                        .uri("/api/v1/workflows/{id}", workflowId)
+                        .retrieve(), projection::readWorkflow)));
+    }
+
+    /**
+     * 응답 본문을 코덱의 max-in-memory-size 안에서 하나의 버퍼로 받은 뒤 reader 로 토큰 단위로 읽습니다.
+     * 요청하지 않은 하위 트리는 reader 가 건너뛰므로 Map 으로 만들지 않습니다.
+     */
+    private <T> Mono<T> decode(WebClient.ResponseSpec response, ProjectionReader<T> reader) {
+        return response.bodyToMono(DataBuffer.class)
+                .map(buffer -> {
+                    InputStream in = buffer.asInputStream(true);
+                    try (in; JsonParser parser = objectMapper.createParser(in)) {
+                        parser.nextToken();
+                        return reader.read(parser);
+                    } catch (IOException e) {
+                        throw new DecodingException("JSON decoding error: " + e.getMessage(), e);
+                    }
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private Mono<Map<String, Object>> fetchExecutionStatus(String executionId) {
+        // 실행 ID 는 무한히 늘어나므로 태그로 쓰지 않음
+        return metrics.api("execution_status", null,
+                        resilience.hedged("GET /api/v1/executions/{id}", n8nWebClient
+                                .get()
+                                .uri("/api/v1/executions/{id}", executionId)
+                                .attribute(UpstreamPool.STICKY_KEY_ATTRIBUTE, executionId)
+                                .retrieve()
+                                .bodyToMono(Map.class)))
+                .map(response -> (Map<String, Object>) response);
+    }
+
+    @FunctionalInterface
+    private interface ProjectionReader<T> {
+        T read(JsonParser parser) throws IOException;
+    }
 }
@@ -2,6 +2,7 @@ package com.n8n.service;
 
 import com.n8n.dto.N8nWebhookRequest;
 import com.n8n.dto.N8nWebhookResponse;
+import com.n8n.metrics.UpstreamMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -19,6 +20,8 @@ public class N8nWebhookService {
 
     @Qualifier("webhookWebClient")
     private final WebClient webhookWebClient;
+    private final UpstreamResilience resilience;
+    private final UpstreamMetrics metrics;
 
     /**
      * n8n Webhook으로 요청을 전송합니다.
@@ -29,9 +32,9 @@ public class N8nWebhookService {
     public Mono<N8nWebhookResponse> triggerWebhook(N8nWebhookRequest request) {
         log.info("Triggering n8n webhook: {}", request.getWebhookPath());
 
+        String method = request.getMethod() != null ? request.getMethod() : "POST";
         WebClient.RequestBodySpec requestSpec = webhookWebClient
-                .method(org.springframework.http.HttpMethod.valueOf(
-                        request.getMethod() != null ? request.getMethod() : "POST"))
+                .method(org.springframework.http.HttpMethod.valueOf(method))
                 .uri(request.getWebhookPath());
 
         // 헤더 추가
@@ -39,10 +42,11 @@ public class N8nWebhookService {
             request.getHeaders().forEach(requestSpec::header);
         }
 
-        return requestSpec
-                .bodyValue(request.getData() != null ? request.getData() : new HashMap<>())
-                .retrieve()
-                .bodyToMono(Map.class)
+        return metrics.webhook(method, request.getWebhookPath(),
+                        resilience.guarded("webhook:" + request.getWebhookPath(), requestSpec
+                                .bodyValue(request.getData() != null ? request.getData() : new HashMap<>())
+                                .retrieve()
+                                .bodyToMono(Map.class)))
                 .map(response -> N8nWebhookResponse.builder()
                         .success(true)
                         .message("Webhook triggered successfully")
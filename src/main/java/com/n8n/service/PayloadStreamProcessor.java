@@ -0,0 +1,282 @@
+package com.n8n.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.n8n.config.PublicApiConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.codec.CodecException;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * /api/public/process/stream 의 스트리밍 처리기
+ *
+ * <p>본문 전체를 Map 으로 바인딩하는 대신 JSON 배열 또는 NDJSON(공백으로 구분된 JSON 객체 연속)을
+ * 토큰 단위로 읽고, 결과를 NDJSON 으로 바로 내보냅니다. 서블릿 모드에서는 레코드를 Map 으로 만들지 않고 data 필드만
+ * 읽으며 나머지 필드는 버퍼링 없이 건너뜁니다. data 필드의 대문자 변환도 transformChunkChars 크기 조각 단위로
+ * 출력에 직접 써서 변환된 전체 문자열 사본을 만들지 않습니다.</p>
+ *
+ * <p>Jackson 은 문자열 값 하나를 조각으로 나눠 읽지 못하므로, 서블릿 모드의 요청당 메모리는 문자열 값 하나의 길이를
+ * maxStringLength 로, 객체 / 배열인 data 값 하나의 입력 크기를 maxDataLength 로 제한해 묶습니다. 넘으면 오류 줄을 쓰고 종료합니다. 리액티브 모드에서는 코덱이 레코드를 디코딩하며
+ * 레코드 하나의 크기가 spring.codec.max-in-memory-size 로 제한됩니다.</p>
+ *
+ * <p>출력 형식: 레코드마다 {@code {"index":0,"status":"processed","dataLength":..,"dataUpperCase":..,"processedAt":..}}
+ * 한 줄, 마지막에 {@code {"summary":{"records":n,"elapsedMillis":..}}} 한 줄.
+ * 중간에 본문이 깨지면 {@code {"error":..,"index":n}} 줄을 쓰고 종료합니다.</p>
+ */
+@Slf4j
+@Component
+public class PayloadStreamProcessor {
+
+    private static final String DATA_FIELD = "data";
+
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper boundedMapper;
+    private final PublicApiConfig publicApiConfig;
+
+    public PayloadStreamProcessor(ObjectMapper objectMapper, PublicApiConfig publicApiConfig) {
+        this.objectMapper = objectMapper;
+        this.publicApiConfig = publicApiConfig;
+        StreamReadConstraints constraints = StreamReadConstraints.builder()
+                .maxStringLength(publicApiConfig.getProcess().getMaxStringLength())
+                .build();
+        this.boundedMapper = objectMapper.copyWith(
+                objectMapper.getFactory().copy().setStreamReadConstraints(constraints));
+    }
+
+    /**
+     * 블로킹 입출력 스트림용 (서블릿 모드)
+     *
+     * @return 처리한 레코드 수
+     */
+    public long process(InputStream in, OutputStream out) throws IOException {
+        PublicApiConfig.ProcessConfig config = publicApiConfig.getProcess();
+        long startedAt = System.nanoTime();
+        long index = 0;
+
+        try (JsonParser parser = boundedMapper.createParser(in);
+             JsonGenerator generator = objectMapper.createGenerator(out)) {
+            // 레코드 사이 구분은 writeRaw 개행으로 직접 처리
+            generator.setRootValueSeparator(null);
+            try {
+                JsonToken token = parser.nextToken();
+                boolean array = token == JsonToken.START_ARRAY;
+                if (array) {
+                    token = parser.nextToken();
+                }
+                while (token != null && token != JsonToken.END_ARRAY) {
+                    if (token != JsonToken.START_OBJECT) {
+                        throw new JsonParseException(parser, "Expected a JSON object but found " + token);
+                    }
+                    writeRecord(generator, index++, readData(parser));
+                    if (index % config.getChunkSize() == 0) {
+                        generator.flush();
+                    }
+                    token = parser.nextToken();
+                }
+            } catch (JsonProcessingException e) {
+                log.debug("Stopped streaming process at record {}: {}", index, e.getOriginalMessage());
+                writeLine(generator, Map.of("error", e.getOriginalMessage(), "index", index));
+                return index;
+            }
+            writeSummary(generator, index, startedAt);
+        }
+        return index;
+    }
+
+    /**
+     * 리액티브 스트림용 (WebFlux 모드). 레코드는 코덱이 배열 / NDJSON 에서 하나씩 디코딩해 전달하며,
+     * 출력은 chunkSize 개 레코드마다 DataBuffer 하나로 묶어 내보냅니다.
+     */
+    public Flux<DataBuffer> process(Flux<Map<String, Object>> records, DataBufferFactory bufferFactory) {
+        return Flux.defer(() -> {
+            long startedAt = System.nanoTime();
+            AtomicLong index = new AtomicLong();
+            return records
+                    .buffer(publicApiConfig.getProcess().getChunkSize())
+                    .map(chunk -> encode(bufferFactory, generator -> {
+                        for (Map<String, Object> record : chunk) {
+                            writeRecord(generator, index.getAndIncrement(), record.get(DATA_FIELD));
+                        }
+                    }))
+                    .concatWith(Mono.fromCallable(() -> encode(bufferFactory,
+                            generator -> writeSummary(generator, index.get(), startedAt))))
+                    .onErrorResume(e -> e instanceof CodecException || e instanceof DataBufferLimitException,
+                            e -> Mono.fromCallable(() -> encode(bufferFactory, generator -> writeLine(generator,
+                                    Map.of("error", String.valueOf(e.getMessage()), "index", index.get())))));
+        });
+    }
+
+    /**
+     * START_OBJECT 에 놓인 파서에서 레코드 끝까지 읽고 data 필드 값만 반환합니다. (없으면 null)
+     */
+    private Object readData(JsonParser parser) throws IOException {
+        Object data = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (!DATA_FIELD.equals(field)) {
+                parser.skipChildren();
+            } else if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+                data = readStructure(parser);
+            } else {
+                data = parser.readValueAs(Object.class);
+            }
+        }
+        return data;
+    }
+
+    /**
+     * 객체 / 배열 data 값을 입력 maxDataLength 바이트까지만 TokenBuffer 에 복사한 뒤 값으로 만듭니다.
+     * 하위 트리를 바로 바인딩하면 크기 제한 없이 메모리에 올라가므로 토큰을 복사하며 입력 위치로 크기를 잽니다.
+     */
+    private Object readStructure(JsonParser parser) throws IOException {
+        int maxLength = publicApiConfig.getProcess().getMaxDataLength();
+        long start = offset(parser.currentTokenLocation());
+        try (TokenBuffer buffer = new TokenBuffer(parser)) {
+            int depth = 0;
+            JsonToken token = parser.currentToken();
+            while (true) {
+                if (token == null) {
+                    throw new JsonParseException(parser, "Unexpected end of input in data value");
+                }
+                buffer.copyCurrentEvent(parser);
+                if (token.isStructStart()) {
+                    depth++;
+                } else if (token.isStructEnd() && --depth == 0) {
+                    break;
+                }
+                if (offset(parser.currentLocation()) - start > maxLength) {
+                    throw new JsonParseException(parser,
+                            "data value exceeds the maximum length of " + maxLength + " bytes");
+                }
+                token = parser.nextToken();
+            }
+            try (JsonParser copy = buffer.asParser(parser.getCodec())) {
+                copy.nextToken();
+                return copy.readValueAs(Object.class);
+            }
+        }
+    }
+
+    private static long offset(JsonLocation location) {
+        return location.getByteOffset() >= 0 ? location.getByteOffset() : location.getCharOffset();
+    }
+
+    private void writeRecord(JsonGenerator generator, long index, Object data) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("index", index);
+        generator.writeStringField("status", "processed");
+        if (data != null) {
+            String text = data.toString();
+            generator.writeNumberField("dataLength", text.length());
+            generator.writeFieldName("dataUpperCase");
+            generator.writeString(new UpperCaseReader(text, publicApiConfig.getProcess().getTransformChunkChars()), -1);
+        }
+        generator.writePOJOField("processedAt", LocalDateTime.now());
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private void writeSummary(JsonGenerator generator, long records, long startedAt) throws IOException {
+        writeLine(generator, Map.of("summary", Map.of(
+                "records", records,
+                "elapsedMillis", (System.nanoTime() - startedAt) / 1_000_000)));
+    }
+
+    private void writeLine(JsonGenerator generator, Object value) throws IOException {
+        generator.writeObject(value);
+        generator.writeRaw('\n');
+        generator.flush();
+    }
+
+    private DataBuffer encode(DataBufferFactory bufferFactory, ChunkWriter writer) {
+        DataBuffer buffer = bufferFactory.allocateBuffer(4096);
+        boolean release = true;
+        try (OutputStream out = buffer.asOutputStream();
+             JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            writer.write(generator);
+            generator.flush();
+            release = false;
+            return buffer;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (release) {
+                DataBufferUtils.release(buffer);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter {
+        void write(JsonGenerator generator) throws IOException;
+    }
+
+    /**
+     * 원본 문자열을 고정 크기 조각씩 대문자로 바꿔 읽어 주는 Reader
+     * 서로게이트 쌍이 조각 경계에서 잘리지 않도록 경계를 한 글자 당깁니다.
+     */
+    static final class UpperCaseReader extends Reader {
+
+        private final String source;
+        private final int chunkChars;
+        private int position;
+        private String pending = "";
+        private int pendingPosition;
+
+        UpperCaseReader(String source, int chunkChars) {
+            this.source = source;
+            this.chunkChars = Math.max(2, chunkChars);
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (pendingPosition == pending.length()) {
+                if (position == source.length()) {
+                    return -1;
+                }
+                int end = Math.min(position + chunkChars, source.length());
+                if (end < source.length() && Character.isHighSurrogate(source.charAt(end - 1))) {
+                    end--;
+                }
+                pending = source.substring(position, end).toUpperCase();
+                pendingPosition = 0;
+                position = end;
+            }
+            int count = Math.min(length, pending.length() - pendingPosition);
+            pending.getChars(pendingPosition, pendingPosition + count, buffer, offset);
+            pendingPosition += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.n8n.service;
+
+import com.n8n.config.N8nConfig;
+import com.n8n.support.CallNotPermittedException;
+import com.n8n.support.CircuitBreaker;
+import com.n8n.support.CircuitBreakerRegistry;
+import com.n8n.support.HedgeBudget;
+import com.n8n.support.LatencyWindow;
+import io.netty.handler.timeout.ReadTimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * n8n upstream 호출에 재시도(지수 백오프 + jitter)와 경로별 서킷 브레이커, 조회 hedging 을 적용합니다.
+ */
+@Slf4j
+@Component
+public class UpstreamResilience {
+
+    private final N8nConfig.ResilienceConfig config;
+    private final CircuitBreakerRegistry breakers;
+    private final HedgeBudget hedgeBudget;
+    /** 경로는 코드에 고정된 API 경로 템플릿뿐이므로 크기가 제한됨 */
+    private final Map<String, HedgeState> hedges = new ConcurrentHashMap<>();
+
+    public UpstreamResilience(N8nConfig n8nConfig) {
+        this.config = n8nConfig.getResilience();
+        N8nConfig.CircuitBreakerConfig breakerConfig = config.getCircuitBreaker();
+        this.breakers = new CircuitBreakerRegistry(name -> new CircuitBreaker(name,
+                breakerConfig.getFailureThreshold(),
+                breakerConfig.getOpenDuration(),
+                breakerConfig.getHalfOpenMaxCalls(),
+                UpstreamResilience::isUpstreamFailure),
+                breakerConfig.getMaxBreakers());
+        N8nConfig.HedgeConfig hedgeConfig = config.getHedge();
+        this.hedgeBudget = new HedgeBudget(hedgeConfig.getBudgetPercent(), hedgeConfig.getMaxBurst());
+    }
+
+    /**
+     * 멱등 조회용: 시도마다 서킷 브레이커를 거치고, 일시적 오류는 재시도합니다.
+     *
+     * @param route 브레이커 이름 (API 경로 또는 Webhook 경로)
+     * @param call  upstream 호출
+     */
+    public <T> Mono<T> idempotent(String route, Mono<T> call) {
+        Mono<T> guarded = guarded(route, call);
+        N8nConfig.RetryConfig retry = config.getRetry();
+        if (!retry.isEnabled() || retry.getMaxRetries() <= 0) {
+            return guarded;
+        }
+        return guarded.retryWhen(Retry.backoff(retry.getMaxRetries(), retry.getMinBackoff())
+                .maxBackoff(retry.getMaxBackoff())
+                .jitter(retry.getJitter())
+                .filter(UpstreamResilience::isTransient)
+                .doBeforeRetry(signal -> log.debug("Retrying {} after {}", route, signal.failure().toString()))
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
+
+    /**
+     * 꼬리 지연에 민감한 멱등 조회용: {@link #idempotent} 의 시도마다 hedging 을 적용합니다.
+     * hedging 이 꺼져 있으면 idempotent 와 같습니다.
+     *
+     * @param route 브레이커 / hedge 통계 이름 (API 경로)
+     * @param call  upstream 호출 (다시 구독하면 새 요청을 보내야 함)
+     */
+    public <T> Mono<T> hedged(String route, Mono<T> call) {
+        if (!config.getHedge().isEnabled()) {
+            return idempotent(route, call);
+        }
+        return idempotent(route, hedge(route, call));
+    }
+
+    /**
+     * 응답이 hedge 지연 안에 오지 않으면 예산이 허락하는 한 같은 호출을 한 번 더 보내고,
+     * 먼저 도착한 응답을 쓰며 나머지는 취소합니다. hedge 요청을 보낸 뒤에는 한쪽이 실패해도 다른 쪽의 결과를 기다리고,
+     * 둘 다 실패했을 때만 실패합니다. hedge 요청을 보내기 전에 원래 요청이 실패하면 바로 실패합니다.
+     */
+    <T> Mono<T> hedge(String route, Mono<T> call) {
+        N8nConfig.HedgeConfig hedgeConfig = config.getHedge();
+        return Mono.defer(() -> {
+            HedgeState state = hedges.computeIfAbsent(route, key -> new HedgeState(hedgeConfig));
+            hedgeBudget.deposit();
+            long start = System.nanoTime();
+            AtomicBoolean fired = new AtomicBoolean();
+            AtomicReference<Throwable> firstError = new AtomicReference<>();
+            // 먼저 실패한 쪽은 다른 쪽을 기다리고(never), 나중에 실패한 쪽이 두 오류를 모두 담아 실패
+            Function<Throwable, Mono<T>> bothFailed = error -> {
+                if (firstError.compareAndSet(null, error)) {
+                    return Mono.never();
+                }
+                if (firstError.get() != error) {
+                    error.addSuppressed(firstError.get());
+                }
+                return Mono.error(error);
+            };
+            // 취소된 원래 요청의 경과 시간도 기록해 느린 꼬리가 창에서 빠지지 않도록 함 (하한값)
+            Mono<T> primary = call
+                    .doFinally(signal -> {
+                        if (signal != SignalType.ON_ERROR) {
+                            state.latency.record(System.nanoTime() - start);
+                        }
+                    })
+                    .onErrorResume(error -> fired.get() ? bothFailed.apply(error) : Mono.error(error));
+            Mono<T> backup = Mono.delay(state.delay(hedgeConfig))
+                    .flatMap(tick -> {
+                        if (!hedgeBudget.tryAcquire()) {
+                            state.denied.increment();
+                            return Mono.<T>never();
+                        }
+                        fired.set(true);
+                        state.fired.increment();
+                        log.debug("Hedging {} after {} ms", route,
+                                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                        return call
+                                .doOnNext(value -> state.won.increment())
+                                .onErrorResume(bothFailed);
+                    });
+            return Mono.firstWithSignal(primary, backup);
+        });
+    }
+
+    /**
+     * 비멱등 호출용: 서킷 브레이커만 적용하고 재시도하지 않습니다.
+     *
+     * @param route 브레이커 이름 (API 경로 또는 Webhook 경로)
+     * @param call  upstream 호출
+     */
+    public <T> Mono<T> guarded(String route, Mono<T> call) {
+        if (!config.getCircuitBreaker().isEnabled()) {
+            return call;
+        }
+        return breakers.get(route).protect(call);
+    }
+
+    public Map<String, Map<String, Object>> stats() {
+        return breakers.stats();
+    }
+
+    /**
+     * 경로별 hedge 지연 / 발사 / 승리 / 예산 부족 횟수
+     */
+    public Map<String, Object> hedgeStats() {
+        N8nConfig.HedgeConfig hedgeConfig = config.getHedge();
+        Map<String, Object> routes = new LinkedHashMap<>();
+        hedges.forEach((route, state) -> {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("delayMs", state.delay(hedgeConfig).toMillis());
+            values.put("samples", state.latency.count());
+            values.put("fired", state.fired.sum());
+            values.put("won", state.won.sum());
+            values.put("budgetDenied", state.denied.sum());
+            routes.put(route, values);
+        });
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", hedgeConfig.isEnabled());
+        stats.put("budgetCredits", hedgeBudget.credits());
+        stats.put("routes", routes);
+        return stats;
+    }
+
+    /**
+     * 재시도할 만한 일시적 오류 (502/503/504, 연결 실패/리셋, 타임아웃)
+     */
+    static boolean isTransient(Throwable error) {
+        if (error instanceof CallNotPermittedException) {
+            return false;
+        }
+        if (error instanceof WebClientResponseException response) {
+            int status = response.getStatusCode().value();
+            return status == 502 || status == 503 || status == 504;
+        }
+        return error instanceof WebClientRequestException
+                || error instanceof TimeoutException
+                || error instanceof ReadTimeoutException;
+    }
+
+    /**
+     * 서킷 브레이커 실패로 집계할 오류 (4xx 는 n8n 이 정상 응답한 것이므로 제외, 429 는 과부하로 집계)
+     */
+    static boolean isUpstreamFailure(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            int status = response.getStatusCode().value();
+            return status >= 500 || status == 429;
+        }
+        return error instanceof WebClientRequestException
+                || error instanceof TimeoutException
+                || error instanceof ReadTimeoutException;
+    }
+
+    private static final class HedgeState {
+        private final LatencyWindow latency;
+        private final LongAdder fired = new LongAdder();
+        private final LongAdder won = new LongAdder();
+        private final LongAdder denied = new LongAdder();
+
+        private HedgeState(N8nConfig.HedgeConfig config) {
+            this.latency = new LatencyWindow(config.getWindow(), config.getPercentile(), config.getMinSamples());
+        }
+
+        private Duration delay(N8nConfig.HedgeConfig config) {
+            long observed = config.getPercentile() > 0 ? latency.percentileNanos() : -1;
+            if (observed < 0) {
+                return config.getDelay();
+            }
+            return Duration.ofNanos(Math.max(config.getMinDelay().toNanos(),
+                    Math.min(config.getMaxDelay().toNanos(), observed)));
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.n8n.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.n8n.config.N8nConfig;
+import com.n8n.dto.ApiResponse;
+import com.n8n.metrics.UpstreamMetrics;
+import com.n8n.support.CallNotPermittedException;
+import io.netty.handler.timeout.ReadTimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * n8n Webhook 원시(raw) 프록시
+ *
+ * <p>요청 본문과 n8n 응답을 Map / DTO 로 디코딩하지 않고 DataBuffer 스트림 그대로 전달합니다.
+ * 상태 코드, 설정된 요청 / 응답 헤더(Content-Type, Content-Encoding 포함)를 그대로 넘기므로
+ * JSON 이 아닌 응답이나 압축된 응답도 재인코딩 없이 전달됩니다. Netty 서버 모드에서는 클라이언트와 n8n 사이에서
+ * 버퍼가 복사되지 않습니다.</p>
+ *
+ * <p>크기 제한: Content-Length 가 상한을 넘으면 upstream 을 호출하지 않거나(요청, 413) 본문을 버리고(응답, 502)
+ * 오류를 반환합니다. 길이를 모르는 청크 전송은 흐르는 바이트를 세다가 상한을 넘는 순간 중단하며,
+ * 이미 응답을 보내기 시작했다면 연결을 끊습니다.</p>
+ */
+@Slf4j
+@Service
+public class WebhookProxyService {
+
+    private final WebClient proxyWebClient;
+    private final N8nConfig n8nConfig;
+    private final UpstreamResilience resilience;
+    private final UpstreamMetrics metrics;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 프록시 응답을 쓰는 서버 모드별 어댑터
+     */
+    public interface Downstream {
+
+        boolean isCommitted();
+
+        void setStatus(int status);
+
+        HttpHeaders headers();
+
+        DataBufferFactory bufferFactory();
+
+        Mono<Void> write(Flux<DataBuffer> body);
+
+        /**
+         * 커밋 전에 기록된 상태 / 헤더 / 버퍼에 남은 본문을 버립니다. 오류 응답을 쓰기 전에 호출합니다.
+         */
+        void reset();
+    }
+
+    /**
+     * 요청 또는 응답 본문이 크기 상한을 넘었을 때 발생합니다.
+     */
+    public static class PayloadTooLargeException extends IllegalStateException {
+        private final boolean request;
+
+        public PayloadTooLargeException(boolean request, long limit) {
+            super((request ? "Request" : "Upstream response") + " body exceeds " + limit + " bytes");
+            this.request = request;
+        }
+
+        public boolean isRequest() {
+            return request;
+        }
+    }
+
+    public WebhookProxyService(@Qualifier("webhookWebClient") WebClient webhookWebClient,
+                               N8nConfig n8nConfig,
+                               UpstreamResilience resilience,
+                               UpstreamMetrics metrics,
+                               ObjectMapper objectMapper) {
+        // 기본 Content-Type(application/json)을 빼서 클라이언트가 보낸 값만 전달
+        this.proxyWebClient = webhookWebClient.mutate()
+                .defaultHeaders(headers -> headers.remove(HttpHeaders.CONTENT_TYPE))
+                .build();
+        this.n8nConfig = n8nConfig;
+        this.resilience = resilience;
+        this.metrics = metrics;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 요청을 n8n Webhook 으로 전달하고 응답을 downstream 에 스트리밍합니다.
+     *
+     * @param method          HTTP 메서드
+     * @param webhookPath     Webhook 경로 (브레이커 / 메트릭 이름)
+     * @param rawPathAndQuery 인코딩된 그대로의 Webhook 경로와 쿼리 문자열
+     * @param requestHeaders  클라이언트 요청 헤더
+     * @param body            클라이언트 요청 본문
+     * @param downstream      응답을 쓸 어댑터
+     */
+    public Mono<Void> forward(HttpMethod method, String webhookPath, String rawPathAndQuery,
+                              HttpHeaders requestHeaders, Flux<DataBuffer> body, Downstream downstream) {
+        N8nConfig.ProxyConfig config = n8nConfig.getWebhook().getProxy();
+        long maxRequest = config.getMaxRequestSize().toBytes();
+        long maxResponse = config.getMaxResponseSize().toBytes();
+
+        if (requestHeaders.getContentLength() > maxRequest) {
+            // 본문은 구독하지 않으므로 읽히지 않은 채 서버가 정리
+            return writeError(downstream, HttpStatus.PAYLOAD_TOO_LARGE,
+                    new PayloadTooLargeException(true, maxRequest).getMessage());
+        }
+
+        WebClient.RequestBodySpec spec = proxyWebClient.method(method)
+                .uri(URI.create(n8nConfig.getWebhook().getBaseUrl() + rawPathAndQuery))
+                .headers(headers -> copy(requestHeaders, headers, config.getRequestHeaders()));
+        boolean hasBody = requestHeaders.getContentLength() > 0
+                || requestHeaders.containsKey(HttpHeaders.TRANSFER_ENCODING);
+        WebClient.RequestHeadersSpec<?> request = hasBody
+                ? spec.body(BodyInserters.fromDataBuffers(limit(body, maxRequest, true)))
+                : spec;
+
+        Mono<Void> exchange = request.exchangeToMono(response -> relay(response, downstream, config, maxResponse));
+        return metrics.webhook(method.name(), webhookPath, resilience.guarded("webhook:" + webhookPath, exchange))
+                .onErrorResume(error -> {
+                    if (downstream.isCommitted()) {
+                        log.warn("Aborting proxied webhook response for {}: {}", webhookPath, error.getMessage());
+                        return Mono.error(error);
+                    }
+                    log.error("Error proxying webhook {}: {}", webhookPath, error.getMessage());
+                    return writeError(downstream, errorStatus(error), "Failed to proxy webhook: " + error.getMessage());
+                });
+    }
+
+    /**
+     * ResponseEntity 를 downstream 에 JSON 으로 씁니다. (유입 제어 거부 등 프록시 외 응답용)
+     */
+    public Mono<Void> write(Downstream downstream, ResponseEntity<?> entity) {
+        // 커밋 전에 실패한 경우 이미 옮겨진 upstream 상태 / 헤더(Content-Length 등) / 본문을 버림
+        downstream.reset();
+        downstream.setStatus(entity.getStatusCode().value());
+        downstream.headers().putAll(entity.getHeaders());
+        downstream.headers().setContentType(MediaType.APPLICATION_JSON);
+        return Mono.fromCallable(() -> objectMapper.writeValueAsBytes(entity.getBody()))
+                .flatMap(bytes -> downstream.write(Flux.just(downstream.bufferFactory().wrap(bytes))));
+    }
+
+    private Mono<Void> relay(ClientResponse response, Downstream downstream, N8nConfig.ProxyConfig config,
+                             long maxResponse) {
+        if (response.headers().contentLength().orElse(0) > maxResponse) {
+            return response.releaseBody().then(Mono.error(new PayloadTooLargeException(false, maxResponse)));
+        }
+        downstream.setStatus(response.statusCode().value());
+        copy(response.headers().asHttpHeaders(), downstream.headers(), config.getResponseHeaders());
+        return downstream.write(limit(response.bodyToFlux(DataBuffer.class), maxResponse, false));
+    }
+
+    private Mono<Void> writeError(Downstream downstream, HttpStatus status, String message) {
+        return write(downstream, ResponseEntity.status(status).body(ApiResponse.error(message)));
+    }
+
+    private static HttpStatus errorStatus(Throwable error) {
+        if (error instanceof PayloadTooLargeException tooLarge) {
+            return tooLarge.isRequest() ? HttpStatus.PAYLOAD_TOO_LARGE : HttpStatus.BAD_GATEWAY;
+        }
+        if (error instanceof CallNotPermittedException) {
+            return HttpStatus.SERVICE_UNAVAILABLE;
+        }
+        if (error instanceof TimeoutException || error instanceof ReadTimeoutException
+                || error.getCause() instanceof ReadTimeoutException) {
+            return HttpStatus.GATEWAY_TIMEOUT;
+        }
+        return error instanceof WebClientRequestException ? HttpStatus.BAD_GATEWAY : HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+
+    private static void copy(HttpHeaders from, HttpHeaders to, List<String> names) {
+        for (String name : names) {
+            List<String> values = from.get(name);
+            if (values != null && !values.isEmpty()) {
+                to.put(name, values);
+            }
+        }
+    }
+
+    /**
+     * 흐르는 바이트 수를 세다가 상한을 넘으면 해당 버퍼를 해제하고 {@link PayloadTooLargeException} 으로 중단합니다.
+     */
+    static Flux<DataBuffer> limit(Flux<DataBuffer> body, long maxBytes, boolean request) {
+        return Flux.defer(() -> {
+            AtomicLong total = new AtomicLong();
+            return body.handle((buffer, sink) -> {
+                if (total.addAndGet(buffer.readableByteCount()) > maxBytes) {
+                    DataBufferUtils.release(buffer);
+                    sink.error(new PayloadTooLargeException(request, maxBytes));
+                } else {
+                    sink.next(buffer);
+                }
+            });
+        });
+    }
+}
@@ -0,0 +1,184 @@
+package com.n8n.service;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.n8n.config.N8nConfig;
+import com.n8n.dto.WorkflowSummary;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * n8n 워크플로우 메타데이터에 대한 read-through 캐시
+ * 크기 제한(W-TinyLFU) / TTL 만료 / stale-while-revalidate 갱신을 Caffeine 으로 처리합니다.
+ * 로더가 실패한 결과는 캐시에 남지 않습니다.
+ */
+public class WorkflowCache {
+
+    private static final String ALL_WORKFLOWS = "*";
+
+    private final boolean enabled;
+    private final Supplier<Mono<List<Map<String, Object>>>> listLoader;
+    private final Supplier<Mono<List<WorkflowSummary>>> summaryLoader;
+    private final Function<String, Mono<Map<String, Object>>> workflowLoader;
+    private final Function<WorkflowProjection, Mono<List<Map<String, Object>>>> projectedListLoader;
+    private final BiFunction<String, WorkflowProjection, Mono<Map<String, Object>>> projectedWorkflowLoader;
+    private final AsyncLoadingCache<String, List<Map<String, Object>>> workflowLists;
+    private final AsyncLoadingCache<String, List<WorkflowSummary>> summaryLists;
+    private final AsyncLoadingCache<String, Map<String, Object>> workflows;
+    private final AsyncLoadingCache<WorkflowProjection, List<Map<String, Object>>> projectedLists;
+    private final AsyncLoadingCache<ProjectedKey, Map<String, Object>> projectedWorkflows;
+
+    public WorkflowCache(N8nConfig.CacheConfig config,
+                         Supplier<Mono<List<Map<String, Object>>>> listLoader,
+                         Supplier<Mono<List<WorkflowSummary>>> summaryLoader,
+                         Function<String, Mono<Map<String, Object>>> workflowLoader,
+                         Function<WorkflowProjection, Mono<List<Map<String, Object>>>> projectedListLoader,
+                         BiFunction<String, WorkflowProjection, Mono<Map<String, Object>>> projectedWorkflowLoader) {
+        this(config, listLoader, summaryLoader, workflowLoader, projectedListLoader, projectedWorkflowLoader,
+                Ticker.systemTicker());
+    }
+
+    WorkflowCache(N8nConfig.CacheConfig config,
+                  Supplier<Mono<List<Map<String, Object>>>> listLoader,
+                  Supplier<Mono<List<WorkflowSummary>>> summaryLoader,
+                  Function<String, Mono<Map<String, Object>>> workflowLoader,
+                  Function<WorkflowProjection, Mono<List<Map<String, Object>>>> projectedListLoader,
+                  BiFunction<String, WorkflowProjection, Mono<Map<String, Object>>> projectedWorkflowLoader,
+                  Ticker ticker) {
+        this.enabled = config.isEnabled();
+        this.listLoader = listLoader;
+        this.summaryLoader = summaryLoader;
+        this.workflowLoader = workflowLoader;
+        this.projectedListLoader = projectedListLoader;
+        this.projectedWorkflowLoader = projectedWorkflowLoader;
+        this.workflowLists = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(config.getTtl())
+                .refreshAfterWrite(config.getRefreshAfter())
+                .ticker(ticker)
+                .recordStats()
+                .buildAsync((key, executor) -> listLoader.get().toFuture());
+        this.summaryLists = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(config.getTtl())
+                .refreshAfterWrite(config.getRefreshAfter())
+                .ticker(ticker)
+                .recordStats()
+                .buildAsync((key, executor) -> summaryLoader.get().toFuture());
+        this.workflows = Caffeine.newBuilder()
+                .maximumSize(config.getMaxSize())
+                .expireAfterWrite(config.getTtl())
+                .refreshAfterWrite(config.getRefreshAfter())
+                .ticker(ticker)
+                .recordStats()
+                .buildAsync((key, executor) -> workflowLoader.apply(key).toFuture());
+        this.projectedLists = Caffeine.newBuilder()
+                .maximumSize(config.getMaxProjections())
+                .expireAfterWrite(config.getTtl())
+                .refreshAfterWrite(config.getRefreshAfter())
+                .ticker(ticker)
+                .recordStats()
+                .buildAsync((projection, executor) -> projectedListLoader.apply(projection).toFuture());
+        this.projectedWorkflows = Caffeine.newBuilder()
+                .maximumSize(config.getMaxSize())
+                .expireAfterWrite(config.getTtl())
+                .refreshAfterWrite(config.getRefreshAfter())
+                .ticker(ticker)
+                .recordStats()
+                .buildAsync((key, executor) ->
+                        projectedWorkflowLoader.apply(key.workflowId(), key.projection()).toFuture());
+    }
+
+    public Mono<List<Map<String, Object>>> getWorkflows() {
+        if (!enabled) {
+            return listLoader.get();
+        }
+        // 구독 취소가 다른 구독자와 공유하는 로딩 future 를 취소하지 않도록 suppressCancel
+        return Mono.fromFuture(() -> workflowLists.get(ALL_WORKFLOWS), true);
+    }
+
+    public Mono<List<WorkflowSummary>> getWorkflowSummaries() {
+        if (!enabled) {
+            return summaryLoader.get();
+        }
+        return Mono.fromFuture(() -> summaryLists.get(ALL_WORKFLOWS), true);
+    }
+
+    public Mono<Map<String, Object>> getWorkflow(String workflowId) {
+        if (!enabled) {
+            return workflowLoader.apply(workflowId);
+        }
+        return Mono.fromFuture(() -> workflows.get(workflowId), true);
+    }
+
+    /**
+     * 요청한 필드만 읽은 워크플로우 목록. 필드 조합별로 따로 캐시됩니다.
+     */
+    public Mono<List<Map<String, Object>>> getWorkflows(WorkflowProjection projection) {
+        if (!enabled) {
+            return projectedListLoader.apply(projection);
+        }
+        return Mono.fromFuture(() -> projectedLists.get(projection), true);
+    }
+
+    /**
+     * 요청한 필드만 읽은 워크플로우. 필드 조합별로 따로 캐시됩니다.
+     */
+    public Mono<Map<String, Object>> getWorkflow(String workflowId, WorkflowProjection projection) {
+        if (!enabled) {
+            return projectedWorkflowLoader.apply(workflowId, projection);
+        }
+        return Mono.fromFuture(() -> projectedWorkflows.get(new ProjectedKey(workflowId, projection)), true);
+    }
+
+    /**
+     * 워크플로우 상태가 바뀌었을 때 해당 항목과 목록 캐시를 무효화합니다.
+     *
+     * @param workflowId 워크플로우 ID
+     */
+    public void invalidate(String workflowId) {
+        workflows.synchronous().invalidate(workflowId);
+        projectedWorkflows.synchronous().asMap().keySet().removeIf(key -> key.workflowId().equals(workflowId));
+        workflowLists.synchronous().invalidateAll();
+        summaryLists.synchronous().invalidateAll();
+        projectedLists.synchronous().invalidateAll();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("workflows", toMap(workflows.synchronous().stats(), workflows.synchronous().estimatedSize()));
+        stats.put("workflowList", toMap(workflowLists.synchronous().stats(),
+                workflowLists.synchronous().estimatedSize()));
+        stats.put("workflowSummaryList", toMap(summaryLists.synchronous().stats(),
+                summaryLists.synchronous().estimatedSize()));
+        stats.put("projectedWorkflows", toMap(projectedWorkflows.synchronous().stats(),
+                projectedWorkflows.synchronous().estimatedSize()));
+        stats.put("projectedWorkflowLists", toMap(projectedLists.synchronous().stats(),
+                projectedLists.synchronous().estimatedSize()));
+        return stats;
+    }
+
+    private static Map<String, Object> toMap(CacheStats stats, long size) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", size);
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        result.put("loadSuccesses", stats.loadSuccessCount());
+        result.put("loadFailures", stats.loadFailureCount());
+        return result;
+    }
+
+    private record ProjectedKey(String workflowId, WorkflowProjection projection) {
+    }
+}
@@ -0,0 +1,155 @@
+package com.n8n.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.n8n.dto.WorkflowPage;
+import com.n8n.dto.WorkflowSummary;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * fields= 파라미터로 요청한 워크플로우 필드만 남기는 프로젝션
+ * 요청 필드가 모두 {@link WorkflowSummary} 에 있으면 요약 DTO 로 역직렬화해 나머지 하위 트리를 건너뛸 수 있고,
+ * 그 밖의 필드 조합은 {@link #readWorkflow(JsonParser)} / {@link #readPage(JsonParser)} 가 요청하지 않은
+ * 최상위 필드를 skipChildren() 으로 건너뛰며 읽습니다.
+ */
+public final class WorkflowProjection {
+
+    private static final Set<String> SUMMARY_FIELDS =
+            Set.of("id", "name", "active", "tags", "createdAt", "updatedAt");
+
+    private static final WorkflowProjection ALL = new WorkflowProjection(Set.of());
+
+    private final Set<String> fields;
+
+    private WorkflowProjection(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * "id,name,active" 형식의 필드 목록을 파싱합니다. 비어 있으면 전체 필드를 의미합니다.
+     */
+    public static WorkflowProjection of(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        return new WorkflowProjection(Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+    }
+
+    public boolean isAll() {
+        return fields.isEmpty();
+    }
+
+    /**
+     * 요약 DTO 만으로 응답할 수 있는지 여부
+     */
+    public boolean isSummary() {
+        return !fields.isEmpty() && SUMMARY_FIELDS.containsAll(fields);
+    }
+
+    public Map<String, Object> apply(Map<String, Object> workflow) {
+        if (isAll() || workflow.containsKey("error")) {
+            return workflow;
+        }
+        Map<String, Object> projected = new LinkedHashMap<>();
+        for (String field : fields) {
+            if (workflow.containsKey(field)) {
+                projected.put(field, workflow.get(field));
+            }
+        }
+        return projected;
+    }
+
+    /**
+     * 캐시 키 등으로 쓰는 정규화된 필드 목록 (요청 순서 유지)
+     */
+    public String key() {
+        return String.join(",", fields);
+    }
+
+    /**
+     * START_OBJECT 에 놓인 파서에서 워크플로우 하나를 읽습니다. 요청한 최상위 필드만 값으로 만들고
+     * 나머지(nodes, connections, pinData 등)는 트리로 만들지 않고 건너뜁니다.
+     */
+    public Map<String, Object> readWorkflow(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected a workflow object but found " + parser.currentToken());
+        }
+        Map<String, Object> workflow = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if (fields.contains(field)) {
+                workflow.put(field, parser.readValueAs(Object.class));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return apply(workflow);
+    }
+
+    /**
+     * START_OBJECT 에 놓인 파서에서 목록 API 한 페이지를 읽습니다. data 의 각 워크플로우는
+     * {@link #readWorkflow(JsonParser)} 로 읽습니다.
+     */
+    public WorkflowPage<Map<String, Object>> readPage(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected a workflow page but found " + parser.currentToken());
+        }
+        List<Map<String, Object>> data = new ArrayList<>();
+        String nextCursor = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    data.add(readWorkflow(parser));
+                }
+            } else if ("nextCursor".equals(field) && value == JsonToken.VALUE_STRING) {
+                nextCursor = parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return new WorkflowPage<>(data, nextCursor);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof WorkflowProjection projection && key().equals(projection.key());
+    }
+
+    @Override
+    public int hashCode() {
+        return key().hashCode();
+    }
+
+    public Map<String, Object> apply(WorkflowSummary summary) {
+        Map<String, Object> projected = new LinkedHashMap<>();
+        for (String field : fields) {
+            switch (field) {
+                case "id" -> projected.put(field, summary.getId());
+                case "name" -> projected.put(field, summary.getName());
+                case "active" -> projected.put(field, summary.getActive());
+                case "tags" -> projected.put(field, summary.getTags());
+                case "createdAt" -> projected.put(field, summary.getCreatedAt());
+                case "updatedAt" -> projected.put(field, summary.getUpdatedAt());
+                default -> {
+                }
+            }
+        }
+        return projected;
+    }
+}
@@ -0,0 +1,11 @@
+package com.n8n.support;
+
+/**
+ * 서킷 브레이커가 열려 있어 upstream 호출을 거부했을 때 발생합니다.
+ */
+public class CallNotPermittedException extends RuntimeException {
+
+    public CallNotPermittedException(String name) {
+        super("Circuit breaker '" + name + "' is open");
+    }
+}
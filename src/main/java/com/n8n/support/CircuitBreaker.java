@@ -0,0 +1,173 @@
+package com.n8n.support;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * 락 없이 CAS 로 상태를 전이하는 서킷 브레이커
+ *
+ * <ul>
+ *   <li>CLOSED: 연속 실패가 failureThreshold 에 도달하면 OPEN</li>
+ *   <li>OPEN: openDuration 동안 호출을 즉시 거부, 이후 첫 호출이 HALF_OPEN 탐침(probe)이 됨</li>
+ *   <li>HALF_OPEN: 최대 halfOpenMaxCalls 개의 탐침만 허용, 모두 성공하면 CLOSED, 하나라도 실패하면 다시 OPEN</li>
+ * </ul>
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private record Snapshot(State state, int failures, long openedAt, int permits, int successes) {
+    }
+
+    private static final Snapshot INITIAL = new Snapshot(State.CLOSED, 0, 0, 0, 0);
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final int halfOpenMaxCalls;
+    private final Predicate<Throwable> recordFailure;
+    private final LongSupplier clock;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(INITIAL);
+
+    public CircuitBreaker(String name, int failureThreshold, Duration openDuration, int halfOpenMaxCalls,
+                          Predicate<Throwable> recordFailure) {
+        this(name, failureThreshold, openDuration, halfOpenMaxCalls, recordFailure, System::nanoTime);
+    }
+
+    CircuitBreaker(String name, int failureThreshold, Duration openDuration, int halfOpenMaxCalls,
+                   Predicate<Throwable> recordFailure, LongSupplier clock) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenMaxCalls = halfOpenMaxCalls;
+        this.recordFailure = recordFailure;
+        this.clock = clock;
+    }
+
+    /**
+     * 브레이커 상태에 따라 source 를 실행하거나 {@link CallNotPermittedException} 으로 즉시 실패시킵니다.
+     */
+    public <T> Mono<T> protect(Mono<T> source) {
+        return Mono.defer(() -> {
+            if (!tryAcquirePermission()) {
+                return Mono.error(new CallNotPermittedException(name));
+            }
+            return source
+                    .doOnSuccess(value -> onSuccess())
+                    .doOnError(error -> {
+                        if (recordFailure.test(error)) {
+                            onError();
+                        } else {
+                            onSuccess();
+                        }
+                    })
+                    .doOnCancel(this::releasePermission);
+        });
+    }
+
+    public boolean tryAcquirePermission() {
+        while (true) {
+            Snapshot current = snapshot.get();
+            switch (current.state()) {
+                case CLOSED:
+                    return true;
+                case OPEN:
+                    if (clock.getAsLong() - current.openedAt() < openNanos) {
+                        return false;
+                    }
+                    if (snapshot.compareAndSet(current,
+                            new Snapshot(State.HALF_OPEN, 0, current.openedAt(), 1, 0))) {
+                        return true;
+                    }
+                    break;
+                case HALF_OPEN:
+                    if (current.permits() >= halfOpenMaxCalls) {
+                        return false;
+                    }
+                    if (snapshot.compareAndSet(current, new Snapshot(State.HALF_OPEN, 0, current.openedAt(),
+                            current.permits() + 1, current.successes()))) {
+                        return true;
+                    }
+                    break;
+            }
+        }
+    }
+
+    public void onSuccess() {
+        while (true) {
+            Snapshot current = snapshot.get();
+            Snapshot next = switch (current.state()) {
+                case CLOSED -> current.failures() == 0 ? current : INITIAL;
+                case HALF_OPEN -> current.successes() + 1 >= halfOpenMaxCalls
+                        ? INITIAL
+                        : new Snapshot(State.HALF_OPEN, 0, current.openedAt(),
+                        current.permits(), current.successes() + 1);
+                case OPEN -> current;
+            };
+            if (next == current || snapshot.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    public void onError() {
+        while (true) {
+            Snapshot current = snapshot.get();
+            Snapshot next = switch (current.state()) {
+                case CLOSED -> current.failures() + 1 >= failureThreshold
+                        ? open()
+                        : new Snapshot(State.CLOSED, current.failures() + 1, 0, 0, 0);
+                case HALF_OPEN -> open();
+                case OPEN -> current;
+            };
+            if (next == current || snapshot.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 결과 없이 취소된 HALF_OPEN 탐침의 허용량을 반납합니다.
+     */
+    public void releasePermission() {
+        while (true) {
+            Snapshot current = snapshot.get();
+            if (current.state() != State.HALF_OPEN || current.permits() == 0) {
+                return;
+            }
+            if (snapshot.compareAndSet(current, new Snapshot(State.HALF_OPEN, 0, current.openedAt(),
+                    current.permits() - 1, current.successes()))) {
+                return;
+            }
+        }
+    }
+
+    public State getState() {
+        return snapshot.get().state();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Map<String, Object> stats() {
+        Snapshot current = snapshot.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("state", current.state());
+        stats.put("consecutiveFailures", current.failures());
+        stats.put("halfOpenPermits", current.permits());
+        return stats;
+    }
+
+    private Snapshot open() {
+        return new Snapshot(State.OPEN, 0, clock.getAsLong(), 0, 0);
+    }
+}
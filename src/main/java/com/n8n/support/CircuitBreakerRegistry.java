@@ -0,0 +1,42 @@
+package com.n8n.support;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 이름별 서킷 브레이커 저장소
+ * 외부 입력(Webhook 경로 등)으로 이름이 정해지므로 최대 개수를 넘으면 overflow 브레이커를 공유합니다.
+ */
+public class CircuitBreakerRegistry {
+
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final Function<String, CircuitBreaker> factory;
+    private final int maxBreakers;
+    private final CircuitBreaker overflow;
+
+    public CircuitBreakerRegistry(Function<String, CircuitBreaker> factory, int maxBreakers) {
+        this.factory = factory;
+        this.maxBreakers = maxBreakers;
+        this.overflow = factory.apply("overflow");
+    }
+
+    public CircuitBreaker get(String name) {
+        CircuitBreaker breaker = breakers.get(name);
+        if (breaker != null) {
+            return breaker;
+        }
+        if (breakers.size() >= maxBreakers) {
+            return overflow;
+        }
+        return breakers.computeIfAbsent(name, factory);
+    }
+
+    public Map<String, Map<String, Object>> stats() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        breakers.forEach((name, breaker) -> stats.put(name, breaker.stats()));
+        stats.put(overflow.getName(), overflow.stats());
+        return stats;
+    }
+}
@@ -0,0 +1,40 @@
+package com.n8n.support;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 대기 없이 즉시 실패하는 동시 실행 상한 (CAS 기반)
+ */
+public class ConcurrencyLimiter {
+
+    private final int maxConcurrency;
+    private final AtomicInteger inUse = new AtomicInteger();
+
+    public ConcurrencyLimiter(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inUse.get();
+            if (current >= maxConcurrency) {
+                return false;
+            }
+            if (inUse.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        inUse.decrementAndGet();
+    }
+
+    public int inUse() {
+        return inUse.get();
+    }
+
+    public int maxConcurrency() {
+        return maxConcurrency;
+    }
+}
@@ -0,0 +1,59 @@
+package com.n8n.support;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * hedge 요청 예산
+ *
+ * <p>일반 요청 하나마다 percent / 100 크레딧이 쌓이고(최대 maxCredits), hedge 요청 하나가 1 크레딧을 씁니다.
+ * 따라서 장기적으로 추가 요청은 전체 요청의 percent% 를 넘지 않으며, upstream 이 전반적으로 느려져
+ * 모든 요청이 hedge 조건에 걸려도 부하가 두 배로 늘지 않습니다.</p>
+ */
+public class HedgeBudget {
+
+    private static final long CREDIT = 1000;
+
+    private final long depositPerRequest;
+    private final long maxBalance;
+    private final AtomicLong balance = new AtomicLong();
+
+    /**
+     * @param percent    일반 요청 대비 허용할 추가 요청 비율 (0 ~ 100)
+     * @param maxCredits 쌓아 둘 수 있는 최대 크레딧 (순간적으로 몰리는 hedge 수)
+     */
+    public HedgeBudget(double percent, int maxCredits) {
+        this.depositPerRequest = Math.round(CREDIT * percent / 100.0);
+        this.maxBalance = CREDIT * Math.max(1, maxCredits);
+    }
+
+    /**
+     * 일반 요청 하나를 기록합니다.
+     */
+    public void deposit() {
+        long current = balance.get();
+        // 가득 찬 상태에서는 쓰기 없이 반환해 경합을 줄임
+        if (current >= maxBalance) {
+            return;
+        }
+        balance.accumulateAndGet(depositPerRequest, (value, delta) -> Math.min(maxBalance, value + delta));
+    }
+
+    /**
+     * hedge 요청 하나에 쓸 크레딧을 가져옵니다.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            long current = balance.get();
+            if (current < CREDIT) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - CREDIT)) {
+                return true;
+            }
+        }
+    }
+
+    public double credits() {
+        return balance.get() / (double) CREDIT;
+    }
+}
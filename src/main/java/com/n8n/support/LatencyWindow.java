@@ -0,0 +1,68 @@
+package com.n8n.support;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 최근 N 개 응답 시간의 백분위를 추정합니다.
+ *
+ * <p>기록은 링 버퍼 슬롯 하나에 쓰는 것으로 끝나고, 백분위는 capacity / 8 개가 새로 기록될 때마다 한 번만
+ * 창을 복사 / 정렬해 다시 계산합니다. 그 사이 조회는 캐시된 값을 반환하므로 요청마다 정렬하지 않습니다.</p>
+ */
+public class LatencyWindow {
+
+    private final AtomicLongArray samples;
+    private final AtomicLong count = new AtomicLong();
+    private final double percentile;
+    private final int minSamples;
+    private final int recomputeEvery;
+
+    private volatile long cachedAt = -1;
+    private volatile long cachedNanos = -1;
+
+    /**
+     * @param capacity   보관할 최근 응답 시간 수
+     * @param percentile 추정할 백분위 (0 ~ 100)
+     * @param minSamples 이보다 적게 기록되면 추정하지 않음
+     */
+    public LatencyWindow(int capacity, double percentile, int minSamples) {
+        this.samples = new AtomicLongArray(capacity);
+        this.percentile = percentile;
+        this.minSamples = Math.min(minSamples, capacity);
+        this.recomputeEvery = Math.max(1, capacity / 8);
+    }
+
+    public void record(long nanos) {
+        long index = count.getAndIncrement();
+        samples.lazySet((int) (index % samples.length()), nanos);
+    }
+
+    public long count() {
+        return count.get();
+    }
+
+    /**
+     * @return 백분위 응답 시간(나노초), 기록이 minSamples 보다 적으면 -1
+     */
+    public long percentileNanos() {
+        long recorded = count.get();
+        if (recorded < minSamples) {
+            return -1;
+        }
+        if (cachedAt >= 0 && recorded - cachedAt < recomputeEvery) {
+            return cachedNanos;
+        }
+        int size = (int) Math.min(recorded, samples.length());
+        long[] sorted = new long[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * size) - 1;
+        long value = sorted[Math.max(0, Math.min(size - 1, rank))];
+        cachedNanos = value;
+        cachedAt = recorded;
+        return value;
+    }
+}
@@ -0,0 +1,56 @@
+package com.n8n.support;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * GCRA(Generic Cell Rate Algorithm) 토큰 버킷
+ *
+ * <p>버킷 상태를 "이론상 다음 도착 시각(TAT)" 하나의 AtomicLong 으로 표현하므로
+ * 리필 스레드나 락 없이 CAS 한 번으로 판정합니다. 초당 rate 개가 채워지고 최대 burst 개까지 한꺼번에 쓸 수 있습니다.</p>
+ */
+public class RateLimiter {
+
+    private final int burst;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public RateLimiter(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System.nanoTime());
+    }
+
+    RateLimiter(double permitsPerSecond, int burst, long now) {
+        this.burst = burst;
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * burst;
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    public long tryAcquire(int permits) {
+        return tryAcquire(permits, System.nanoTime());
+    }
+
+    /**
+     * permits 개를 가져옵니다. burst 보다 큰 요청은 기다려도 허용될 수 없으므로 항상 거부합니다.
+     *
+     * @return 허용되면 0, 거부되면 다시 시도할 수 있을 때까지 남은 나노초 (burst 초과 시 Long.MAX_VALUE)
+     */
+    long tryAcquire(int permits, long now) {
+        if (permits > burst) {
+            return Long.MAX_VALUE;
+        }
+        long increment = emissionIntervalNanos * permits;
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long next = (tat - now > 0 ? tat : now) + increment;
+            long excess = next - now - burstToleranceNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.n8n.support;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * 같은 키에 대한 동시 요청을 하나의 upstream 호출로 합칩니다 (single-flight).
+ * 진행 중인 호출은 모든 구독자가 공유하며, 성공한 결과는 reuseWindow 동안 재사용된 뒤 제거됩니다.
+ * 실패한 결과는 즉시 제거되므로 다음 요청은 새로 호출합니다.
+ *
+ * @param <K> 키 타입
+ * @param <V> 결과 타입
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+    private final Duration reuseWindow;
+    private final Scheduler scheduler;
+
+    public SingleFlight(Duration reuseWindow) {
+        this(reuseWindow, Schedulers.parallel());
+    }
+
+    public SingleFlight(Duration reuseWindow, Scheduler scheduler) {
+        this.reuseWindow = reuseWindow;
+        this.scheduler = scheduler;
+    }
+
+    public Mono<V> execute(K key, Function<K, Mono<V>> loader) {
+        return Mono.defer(() -> inFlight.computeIfAbsent(key, k -> share(k, loader)));
+    }
+
+    /**
+     * 현재 공유 중인(진행 중 + 재사용 대기) 키 수
+     */
+    public int size() {
+        return inFlight.size();
+    }
+
+    private Mono<V> share(K key, Function<K, Mono<V>> loader) {
+        AtomicReference<Mono<V>> self = new AtomicReference<>();
+        Mono<V> shared = loader.apply(key)
+                .doOnSuccess(value -> release(key, self.get(), reuseWindow))
+                .doOnError(error -> release(key, self.get(), Duration.ZERO))
+                // 모든 구독자가 취소해도 upstream 은 끝까지 진행되어 결과가 정리됨
+                .cache();
+        self.set(shared);
+        return shared;
+    }
+
+    private void release(K key, Mono<V> shared, Duration delay) {
+        if (delay.isZero() || delay.isNegative()) {
+            inFlight.remove(key, shared);
+        } else {
+            scheduler.schedule(() -> inFlight.remove(key, shared), delay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+}
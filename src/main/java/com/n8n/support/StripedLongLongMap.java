@@ -0,0 +1,282 @@
+package com.n8n.support;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * long 키 / long 값 전용 동시성 해시 맵
+ *
+ * <p>키를 stripe 로 나누고 stripe 마다 선형 탐사 오픈 어드레싱 테이블 하나({@code [key, value, key, value, ...]})와
+ * StampedLock 을 둡니다. 조회는 낙관적 읽기로 락 없이 수행하고 검증에 실패할 때만 읽기 락을 잡습니다.
+ * 박싱된 Long 이나 엔트리 객체를 만들지 않으므로 수백만 항목에서도 GC 가 추적할 객체 수가 stripe 수 정도로 유지됩니다.</p>
+ *
+ * <p>키 0 은 빈 슬롯 표시로 쓰이므로 사용할 수 없고, 값이 없으면 {@link #NO_VALUE} 를 반환합니다.</p>
+ */
+public class StripedLongLongMap {
+
+    public static final long NO_VALUE = Long.MIN_VALUE;
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private final Stripe[] stripes;
+    private final int stripeShift;
+
+    /**
+     * @param stripes         stripe 수 (2의 거듭제곱으로 올림)
+     * @param initialCapacity 전체 초기 용량
+     */
+    public StripedLongLongMap(int stripes, int initialCapacity) {
+        int count = ceilPowerOfTwo(stripes);
+        this.stripes = new Stripe[count];
+        this.stripeShift = 64 - Integer.numberOfTrailingZeros(count);
+        int perStripe = Math.max(8, (int) (initialCapacity / (float) count / LOAD_FACTOR));
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new Stripe(ceilPowerOfTwo(perStripe));
+        }
+    }
+
+    public long get(long key) {
+        long hash = hash(checkKey(key));
+        return stripe(hash).get(key, hash);
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != NO_VALUE;
+    }
+
+    /**
+     * @return 이전 값, 없었으면 {@link #NO_VALUE}
+     */
+    public long put(long key, long value) {
+        long hash = hash(checkKey(key));
+        return stripe(hash).put(key, hash, value, false);
+    }
+
+    /**
+     * @return 이미 있던 값 (이 경우 변경하지 않음), 없었으면 {@link #NO_VALUE}
+     */
+    public long putIfAbsent(long key, long value) {
+        long hash = hash(checkKey(key));
+        return stripe(hash).put(key, hash, value, true);
+    }
+
+    /**
+     * @return 제거된 값, 없었으면 {@link #NO_VALUE}
+     */
+    public long remove(long key) {
+        long hash = hash(checkKey(key));
+        return stripe(hash).remove(key, hash, NO_VALUE);
+    }
+
+    /**
+     * 현재 값이 expected 일 때만 제거합니다.
+     */
+    public boolean remove(long key, long expected) {
+        long hash = hash(checkKey(key));
+        return stripe(hash).remove(key, hash, expected) != NO_VALUE;
+    }
+
+    public long size() {
+        long size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size;
+        }
+        return size;
+    }
+
+    /**
+     * 모든 항목을 순회합니다. stripe 단위로 테이블을 복사한 뒤 락 밖에서 콜백을 호출하므로
+     * 순회 중에도 쓰기가 막히지 않으며, 순회 도중 변경된 항목은 반영되지 않을 수 있습니다.
+     */
+    public <E extends Exception> void forEach(Visitor<E> visitor) throws E {
+        for (Stripe stripe : stripes) {
+            long[] table;
+            long stamp = stripe.lock.readLock();
+            try {
+                table = stripe.table.clone();
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+            for (int i = 0; i < table.length; i += 2) {
+                if (table[i] != 0) {
+                    visitor.visit(table[i], table[i + 1]);
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface Visitor<E extends Exception> {
+        void visit(long key, long value) throws E;
+    }
+
+    private Stripe stripe(long hash) {
+        return stripes[stripeShift == 64 ? 0 : (int) (hash >>> stripeShift)];
+    }
+
+    private static int ceilPowerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    private static long checkKey(long key) {
+        if (key == 0) {
+            throw new IllegalArgumentException("Key 0 is reserved");
+        }
+        return key;
+    }
+
+    /**
+     * murmur3 fmix64. 상위 비트는 stripe 선택, 하위 비트는 슬롯 선택에 사용합니다.
+     */
+    private static long hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    private static final class Stripe {
+        private final StampedLock lock = new StampedLock();
+        /** 교체만 되고 길이는 항상 2의 거듭제곱 * 2. 낙관적 읽기가 하나의 참조로 일관된 배열을 보도록 키와 값을 한 배열에 둠 */
+        private volatile long[] table;
+        private volatile int size;
+        private int threshold;
+
+        private Stripe(int capacity) {
+            this.table = new long[capacity * 2];
+            this.threshold = (int) (capacity * LOAD_FACTOR);
+        }
+
+        long get(long key, long hash) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                long value = find(table, key, hash);
+                if (lock.validate(stamp)) {
+                    return value;
+                }
+            }
+            stamp = lock.readLock();
+            try {
+                return find(table, key, hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        long put(long key, long hash, long value, boolean onlyIfAbsent) {
+            long stamp = lock.writeLock();
+            try {
+                long[] current = table;
+                int mask = current.length / 2 - 1;
+                for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+                    long existing = current[slot * 2];
+                    if (existing == key) {
+                        long previous = current[slot * 2 + 1];
+                        if (!onlyIfAbsent) {
+                            current[slot * 2 + 1] = value;
+                        }
+                        return previous;
+                    }
+                    if (existing == 0) {
+                        current[slot * 2 + 1] = value;
+                        current[slot * 2] = key;
+                        if (++size > threshold) {
+                            resize();
+                        }
+                        return NO_VALUE;
+                    }
+                }
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        long remove(long key, long hash, long expected) {
+            long stamp = lock.writeLock();
+            try {
+                long[] current = table;
+                int mask = current.length / 2 - 1;
+                int slot = (int) hash & mask;
+                while (current[slot * 2] != key) {
+                    if (current[slot * 2] == 0) {
+                        return NO_VALUE;
+                    }
+                    slot = (slot + 1) & mask;
+                }
+                long previous = current[slot * 2 + 1];
+                if (expected != NO_VALUE && previous != expected) {
+                    return NO_VALUE;
+                }
+                shiftBack(current, slot, mask);
+                size--;
+                return previous;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * 선형 탐사 삭제: 툼스톤 없이 뒤따르는 항목을 빈 자리로 당겨 탐사 체인을 유지합니다.
+         */
+        private static void shiftBack(long[] table, int hole, int mask) {
+            int slot = hole;
+            while (true) {
+                slot = (slot + 1) & mask;
+                long key = table[slot * 2];
+                if (key == 0) {
+                    break;
+                }
+                int home = (int) hash(key) & mask;
+                // home 이 (hole, slot] 구간 밖이면 hole 로 옮겨도 탐사 체인이 유지됨
+                boolean movable = hole <= slot ? (home <= hole || home > slot) : (home <= hole && home > slot);
+                if (movable) {
+                    table[hole * 2] = key;
+                    table[hole * 2 + 1] = table[slot * 2 + 1];
+                    hole = slot;
+                }
+            }
+            table[hole * 2] = 0;
+            table[hole * 2 + 1] = 0;
+        }
+
+        private void resize() {
+            long[] old = table;
+            int capacity = old.length;
+            long[] next = new long[capacity * 2];
+            int mask = capacity - 1;
+            for (int i = 0; i < old.length; i += 2) {
+                long key = old[i];
+                if (key != 0) {
+                    int slot = (int) hash(key) & mask;
+                    while (next[slot * 2] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    next[slot * 2] = key;
+                    next[slot * 2 + 1] = old[i + 1];
+                }
+            }
+            threshold = (int) (capacity * LOAD_FACTOR);
+            table = next;
+        }
+
+        /**
+         * 낙관적 읽기에서는 쓰기 도중의 배열을 볼 수 있으므로 탐사 횟수를 테이블 크기로 제한합니다.
+         */
+        private static long find(long[] table, long key, long hash) {
+            int mask = table.length / 2 - 1;
+            int slot = (int) hash & mask;
+            for (int probes = 0; probes <= mask; probes++) {
+                long existing = table[slot * 2];
+                if (existing == key) {
+                    return table[slot * 2 + 1];
+                }
+                if (existing == 0) {
+                    return NO_VALUE;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return NO_VALUE;
+        }
+    }
+}
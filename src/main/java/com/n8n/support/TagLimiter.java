@@ -0,0 +1,45 @@
+package com.n8n.support;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 메트릭 태그 값의 카디널리티를 제한합니다.
+ * 처음 관측된 maxValues 개의 값은 그대로 사용하고, 이후 새 값은 {@link #OVERFLOW} 로 묶습니다.
+ */
+public class TagLimiter {
+
+    public static final String OVERFLOW = "other";
+    public static final String NONE = "none";
+
+    private final int maxValues;
+    private final Set<String> values = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger reserved = new AtomicInteger();
+
+    public TagLimiter(int maxValues) {
+        this.maxValues = maxValues;
+    }
+
+    public String limit(String value) {
+        if (value == null || value.isEmpty()) {
+            return NONE;
+        }
+        if (values.contains(value)) {
+            return value;
+        }
+        if (reserved.incrementAndGet() > maxValues) {
+            reserved.decrementAndGet();
+            return OVERFLOW;
+        }
+        if (!values.add(value)) {
+            // 다른 스레드가 같은 값을 먼저 등록함
+            reserved.decrementAndGet();
+        }
+        return value;
+    }
+
+    public int size() {
+        return values.size();
+    }
+}
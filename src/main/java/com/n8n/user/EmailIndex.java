@@ -0,0 +1,87 @@
+package com.n8n.user;
+
+import com.n8n.support.StripedLongLongMap;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongFunction;
+
+/**
+ * 이메일 -> 사용자 ID 유일 인덱스
+ *
+ * <p>정규화한 이메일의 64비트 해시를 키로 {@link StripedLongLongMap} 에 저장해 사용자마다 문자열 객체를
+ * 들고 있지 않습니다. 해시만으로는 서로 다른 이메일을 구분할 수 없으므로 조회 / 등록 시 저장된 레코드의
+ * 이메일과 비교하고, 실제 해시 충돌이 난 이메일만 별도의 일반 맵에 보관합니다.</p>
+ */
+class EmailIndex {
+
+    private final StripedLongLongMap byHash;
+    private final Map<String, Long> collisions = new ConcurrentHashMap<>();
+    /** 사용자 ID -> 저장된 레코드의 정규화된 이메일 (없으면 null) */
+    private final LongFunction<String> emailOf;
+
+    EmailIndex(int stripes, int initialCapacity, LongFunction<String> emailOf) {
+        this.byHash = new StripedLongLongMap(stripes, initialCapacity);
+        this.emailOf = emailOf;
+    }
+
+    static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @return 등록된 사용자 ID, 없으면 {@link StripedLongLongMap#NO_VALUE}
+     */
+    long find(String email) {
+        String normalized = normalize(email);
+        Long collided = collisions.get(normalized);
+        if (collided != null) {
+            return collided;
+        }
+        long id = byHash.get(hash(normalized));
+        return id != StripedLongLongMap.NO_VALUE && normalized.equals(emailOf.apply(id))
+                ? id : StripedLongLongMap.NO_VALUE;
+    }
+
+    /**
+     * 사용자 레코드가 저장된 뒤에 호출해야 다른 요청이 같은 이메일을 비교할 수 있습니다.
+     *
+     * @return 이미 다른 사용자가 같은 이메일을 쓰고 있으면 false
+     */
+    boolean add(String email, long id) {
+        String normalized = normalize(email);
+        long existing = byHash.putIfAbsent(hash(normalized), id);
+        if (existing == StripedLongLongMap.NO_VALUE || existing == id) {
+            return true;
+        }
+        if (normalized.equals(emailOf.apply(existing))) {
+            return false;
+        }
+        Long collided = collisions.putIfAbsent(normalized, id);
+        return collided == null || collided == id;
+    }
+
+    void remove(String email, long id) {
+        String normalized = normalize(email);
+        if (!collisions.remove(normalized, id)) {
+            byHash.remove(hash(normalized), id);
+        }
+    }
+
+    int collisionCount() {
+        return collisions.size();
+    }
+
+    /**
+     * 64비트 FNV-1a. 0 은 맵에서 빈 슬롯을 뜻하므로 1 로 바꿉니다.
+     */
+    private static long hash(String normalized) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < normalized.length(); i++) {
+            hash ^= normalized.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash == 0 ? 1 : hash;
+    }
+}
@@ -0,0 +1,141 @@
+package com.n8n.user;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 가변 길이 레코드를 큰 slab 버퍼에 나눠 저장하는 아레나
+ *
+ * <p>레코드 형식은 [length:int][bytes] 이며 핸들은 {@code slabIndex << 32 | offset} 입니다.
+ * offHeap 이면 slab 을 direct 버퍼로 할당해 레코드 내용이 GC 힙 밖에 놓이고, 힙 모드에서도 레코드마다
+ * 객체를 만들지 않고 slab 몇 개만 유지합니다. 공간 예약 / 반납만 락으로 직렬화하고 복사와 읽기는 락 없이 수행합니다.</p>
+ *
+ * <p>공간은 2의 거듭제곱 크기 블록 단위로 나눠 주고, 해제된 블록은 크기 등급별 free list 에 넣어 같은 등급의
+ * 다음 레코드에 재사용합니다. 생성 / 삭제가 반복되어도 사용 공간은 최대 live 크기의 약 두 배에서 멈춥니다.
+ * 해제된 블록은 곧바로 덮어써질 수 있으므로, 핸들을 공유 맵에서 읽은 쪽은 {@link #read} 후 핸들이 여전히
+ * 유효한지 다시 확인해야 합니다.</p>
+ */
+class RecordArena {
+
+    private static final int LENGTH_SIZE = Integer.BYTES;
+    private static final int MIN_BLOCK_SIZE = 16;
+
+    private final int slabSize;
+    private final boolean offHeap;
+
+    private volatile ByteBuffer[] slabs = new ByteBuffer[0];
+    private int position;
+    /** 크기 등급(log2 블록 크기)별 해제된 블록 핸들 스택 */
+    private final long[][] freeBlocks = new long[Integer.SIZE][];
+    private final int[] freeCounts = new int[Integer.SIZE];
+
+    private final AtomicLong liveBytes = new AtomicLong();
+    private final AtomicLong freeBytes = new AtomicLong();
+    private final AtomicLong reusedBlocks = new AtomicLong();
+
+    RecordArena(int slabSize, boolean offHeap) {
+        this.slabSize = slabSize;
+        this.offHeap = offHeap;
+    }
+
+    /**
+     * @return 레코드 핸들
+     * @throws IllegalArgumentException 레코드가 slab 하나보다 큰 경우
+     */
+    long write(byte[] record) {
+        int size = LENGTH_SIZE + record.length;
+        if (size > slabSize) {
+            throw new IllegalArgumentException(
+                    "Record of " + record.length + " bytes does not fit in a slab of " + slabSize);
+        }
+        long handle = reserve(sizeClass(size));
+        ByteBuffer slab = slabs[(int) (handle >>> 32)];
+        int offset = (int) handle;
+        slab.put(offset + LENGTH_SIZE, record);
+        slab.putInt(offset, record.length);
+        return handle;
+    }
+
+    /**
+     * @return 레코드, 해제 후 재사용 중인 블록을 읽어 길이가 맞지 않으면 null
+     */
+    byte[] read(long handle) {
+        ByteBuffer slab = slabs[(int) (handle >>> 32)];
+        int offset = (int) handle;
+        int length = slab.getInt(offset);
+        if (length < 0 || (long) offset + LENGTH_SIZE + length > slabSize) {
+            return null;
+        }
+        byte[] record = new byte[length];
+        slab.get(offset + LENGTH_SIZE, record);
+        return record;
+    }
+
+    /**
+     * 블록을 free list 에 반납합니다. 핸들을 공유 맵에서 제거한 쪽만 한 번 호출해야 합니다.
+     */
+    void release(long handle) {
+        int sizeClass = sizeClass(LENGTH_SIZE + slabs[(int) (handle >>> 32)].getInt((int) handle));
+        synchronized (this) {
+            long[] stack = freeBlocks[sizeClass];
+            int count = freeCounts[sizeClass];
+            if (stack == null || count == stack.length) {
+                stack = Arrays.copyOf(stack != null ? stack : new long[0], Math.max(16, count * 2));
+                freeBlocks[sizeClass] = stack;
+            }
+            stack[count] = handle;
+            freeCounts[sizeClass] = count + 1;
+        }
+        int blockSize = blockSize(sizeClass);
+        liveBytes.addAndGet(-blockSize);
+        freeBytes.addAndGet(blockSize);
+    }
+
+    Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("offHeap", offHeap);
+        stats.put("slabs", slabs.length);
+        stats.put("slabSize", slabSize);
+        stats.put("liveBytes", liveBytes.get());
+        stats.put("freeBytes", freeBytes.get());
+        stats.put("reusedBlocks", reusedBlocks.get());
+        return stats;
+    }
+
+    private synchronized long reserve(int sizeClass) {
+        int blockSize = blockSize(sizeClass);
+        liveBytes.addAndGet(blockSize);
+        int count = freeCounts[sizeClass];
+        if (count > 0) {
+            freeCounts[sizeClass] = count - 1;
+            freeBytes.addAndGet(-blockSize);
+            reusedBlocks.incrementAndGet();
+            return freeBlocks[sizeClass][count - 1];
+        }
+        ByteBuffer[] current = slabs;
+        if (current.length == 0 || position + blockSize > slabSize) {
+            ByteBuffer slab = offHeap ? ByteBuffer.allocateDirect(slabSize) : ByteBuffer.allocate(slabSize);
+            current = Arrays.copyOf(current, current.length + 1);
+            current[current.length - 1] = slab;
+            slabs = current;
+            position = 0;
+        }
+        long handle = (long) (current.length - 1) << 32 | position;
+        position += blockSize;
+        return handle;
+    }
+
+    private static int sizeClass(int size) {
+        return Integer.SIZE - Integer.numberOfLeadingZeros(Math.max(MIN_BLOCK_SIZE, size) - 1);
+    }
+
+    /**
+     * slab 보다 큰 등급은 slab 크기로 제한 (레코드 크기는 이미 slab 이하로 검사됨)
+     */
+    private int blockSize(int sizeClass) {
+        return (int) Math.min(1L << sizeClass, slabSize);
+    }
+}
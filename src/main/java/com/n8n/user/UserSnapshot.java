@@ -0,0 +1,160 @@
+package com.n8n.user;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 사용자 저장소의 메모리 매핑 스냅샷 파일
+ *
+ * <p>형식은 헤더 [magic:int][version:int][logOffset:long][maxId:long][count:long] 뒤에
+ * 레코드 [id:long][length:int][bytes] 가 이어집니다. 파일을 window 크기씩 매핑해 쓰고 읽으므로
+ * 2GB 를 넘는 스냅샷도 다룰 수 있습니다. 임시 파일에 다 쓴 뒤 원자적으로 교체하므로
+ * 쓰다 만 스냅샷이 남지 않습니다.</p>
+ */
+final class UserSnapshot {
+
+    static final String FILE_NAME = "users.snapshot";
+
+    private static final int MAGIC = 0x4E385553;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int ENTRY_HEADER_SIZE = Long.BYTES + Integer.BYTES;
+    private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+
+    /**
+     * @param logOffset 이 스냅샷 이후 재생을 시작할 변경 로그 오프셋
+     * @param maxId     스냅샷 시점까지 발급된 가장 큰 ID
+     */
+    record Header(long logOffset, long maxId, long count) {
+    }
+
+    @FunctionalInterface
+    interface Source {
+        void forEach(EntryConsumer consumer) throws IOException;
+    }
+
+    @FunctionalInterface
+    interface EntryConsumer {
+        void accept(long id, byte[] record) throws IOException;
+    }
+
+    private UserSnapshot() {
+    }
+
+    static Header write(Path directory, long logOffset, long maxId, Source source) throws IOException {
+        Path target = directory.resolve(FILE_NAME);
+        Path temp = directory.resolve(FILE_NAME + ".tmp");
+        long[] count = {0};
+        long size;
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            Window window = new Window(channel, FileChannel.MapMode.READ_WRITE, HEADER_SIZE);
+            source.forEach((id, record) -> {
+                MappedByteBuffer buffer = window.ensure(ENTRY_HEADER_SIZE + record.length);
+                int offset = window.offset();
+                buffer.putLong(offset, id);
+                buffer.putInt(offset + Long.BYTES, record.length);
+                buffer.put(offset + ENTRY_HEADER_SIZE, record);
+                window.advance(ENTRY_HEADER_SIZE + record.length);
+                count[0]++;
+            });
+            window.force();
+            size = window.position;
+
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            header.putInt(0, MAGIC);
+            header.putInt(4, VERSION);
+            header.putLong(8, logOffset);
+            header.putLong(16, maxId);
+            header.putLong(24, count[0]);
+            header.force();
+            // 마지막 window 매핑으로 늘어난 꼬리를 잘라냄
+            channel.truncate(size);
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return new Header(logOffset, maxId, count[0]);
+    }
+
+    /**
+     * @return 헤더, 스냅샷 파일이 없으면 null
+     */
+    static Header read(Path directory, EntryConsumer consumer) throws IOException {
+        Path path = directory.resolve(FILE_NAME);
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer headerBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (headerBuffer.getInt(0) != MAGIC || headerBuffer.getInt(4) != VERSION) {
+                throw new IOException("Not a user snapshot: " + path);
+            }
+            Header header = new Header(headerBuffer.getLong(8), headerBuffer.getLong(16), headerBuffer.getLong(24));
+
+            Window window = new Window(channel, FileChannel.MapMode.READ_ONLY, HEADER_SIZE);
+            for (long i = 0; i < header.count(); i++) {
+                MappedByteBuffer buffer = window.ensure(ENTRY_HEADER_SIZE);
+                long id = buffer.getLong(window.offset());
+                int length = buffer.getInt(window.offset() + Long.BYTES);
+                buffer = window.ensure(ENTRY_HEADER_SIZE + length);
+                byte[] record = new byte[length];
+                buffer.get(window.offset() + ENTRY_HEADER_SIZE, record);
+                window.advance(ENTRY_HEADER_SIZE + length);
+                consumer.accept(id, record);
+            }
+            return header;
+        }
+    }
+
+    /**
+     * 파일의 현재 위치를 포함하는 매핑 구간. 요청한 크기가 남은 구간에 들어가지 않으면 현재 위치부터 다시 매핑합니다.
+     */
+    private static final class Window {
+        private final FileChannel channel;
+        private final FileChannel.MapMode mode;
+        private MappedByteBuffer buffer;
+        private long start;
+        private long position;
+
+        private Window(FileChannel channel, FileChannel.MapMode mode, long position) {
+            this.channel = channel;
+            this.mode = mode;
+            this.position = position;
+        }
+
+        MappedByteBuffer ensure(int size) throws IOException {
+            if (buffer == null || position + size > start + buffer.capacity()) {
+                force();
+                long length = Math.max(WINDOW_SIZE, size);
+                if (mode == FileChannel.MapMode.READ_ONLY) {
+                    length = Math.min(length, channel.size() - position);
+                    if (length < size) {
+                        throw new IOException("Truncated user snapshot at " + position);
+                    }
+                }
+                buffer = channel.map(mode, position, length);
+                start = position;
+            }
+            return buffer;
+        }
+
+        int offset() {
+            return (int) (position - start);
+        }
+
+        void advance(int size) {
+            position += size;
+        }
+
+        void force() {
+            if (buffer != null && mode == FileChannel.MapMode.READ_WRITE) {
+                buffer.force();
+            }
+        }
+    }
+}
@@ -0,0 +1,416 @@
+package com.n8n.user;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.n8n.config.PublicApiConfig;
+import com.n8n.queue.SegmentLog;
+import com.n8n.support.StripedLongLongMap;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * /api/public/users 의 프로세스 내 사용자 저장소
+ *
+ * <p>ID 는 락 없는 시퀀스(AtomicLong)로 발급하고, ID -> 레코드 핸들을 {@link StripedLongLongMap} 에,
+ * 레코드(JSON 바이트)는 {@link RecordArena} 의 slab 에 저장합니다. offHeap 설정 시 레코드가 GC 힙 밖에 놓여
+ * 사용자가 수백만 명이어도 GC 가 추적할 객체 수가 늘지 않습니다. 삭제된 레코드 공간은 아레나가 재사용합니다.
+ * 이메일은 {@link EmailIndex} 로 유일성을 보장합니다.</p>
+ *
+ * <p>영속화를 켜면 변경을 메모리에 먼저 반영한 뒤 {@link SegmentLog} 변경 로그에 기록하고, 주기적으로 전체를
+ * 메모리 매핑 스냅샷으로 저장한 뒤 스냅샷 이전 로그 세그먼트를 삭제합니다. 재시작 시에는 스냅샷을 적재하고
+ * 스냅샷이 기록한 로그 오프셋부터 재생합니다. 반영 후 기록하는 순서 덕분에 스냅샷 도중의 변경도
+ * 스냅샷 또는 재생 중 적어도 한쪽에 포함되며, 재생은 멱등입니다.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserStore {
+
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT = new TypeReference<>() {
+    };
+    private static final byte OP_PUT = 1;
+    private static final byte OP_DELETE = 2;
+    private static final int REPLAY_BATCH = 1024;
+
+    private final ObjectMapper objectMapper;
+    private final PublicApiConfig publicApiConfig;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong deleted = new AtomicLong();
+    private final AtomicLong snapshots = new AtomicLong();
+    /** 생성 중이라 아직 ID -> 핸들이 공개되지 않은 사용자의 정규화된 이메일 (이메일 비교용) */
+    private final Map<Long, String> pendingEmails = new ConcurrentHashMap<>();
+
+    private StripedLongLongMap users;
+    private RecordArena arena;
+    private EmailIndex emailIndex;
+
+    private Path directory;
+    private SegmentLog changeLog;
+    private ScheduledExecutorService scheduler;
+    private volatile long snapshotLogOffset;
+    private volatile long lastSnapshotAt;
+    private volatile long lastSnapshotMillis;
+
+    /**
+     * 이미 다른 사용자가 같은 이메일을 사용 중일 때 발생합니다.
+     */
+    public static class DuplicateEmailException extends IllegalStateException {
+        public DuplicateEmailException(String email) {
+            super("Email already registered: " + email);
+        }
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        PublicApiConfig.UsersConfig config = publicApiConfig.getUsers();
+        users = new StripedLongLongMap(config.getStripes(), config.getInitialCapacity());
+        arena = new RecordArena((int) config.getSlabSize().toBytes(), config.isOffHeap());
+        emailIndex = new EmailIndex(config.getStripes(), config.getInitialCapacity(), this::storedEmail);
+
+        PublicApiConfig.UserPersistenceConfig persistence = config.getPersistence();
+        if (!persistence.isEnabled()) {
+            return;
+        }
+        directory = Path.of(persistence.getDirectory());
+        Files.createDirectories(directory);
+        recover(persistence);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-store-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long flushMillis = persistence.getFlushInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::maintain, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        snapshot();
+        changeLog.close();
+    }
+
+    /**
+     * 사용자를 생성합니다. id / createdAt / status 는 저장소가 채웁니다.
+     *
+     * @throws DuplicateEmailException       같은 이메일이 이미 등록된 경우
+     * @throws IllegalArgumentException      레코드가 slab 크기를 넘는 경우
+     * @throws SegmentLog.LogFullException 변경 로그가 가득 찬 경우 (다음 스냅샷 이후 해소)
+     */
+    public Map<String, Object> create(Map<String, Object> userData) throws IOException {
+        long id = sequence.incrementAndGet();
+        Map<String, Object> user = new LinkedHashMap<>(userData);
+        user.put("id", id);
+        user.put("createdAt", LocalDateTime.now());
+        user.put("status", "active");
+
+        byte[] record = objectMapper.writeValueAsBytes(user);
+        long handle = arena.write(record);
+
+        // ID -> 핸들을 공개하기 전에 이메일을 선점해야 중복 사용자가 조회 / 스냅샷에 잠시라도 보이지 않음
+        String email = user.get("email") instanceof String value ? value : null;
+        if (email != null) {
+            pendingEmails.put(id, EmailIndex.normalize(email));
+            if (!emailIndex.add(email, id)) {
+                pendingEmails.remove(id);
+                arena.release(handle);
+                throw new DuplicateEmailException(email);
+            }
+        }
+        users.put(id, handle);
+        if (email != null) {
+            pendingEmails.remove(id);
+        }
+
+        try {
+            appendLog(OP_PUT, id, record);
+        } catch (IOException | RuntimeException e) {
+            if (email != null) {
+                emailIndex.remove(email, id);
+            }
+            users.remove(id, handle);
+            arena.release(handle);
+            throw e;
+        }
+        created.incrementAndGet();
+        return user;
+    }
+
+    public Optional<Map<String, Object>> get(long id) {
+        if (id <= 0) {
+            return Optional.empty();
+        }
+        byte[] record = readRecord(id);
+        return record == null ? Optional.empty() : Optional.of(decode(record));
+    }
+
+    public Optional<Map<String, Object>> findByEmail(String email) {
+        long id = emailIndex.find(email);
+        return id == StripedLongLongMap.NO_VALUE ? Optional.empty() : get(id);
+    }
+
+    /**
+     * @return 사용자가 있어 삭제했으면 true
+     */
+    public boolean delete(long id) throws IOException {
+        if (id <= 0) {
+            return false;
+        }
+        long handle = users.remove(id);
+        if (handle == StripedLongLongMap.NO_VALUE) {
+            return false;
+        }
+        try {
+            appendLog(OP_DELETE, id, new byte[0]);
+        } catch (IOException | RuntimeException e) {
+            users.put(id, handle);
+            throw e;
+        }
+        String email = emailOf(arena.read(handle));
+        if (email != null) {
+            emailIndex.remove(email, id);
+        }
+        arena.release(handle);
+        deleted.incrementAndGet();
+        return true;
+    }
+
+    public long size() {
+        return users.size();
+    }
+
+    /**
+     * 전체 사용자를 스냅샷으로 저장하고 스냅샷 이전의 로그 세그먼트를 삭제합니다.
+     */
+    public synchronized void snapshot() throws IOException {
+        if (changeLog == null) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        // 오프셋을 먼저 잡아야 순회 중 반영된 변경이 재생 범위에 포함됨
+        long logOffset = changeLog.endOffset();
+        UserSnapshot.Header header = UserSnapshot.write(directory, logOffset, sequence.get(),
+                consumer -> users.forEach((id, handle) -> {
+                    // 복제한 테이블의 핸들은 그 사이 삭제되어 재사용되었을 수 있으므로 현재 매핑으로 다시 읽음
+                    byte[] record = readRecord(id);
+                    if (record != null) {
+                        consumer.accept(id, record);
+                    }
+                }));
+        changeLog.commit(logOffset);
+        changeLog.compact();
+
+        snapshotLogOffset = logOffset;
+        lastSnapshotAt = System.currentTimeMillis();
+        lastSnapshotMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        snapshots.incrementAndGet();
+        log.debug("User snapshot written: {} users in {} ms", header.count(), lastSnapshotMillis);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("users", users.size());
+        stats.put("lastId", sequence.get());
+        stats.put("created", created.get());
+        stats.put("deleted", deleted.get());
+        stats.put("emailHashCollisions", emailIndex.collisionCount());
+        stats.put("storage", arena.stats());
+        stats.put("persistence", changeLog != null);
+        if (changeLog != null) {
+            stats.put("snapshots", snapshots.get());
+            stats.put("lastSnapshotAt", lastSnapshotAt);
+            stats.put("lastSnapshotMillis", lastSnapshotMillis);
+            stats.put("logBytesSinceSnapshot", changeLog.endOffset() - snapshotLogOffset);
+            stats.put("logSegments", changeLog.segmentCount());
+        }
+        return stats;
+    }
+
+    private void recover(PublicApiConfig.UserPersistenceConfig persistence) throws IOException {
+        long startedAt = System.nanoTime();
+        AtomicLong maxId = new AtomicLong();
+        UserSnapshot.Header header = UserSnapshot.read(directory, (id, record) -> {
+            apply(id, record);
+            maxId.accumulateAndGet(id, Math::max);
+        });
+
+        changeLog = SegmentLog.open(directory.resolve("log"),
+                (int) persistence.getSegmentSize().toBytes(), persistence.getMaxSegments());
+        long offset = header != null ? header.logOffset() : changeLog.committedOffset();
+        if (header != null) {
+            maxId.accumulateAndGet(header.maxId(), Math::max);
+        }
+        snapshotLogOffset = offset;
+
+        long replayed = 0;
+        List<SegmentLog.Entry> entries;
+        while (!(entries = changeLog.read(offset, REPLAY_BATCH)).isEmpty()) {
+            for (SegmentLog.Entry entry : entries) {
+                ByteBuffer payload = ByteBuffer.wrap(entry.payload());
+                byte op = payload.get();
+                long id = payload.getLong();
+                if (op == OP_PUT) {
+                    byte[] record = new byte[payload.remaining()];
+                    payload.get(record);
+                    apply(id, record);
+                    maxId.accumulateAndGet(id, Math::max);
+                } else if (op == OP_DELETE) {
+                    remove(id);
+                }
+                replayed++;
+            }
+            offset = entries.get(entries.size() - 1).nextOffset();
+        }
+        sequence.set(maxId.get());
+        lastSnapshotAt = System.currentTimeMillis();
+
+        log.info("User store recovered: {} users (snapshot={}, replayed {} log entries) in {} ms",
+                users.size(), header != null ? header.count() : 0, replayed,
+                (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    /**
+     * 복구 중 레코드를 반영합니다. 같은 ID 가 있으면 교체합니다.
+     */
+    private void apply(long id, byte[] record) {
+        long handle = arena.write(record);
+        long previous = users.put(id, handle);
+        if (previous != StripedLongLongMap.NO_VALUE) {
+            String email = emailOf(arena.read(previous));
+            if (email != null) {
+                emailIndex.remove(email, id);
+            }
+            arena.release(previous);
+        }
+        String email = emailOf(record);
+        if (email != null && !emailIndex.add(email, id)) {
+            log.warn("Duplicate email while recovering user {}", id);
+        }
+    }
+
+    private void remove(long id) {
+        long handle = users.remove(id);
+        if (handle != StripedLongLongMap.NO_VALUE) {
+            String email = emailOf(arena.read(handle));
+            if (email != null) {
+                emailIndex.remove(email, id);
+            }
+            arena.release(handle);
+        }
+    }
+
+    private void maintain() {
+        PublicApiConfig.UserPersistenceConfig persistence = publicApiConfig.getUsers().getPersistence();
+        try {
+            changeLog.flush();
+            boolean due = System.currentTimeMillis() - lastSnapshotAt >= persistence.getSnapshotInterval().toMillis();
+            boolean logFull = changeLog.endOffset() - snapshotLogOffset >= persistence.getSnapshotLogSize().toBytes();
+            if (due || logFull) {
+                snapshot();
+            }
+        } catch (Exception e) {
+            log.error("User store maintenance failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void appendLog(byte op, long id, byte[] record) throws IOException {
+        if (changeLog == null) {
+            return;
+        }
+        changeLog.append(ByteBuffer.allocate(1 + Long.BYTES + record.length)
+                .put(op)
+                .putLong(id)
+                .put(record)
+                .array());
+    }
+
+    private Map<String, Object> decode(byte[] record) {
+        try {
+            return objectMapper.readValue(record, JSON_OBJECT);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String storedEmail(long id) {
+        String pending = pendingEmails.get(id);
+        if (pending != null) {
+            return pending;
+        }
+        byte[] record = readRecord(id);
+        if (record == null) {
+            return null;
+        }
+        String email = emailOf(record);
+        return email != null ? EmailIndex.normalize(email) : null;
+    }
+
+    /**
+     * 락 없이 레코드를 읽습니다. 읽는 사이 삭제되어 블록이 재사용되었을 수 있으므로
+     * 읽은 뒤에도 같은 핸들이 매핑되어 있을 때만 결과를 씁니다.
+     *
+     * @return 레코드, 사용자가 없으면 null
+     */
+    private byte[] readRecord(long id) {
+        while (true) {
+            long handle = users.get(id);
+            if (handle == StripedLongLongMap.NO_VALUE) {
+                return null;
+            }
+            byte[] record = arena.read(handle);
+            if (users.get(id) == handle && record != null) {
+                return record;
+            }
+        }
+    }
+
+    /**
+     * 레코드 전체를 Map 으로 만들지 않고 최상위 email 필드만 토큰 단위로 찾습니다.
+     */
+    private String emailOf(byte[] record) {
+        try (JsonParser parser = objectMapper.createParser(record)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("email".equals(field)) {
+                    return value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                }
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.n8n.validation;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 컴파일된 규칙 집합
+ *
+ * <p>정규식은 등록 시점에 한 번 컴파일되고 필드별 검사기는 배열로 고정되므로,
+ * 레코드 검증은 필드 조회와 검사기 호출만 수행합니다. 불변 객체라 여러 스레드에서 동시에 사용할 수 있습니다.</p>
+ */
+public final class CompiledRuleSet {
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    private final String name;
+    private final CompiledField[] fields;
+
+    private CompiledRuleSet(String name, CompiledField[] fields) {
+        this.name = name;
+        this.fields = fields;
+    }
+
+    /**
+     * 규칙을 컴파일합니다.
+     *
+     * @throws IllegalArgumentException 알 수 없는 타입이거나 정규식이 잘못된 경우
+     */
+    public static CompiledRuleSet compile(String name, List<FieldRule> rules) {
+        CompiledField[] fields = new CompiledField[rules.size()];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = compile(rules.get(i));
+        }
+        return new CompiledRuleSet(name, fields);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public RecordValidation validate(Map<String, Object> record, long index) {
+        List<FieldError> errors = null;
+        for (CompiledField field : fields) {
+            FieldError error = field.validate(record.get(field.name()));
+            if (error != null) {
+                if (errors == null) {
+                    errors = new ArrayList<>(2);
+                }
+                errors.add(error);
+            }
+        }
+        return errors == null ? RecordValidation.passed(index) : new RecordValidation(index, false, errors);
+    }
+
+    private static CompiledField compile(FieldRule rule) {
+        if (rule.getField() == null || rule.getField().isBlank()) {
+            throw new IllegalArgumentException("Rule without field name");
+        }
+        String field = rule.getField();
+        List<Check> checks = new ArrayList<>();
+
+        if (rule.getType() != null) {
+            checks.add(typeCheck(field, rule.getType().toLowerCase(Locale.ROOT)));
+        }
+        if (rule.getPattern() != null) {
+            Pattern pattern = Pattern.compile(rule.getPattern());
+            checks.add(value -> pattern.matcher(value.toString()).matches()
+                    ? null : new FieldError(field, "pattern", "must match " + pattern.pattern()));
+        }
+        if (rule.getMin() != null) {
+            double min = rule.getMin();
+            checks.add(value -> value instanceof Number number && number.doubleValue() < min
+                    ? new FieldError(field, "min", "must be >= " + min) : null);
+        }
+        if (rule.getMax() != null) {
+            double max = rule.getMax();
+            checks.add(value -> value instanceof Number number && number.doubleValue() > max
+                    ? new FieldError(field, "max", "must be <= " + max) : null);
+        }
+        if (rule.getMinLength() != null) {
+            int minLength = rule.getMinLength();
+            checks.add(value -> value instanceof CharSequence text && text.length() < minLength
+                    ? new FieldError(field, "minLength", "length must be >= " + minLength) : null);
+        }
+        if (rule.getMaxLength() != null) {
+            int maxLength = rule.getMaxLength();
+            checks.add(value -> value instanceof CharSequence text && text.length() > maxLength
+                    ? new FieldError(field, "maxLength", "length must be <= " + maxLength) : null);
+        }
+        return new CompiledField(field, rule.isRequired(), checks.toArray(Check[]::new));
+    }
+
+    private static Check typeCheck(String field, String type) {
+        return switch (type) {
+            case "any" -> value -> null;
+            case "string" -> value -> value instanceof String ? null : typeError(field, type);
+            case "number" -> value -> value instanceof Number ? null : typeError(field, type);
+            case "integer" -> value -> isInteger(value) ? null : typeError(field, type);
+            case "boolean" -> value -> value instanceof Boolean ? null : typeError(field, type);
+            case "object" -> value -> value instanceof Map<?, ?> ? null : typeError(field, type);
+            case "array" -> value -> value instanceof List<?> ? null : typeError(field, type);
+            case "email" -> value -> value instanceof String text && EMAIL.matcher(text).matches()
+                    ? null : new FieldError(field, "type", "must be a valid email");
+            default -> throw new IllegalArgumentException("Unknown type '" + type + "' for field " + field);
+        };
+    }
+
+    private static boolean isInteger(Object value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short
+                || value instanceof Byte || value instanceof BigInteger) {
+            return true;
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.stripTrailingZeros().scale() <= 0;
+        }
+        return value instanceof Double number && number == Math.rint(number) && !Double.isInfinite(number);
+    }
+
+    private static FieldError typeError(String field, String type) {
+        return new FieldError(field, "type", "must be " + type);
+    }
+
+    @FunctionalInterface
+    private interface Check {
+        FieldError apply(Object value);
+    }
+
+    private record CompiledField(String name, boolean required, Check[] checks) {
+
+        FieldError validate(Object value) {
+            if (value == null) {
+                return required ? new FieldError(name, "required", "is required") : null;
+            }
+            // 타입 검사가 실패하면 이후 검사는 의미가 없으므로 첫 실패에서 멈춤
+            for (Check check : checks) {
+                FieldError error = check.apply(value);
+                if (error != null) {
+                    return error;
+                }
+            }
+            return null;
+        }
+    }
+}
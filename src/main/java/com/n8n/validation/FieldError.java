@@ -0,0 +1,9 @@
+package com.n8n.validation;
+
+/**
+ * @param field   필드 이름
+ * @param rule    실패한 규칙 (required, type, pattern, min, max, minLength, maxLength, json)
+ * @param message 설명
+ */
+public record FieldError(String field, String rule, String message) {
+}
@@ -0,0 +1,29 @@
+package com.n8n.validation;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 필드 하나에 대한 검증 규칙 정의 (설정 / 등록용)
+ * {@link ValidationEngine} 이 등록 시점에 한 번 {@link CompiledRuleSet} 으로 컴파일합니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FieldRule {
+    private String field;
+    private boolean required;
+    /** string, number, integer, boolean, email, object, array (생략 시 타입 검사 안 함) */
+    private String type;
+    /** 값 전체가 일치해야 하는 정규식 */
+    private String pattern;
+    /** 숫자 최솟값 / 최댓값 */
+    private Double min;
+    private Double max;
+    /** 문자열 최소 / 최대 길이 */
+    private Integer minLength;
+    private Integer maxLength;
+}
@@ -0,0 +1,44 @@
+package com.n8n.validation;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * InputStream 에서 NDJSON 줄을 하나씩 읽습니다. 한 줄이 maxLineBytes 를 넘으면 끝까지 읽지 않고 실패합니다.
+ */
+class NdjsonLineReader {
+
+    private final InputStream in;
+    private final int maxLineBytes;
+    private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+
+    NdjsonLineReader(InputStream in, int maxLineBytes) {
+        this.in = new BufferedInputStream(in);
+        this.maxLineBytes = maxLineBytes;
+    }
+
+    /**
+     * @return 다음 줄 (줄바꿈 / CR 제외), 스트림이 끝나면 null
+     * @throws ValidationEngine.LimitExceededException 줄이 maxLineBytes 를 넘는 경우
+     */
+    String next() throws IOException {
+        line.reset();
+        int b;
+        while ((b = in.read()) != -1 && b != '\n') {
+            if (line.size() >= maxLineBytes) {
+                throw new ValidationEngine.LimitExceededException(
+                        "NDJSON line exceeds " + maxLineBytes + " bytes");
+            }
+            line.write(b);
+        }
+        if (b == -1 && line.size() == 0) {
+            return null;
+        }
+        byte[] bytes = line.toByteArray();
+        int length = bytes.length > 0 && bytes[bytes.length - 1] == '\r' ? bytes.length - 1 : bytes.length;
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+}
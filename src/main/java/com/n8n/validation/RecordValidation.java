@@ -0,0 +1,17 @@
+package com.n8n.validation;
+
+import java.util.List;
+
+/**
+ * 레코드 하나의 검증 결과
+ *
+ * @param index  요청 내 레코드 순번 (0부터)
+ * @param valid  모든 규칙 통과 여부
+ * @param errors 실패한 규칙 목록 (통과하면 비어 있음)
+ */
+public record RecordValidation(long index, boolean valid, List<FieldError> errors) {
+
+    static RecordValidation passed(long index) {
+        return new RecordValidation(index, true, List.of());
+    }
+}
@@ -0,0 +1,174 @@
+package com.n8n.validation;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.n8n.config.PublicApiConfig;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.function.Tuple2;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * 이름으로 등록된 규칙 집합을 컴파일해 보관하고 레코드 배치를 병렬로 검증하는 엔진
+ *
+ * <p>규칙은 등록 시점에 한 번만 컴파일되며 이후 요청은 컴파일된 {@link CompiledRuleSet} 을 공유합니다.
+ * JSON 배열은 ForkJoin 공용 풀에서 레코드 단위로, NDJSON 은 본문을 읽는 대로 청크 단위로 parallel 스케줄러에서
+ * 파싱과 검증을 함께 수행하되 결과는 입력 순서대로 내보냅니다.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ValidationEngine {
+
+    public static final String DEFAULT_RULE_SET = "default";
+
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT = new TypeReference<>() {
+    };
+
+    private final PublicApiConfig publicApiConfig;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, CompiledRuleSet> ruleSets = new ConcurrentHashMap<>();
+
+    /**
+     * 스트리밍 검증 중 레코드 수 / 줄 크기 제한을 넘었을 때 발생합니다.
+     */
+    public static class LimitExceededException extends IllegalStateException {
+        public LimitExceededException(String message) {
+            super(message);
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        publicApiConfig.getValidation().getRuleSets().forEach(this::register);
+        // 설정이 없어도 기존 /validate 의 이메일 검사는 유지
+        ruleSets.computeIfAbsent(DEFAULT_RULE_SET, name -> CompiledRuleSet.compile(name,
+                List.of(FieldRule.builder().field("email").type("email").build())));
+        log.info("Validation rule sets registered: {}", ruleSets.keySet());
+    }
+
+    /**
+     * 규칙 집합을 컴파일해 등록합니다. 같은 이름이 있으면 교체합니다.
+     *
+     * @throws IllegalArgumentException 규칙이 잘못된 경우 (기존 등록은 유지)
+     */
+    public CompiledRuleSet register(String name, List<FieldRule> rules) {
+        CompiledRuleSet compiled = CompiledRuleSet.compile(name, rules);
+        ruleSets.put(name, compiled);
+        return compiled;
+    }
+
+    public Optional<CompiledRuleSet> find(String name) {
+        return Optional.ofNullable(ruleSets.get(name));
+    }
+
+    public Set<String> ruleSetNames() {
+        return Set.copyOf(ruleSets.keySet());
+    }
+
+    /**
+     * 레코드 목록을 병렬로 검증합니다.
+     *
+     * @return 입력 순서와 같은 순서의 결과
+     */
+    public List<RecordValidation> validateAll(CompiledRuleSet ruleSet, List<Map<String, Object>> records,
+                                              ValidationStats stats) {
+        RecordValidation[] results = new RecordValidation[records.size()];
+        IntStream.range(0, results.length).parallel().forEach(i -> {
+            RecordValidation result = ruleSet.validate(records.get(i), i);
+            stats.add(result);
+            results[i] = result;
+        });
+        return Arrays.asList(results);
+    }
+
+    /**
+     * 요청 본문을 NDJSON 줄 스트림으로 읽습니다 (서블릿 모드용). 읽기는 boundedElastic 에서 하위 요청만큼만 수행합니다.
+     *
+     * @param maxLineBytes 한 줄의 최대 크기, 넘으면 {@link LimitExceededException}
+     */
+    public static Flux<String> ndjsonLines(InputStream in, int maxLineBytes) {
+        return Flux.<String, NdjsonLineReader>generate(() -> new NdjsonLineReader(in, maxLineBytes), (reader, sink) -> {
+                    try {
+                        String line = reader.next();
+                        if (line == null) {
+                            sink.complete();
+                        } else {
+                            sink.next(line);
+                        }
+                    } catch (IOException e) {
+                        sink.error(e);
+                    }
+                    return reader;
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * NDJSON 레코드 줄을 읽는 대로 청크로 묶어 코어 수만큼 병렬로 파싱 / 검증합니다. 빈 줄은 건너뜁니다.
+     * 메모리에는 진행 중인 청크만 올라오며, maxRecords 를 넘는 줄을 만나면 더 읽지 않고
+     * {@link LimitExceededException} 으로 끝납니다. 파싱할 수 없는 줄은 {@code _record} 필드의 json 규칙 실패로 보고합니다.
+     *
+     * @return 입력 순서대로 정렬된 결과 스트림
+     */
+    public Flux<RecordValidation> validateNdjson(CompiledRuleSet ruleSet, Flux<String> lines, ValidationStats stats) {
+        int chunkSize = publicApiConfig.getValidation().getChunkSize();
+        int maxRecords = maxRecords();
+
+        return lines.filter(line -> !line.isBlank())
+                .index()
+                .<Tuple2<Long, String>>handle((line, sink) -> {
+                    if (line.getT1() >= maxRecords) {
+                        sink.error(new LimitExceededException("Too many records (max " + maxRecords + ")"));
+                    } else {
+                        sink.next(line);
+                    }
+                })
+                .buffer(chunkSize)
+                .flatMapSequential(chunk -> Mono.fromCallable(() -> {
+                    RecordValidation[] results = new RecordValidation[chunk.size()];
+                    for (int i = 0; i < results.length; i++) {
+                        Tuple2<Long, String> line = chunk.get(i);
+                        RecordValidation result = validateLine(ruleSet, line.getT2(), line.getT1());
+                        stats.add(result);
+                        results[i] = result;
+                    }
+                    return Arrays.asList(results);
+                }).subscribeOn(Schedulers.parallel()), Schedulers.DEFAULT_POOL_SIZE)
+                .flatMapIterable(results -> results);
+    }
+
+    public int maxRecords() {
+        return publicApiConfig.getValidation().getMaxRecords();
+    }
+
+    public int maxLineBytes() {
+        return (int) publicApiConfig.getValidation().getMaxLineSize().toBytes();
+    }
+
+    private RecordValidation validateLine(CompiledRuleSet ruleSet, String line, long index) {
+        Map<String, Object> record;
+        try {
+            record = objectMapper.readValue(line, JSON_OBJECT);
+        } catch (IOException e) {
+            return new RecordValidation(index, false,
+                    List.of(new FieldError("_record", "json", "is not a JSON object")));
+        }
+        return ruleSet.validate(record, index);
+    }
+}
@@ -0,0 +1,51 @@
+package com.n8n.validation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 검증 결과 집계 (여러 스레드에서 동시에 add 가능)
+ */
+public final class ValidationStats {
+
+    private final long startedAt = System.nanoTime();
+    private final LongAdder total = new LongAdder();
+    private final LongAdder valid = new LongAdder();
+    private final Map<String, LongAdder> errorsByField = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errorsByRule = new ConcurrentHashMap<>();
+
+    public void add(RecordValidation result) {
+        total.increment();
+        if (result.valid()) {
+            valid.increment();
+            return;
+        }
+        for (FieldError error : result.errors()) {
+            errorsByField.computeIfAbsent(error.field(), key -> new LongAdder()).increment();
+            errorsByRule.computeIfAbsent(error.rule(), key -> new LongAdder()).increment();
+        }
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long count = total.sum();
+        long passed = valid.sum();
+        stats.put("total", count);
+        stats.put("valid", passed);
+        stats.put("invalid", count - passed);
+        stats.put("validRatio", count == 0 ? 1.0 : passed / (double) count);
+        stats.put("errorsByField", sums(errorsByField));
+        stats.put("errorsByRule", sums(errorsByRule));
+        stats.put("elapsedMillis", (System.nanoTime() - startedAt) / 1_000_000);
+        return stats;
+    }
+
+    private static Map<String, Long> sums(Map<String, LongAdder> counters) {
+        Map<String, Long> result = new TreeMap<>();
+        counters.forEach((key, count) -> result.put(key, count.sum()));
+        return result;
+    }
+}
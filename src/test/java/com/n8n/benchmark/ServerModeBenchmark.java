@@ -0,0 +1,125 @@
+package com.n8n.benchmark;
+
+import com.n8n.N8nApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * servlet(Tomcat) 모드와 reactive(Netty) 모드의 처리량 / p99 지연시간 비교
+ *
+ * <p>기본 test 태스크에서는 제외되며 {@code ./gradlew serverModeBenchmark} 로 실행합니다.
+ * 각 모드를 임의 포트로 기동한 뒤 동시 사용자(closed-model) 부하로 공개 API 를 호출합니다.
+ * 동시 사용자 수와 측정 시간은 -Dbenchmark.concurrency / -Dbenchmark.duration 으로 조정할 수 있습니다.</p>
+ */
+@Tag("benchmark")
+class ServerModeBenchmark {
+
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 64);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("benchmark.warmup", 5));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("benchmark.duration", 15));
+
+    private static final String CALCULATE_BODY = "{\"operation\":\"multiply\",\"num1\":12.5,\"num2\":4}";
+
+    @Test
+    void compareServletAndReactiveModes() throws Exception {
+        List<String> report = new ArrayList<>();
+        for (WebApplicationType type : List.of(WebApplicationType.SERVLET, WebApplicationType.REACTIVE)) {
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(N8nApplication.class)
+                    .web(type)
+                    .properties("server.port=0", "logging.level.com.n8n=WARN")
+                    .run()) {
+                int port = Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+                report.add(run(type + " GET /api/public/health",
+                        HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/public/health"))
+                                .GET().build()));
+                report.add(run(type + " POST /api/public/calculate",
+                        HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/public/calculate"))
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString(CALCULATE_BODY)).build()));
+            }
+        }
+
+        System.out.printf("%n%-40s %12s %10s %10s %10s%n", "scenario", "req/s", "p50(ms)", "p99(ms)", "errors");
+        report.forEach(System.out::println);
+    }
+
+    private String run(String name, HttpRequest request) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        drive(client, request, WARMUP);
+        Result result = drive(client, request, DURATION);
+
+        long[] latencies = result.latencies();
+        Arrays.sort(latencies);
+        return String.format("%-40s %12.1f %10.2f %10.2f %10d",
+                name,
+                latencies.length / (double) DURATION.toSeconds(),
+                percentile(latencies, 0.50) / 1_000_000.0,
+                percentile(latencies, 0.99) / 1_000_000.0,
+                result.errors());
+    }
+
+    private Result drive(HttpClient client, HttpRequest request, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Result>> workers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CONCURRENCY; i++) {
+                workers.add(executor.submit(() -> {
+                    long[] samples = new long[1 << 16];
+                    int count = 0;
+                    long errors = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        long elapsed = System.nanoTime() - start;
+                        if (response.statusCode() != 200) {
+                            errors++;
+                        }
+                        if (count == samples.length) {
+                            samples = Arrays.copyOf(samples, samples.length * 2);
+                        }
+                        samples[count++] = elapsed;
+                    }
+                    return new Result(Arrays.copyOf(samples, count), errors);
+                }));
+            }
+        }
+
+        long errors = 0;
+        List<long[]> all = new ArrayList<>();
+        for (Future<Result> worker : workers) {
+            Result result = worker.get();
+            all.add(result.latencies());
+            errors += result.errors();
+        }
+        return new Result(all.stream().flatMapToLong(Arrays::stream).toArray(), errors);
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+    private record Result(long[] latencies, long errors) {
+    }
+}
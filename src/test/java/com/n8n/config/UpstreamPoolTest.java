@@ -0,0 +1,237 @@
+package com.n8n.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UpstreamPoolTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void singleNodePoolIsNotBalanced() {
+        UpstreamPool pool = pool(new N8nConfig.BalancerConfig(), "http://n8n-1:5678/");
+
+        assertThat(pool.isBalanced()).isFalse();
+        assertThat(pool.nodes()).hasSize(1);
+    }
+
+    @Test
+    void powerOfTwoChoicesAvoidsBusyNode() {
+        UpstreamPool pool = pool(new N8nConfig.BalancerConfig(), "http://n8n-1:5678", "http://n8n-2:5678");
+        UpstreamPool.Node busy = pool.nodes()[0];
+        for (int i = 0; i < 10; i++) {
+            busy.begin();
+        }
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(pool.select(null)).isSameAs(pool.nodes()[1]);
+        }
+    }
+
+    @Test
+    void leastOutstandingPicksIdlestNode() {
+        N8nConfig.BalancerConfig config = new N8nConfig.BalancerConfig();
+        config.setStrategy(N8nConfig.BalancerConfig.Strategy.LEAST_OUTSTANDING);
+        UpstreamPool pool = pool(config, "http://n8n-1:5678", "http://n8n-2:5678", "http://n8n-3:5678");
+        pool.nodes()[0].begin();
+        pool.nodes()[2].begin();
+
+        assertThat(pool.select(null)).isSameAs(pool.nodes()[1]);
+    }
+
+    @Test
+    void stickyKeysStayOnOneNodeAndSpreadAcrossNodes() {
+        UpstreamPool pool = pool(new N8nConfig.BalancerConfig(), "http://n8n-1:5678", "http://n8n-2:5678",
+                "http://n8n-3:5678");
+        Set<UpstreamPool.Node> used = new HashSet<>();
+
+        for (int id = 1; id <= 100; id++) {
+            UpstreamPool.Node node = pool.select("execution-" + id);
+            // 고정 라우팅은 노드 부하와 관계없음
+            pool.nodes()[0].begin();
+            assertThat(pool.select("execution-" + id)).isSameAs(node);
+            used.add(node);
+        }
+
+        assertThat(used).hasSize(3);
+    }
+
+    @Test
+    void ejectsNodeAfterConsecutiveFailuresUntilEjectionTimeEnds() {
+        UpstreamPool pool = pool(new N8nConfig.BalancerConfig(), "http://n8n-1:5678", "http://n8n-2:5678");
+        UpstreamPool.Node failing = pool.nodes()[0];
+
+        for (int i = 0; i < 5; i++) {
+            pool.record(failing, true);
+        }
+
+        assertThat(failing.isEjected(now.get())).isTrue();
+        for (int i = 0; i < 20; i++) {
+            assertThat(pool.select("execution-" + i)).isSameAs(pool.nodes()[1]);
+        }
+
+        now.addAndGet(Duration.ofSeconds(31).toNanos());
+        assertThat(failing.isAvailable(now.get())).isTrue();
+    }
+
+    @Test
+    void successResetsConsecutiveFailures() {
+        UpstreamPool pool = pool(new N8nConfig.BalancerConfig(), "http://n8n-1:5678", "http://n8n-2:5678");
+        UpstreamPool.Node node = pool.nodes()[0];
+
+        for (int i = 0; i < 4; i++) {
+            pool.record(node, true);
+        }
+        pool.record(node, false);
+        pool.record(node, true);
+
+        assertThat(node.isEjected(now.get())).isFalse();
+    }
+
+    @Test
+    void neverEjectsMoreThanMaxEjectionPercent() {
+        UpstreamPool pool = pool(new N8nConfig.BalancerConfig(), "http://n8n-1:5678", "http://n8n-2:5678");
+
+        for (UpstreamPool.Node node : pool.nodes()) {
+            for (int i = 0; i < 5; i++) {
+                pool.record(node, true);
+            }
+        }
+
+        assertThat(pool.nodes()[0].isEjected(now.get())).isTrue();
+        assertThat(pool.nodes()[1].isEjected(now.get())).isFalse();
+    }
+
+    @Test
+    void healthChecksRemoveAndRestoreNodes() {
+        UpstreamPool pool = pool(new N8nConfig.BalancerConfig(), "http://n8n-1:5678", "http://n8n-2:5678");
+        UpstreamPool.Node node = pool.nodes()[1];
+
+        pool.recordHealth(node, false);
+        assertThat(node.isAvailable(now.get())).isTrue();
+        pool.recordHealth(node, false);
+        assertThat(node.isAvailable(now.get())).isFalse();
+        assertThat(pool.select(null)).isSameAs(pool.nodes()[0]);
+
+        pool.recordHealth(node, true);
+        pool.recordHealth(node, true);
+        assertThat(node.isAvailable(now.get())).isTrue();
+    }
+
+    @Test
+    void fallsBackToAllNodesWhenNoneAvailable() {
+        UpstreamPool pool = pool(new N8nConfig.BalancerConfig(), "http://n8n-1:5678", "http://n8n-2:5678");
+        for (UpstreamPool.Node node : pool.nodes()) {
+            pool.recordHealth(node, false);
+            pool.recordHealth(node, false);
+        }
+
+        assertThat(pool.select(null)).isIn((Object[]) pool.nodes());
+    }
+
+    @Test
+    void filterRewritesBaseUrlPrefixAndKeepsEncodedQuery() {
+        UpstreamPool pool = pool(new N8nConfig.BalancerConfig(), "http://n8n-1:5678/", "http://n8n-2:5678");
+        AtomicReference<URI> routed = new AtomicReference<>();
+
+        exchange(pool, "http://n8n-1:5678/api/v1/executions?limit=10&cursor=a%2Bb%3D", request -> {
+            routed.set(request.url());
+            return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+        }).releaseBody().block(Duration.ofSeconds(5));
+
+        assertThat(routed.get().toString()).isIn(
+                "http://n8n-1:5678/api/v1/executions?limit=10&cursor=a%2Bb%3D",
+                "http://n8n-2:5678/api/v1/executions?limit=10&cursor=a%2Bb%3D");
+        assertThat(totalRequests(pool)).isEqualTo(1);
+    }
+
+    @Test
+    void filterIgnoresUrlsThatOnlyLookLikeBaseUrl() {
+        UpstreamPool pool = pool(new N8nConfig.BalancerConfig(), "http://n8n-1:5678", "http://n8n-2:5678");
+        AtomicReference<URI> routed = new AtomicReference<>();
+        ExchangeFunction next = request -> {
+            routed.set(request.url());
+            return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+        };
+
+        for (String url : List.of("http://n8n-1:5678x/api/v1/workflows", "http://n8n-1:56789/api",
+                "http://other:5678/api/v1/workflows")) {
+            exchange(pool, url, next).releaseBody().block(Duration.ofSeconds(5));
+            assertThat(routed.get().toString()).isEqualTo(url);
+        }
+        assertThat(totalRequests(pool)).isZero();
+    }
+
+    @Test
+    void outstandingDropsAfterBodyIsConsumed() {
+        UpstreamPool pool = pool(new N8nConfig.BalancerConfig(), "http://n8n-1:5678", "http://n8n-2:5678");
+
+        ClientResponse response = exchange(pool, "http://n8n-1:5678/api/v1/workflows",
+                request -> Mono.just(ClientResponse.create(HttpStatus.OK).body("[]").build()));
+        assertThat(totalOutstanding(pool)).isEqualTo(1);
+
+        assertThat(response.bodyToMono(String.class).block(Duration.ofSeconds(5))).isEqualTo("[]");
+        assertThat(totalOutstanding(pool)).isZero();
+    }
+
+    @Test
+    void outstandingDropsAfterConnectionError() {
+        UpstreamPool pool = pool(new N8nConfig.BalancerConfig(), "http://n8n-1:5678", "http://n8n-2:5678");
+
+        Mono<ClientResponse> failed = pool.filter().filter(request("http://n8n-1:5678/api/v1/workflows"),
+                request -> Mono.error(new IllegalStateException("connection refused")));
+
+        assertThat(failed.onErrorResume(error -> Mono.empty()).block(Duration.ofSeconds(5))).isNull();
+        assertThat(totalOutstanding(pool)).isZero();
+        assertThat(Arrays.stream(pool.nodes()).mapToLong(UpstreamPool.Node::failures).sum()).isEqualTo(1);
+    }
+
+    @Test
+    void outstandingDropsWhenRequestIsCancelled() {
+        UpstreamPool pool = pool(new N8nConfig.BalancerConfig(), "http://n8n-1:5678", "http://n8n-2:5678");
+
+        Disposable pending = pool.filter().filter(request("http://n8n-1:5678/api/v1/workflows"),
+                request -> Mono.never()).subscribe();
+        assertThat(totalOutstanding(pool)).isEqualTo(1);
+
+        pending.dispose();
+        assertThat(totalOutstanding(pool)).isZero();
+    }
+
+    private static ClientResponse exchange(UpstreamPool pool, String url, ExchangeFunction next) {
+        return pool.filter().filter(request(url), next).block(Duration.ofSeconds(5));
+    }
+
+    private static ClientRequest request(String url) {
+        return ClientRequest.create(HttpMethod.GET, URI.create(url)).build();
+    }
+
+    private static int totalOutstanding(UpstreamPool pool) {
+        return Arrays.stream(pool.nodes()).mapToInt(UpstreamPool.Node::outstanding).sum();
+    }
+
+    private static long totalRequests(UpstreamPool pool) {
+        return Arrays.stream(pool.nodes()).mapToLong(UpstreamPool.Node::requests).sum();
+    }
+
+    private UpstreamPool pool(N8nConfig.BalancerConfig config, String baseUrl, String... extraNodes) {
+        return new UpstreamPool("test", baseUrl, List.of(extraNodes), config, null, now::get);
+    }
+}
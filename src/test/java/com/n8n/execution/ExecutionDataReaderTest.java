@@ -0,0 +1,180 @@
+package com.n8n.execution;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.n8n.dto.NodeOutputPage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExecutionDataReaderTest {
+
+    private static final String EXECUTION = """
+            {"id":"7","mode":"manual","data":{"startData":{},"resultData":{"runData":{
+              "Other":[{"data":{"main":[[{"json":{"skip":true}}]]}}],
+              "Fetch":[
+                {"data":{"main":[[{"json":{"i":0}},{"json":{"i":1}},{"json":{"i":2}},{"json":{"i":3}},{"json":{"i":4}}],null]}},
+                {"data":{"main":[[{"json":{"retry":1}}]]}}
+              ]}}},
+             "finished":true,"status":"success"}
+            """;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsRequestedSliceOfNodeOutput() throws IOException {
+        NodeOutputPage page = read("Fetch", 0, 0, 1, 2).orElseThrow();
+
+        assertThat(page.getTotal()).isEqualTo(5);
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(page.getItems()).containsExactly(
+                Map.of("json", Map.of("i", 1)), Map.of("json", Map.of("i", 2)));
+
+        NodeOutputPage last = read("Fetch", 0, 0, 4, 10).orElseThrow();
+        assertThat(last.getItems()).hasSize(1);
+        assertThat(last.isHasMore()).isFalse();
+    }
+
+    @Test
+    void selectsRunAndOutput() throws IOException {
+        assertThat(read("Fetch", 1, 0, 0, 10).orElseThrow().getItems())
+                .containsExactly(Map.of("json", Map.of("retry", 1)));
+        // n8n 은 항목이 없는 출력을 null 로 기록
+        assertThat(read("Fetch", 0, 1, 0, 10).orElseThrow().getTotal()).isZero();
+        assertThat(read("Fetch", 2, 0, 0, 10)).isEmpty();
+        assertThat(read("Missing", 0, 0, 0, 10)).isEmpty();
+    }
+
+    @Test
+    void detectsTerminalExecutions() throws IOException {
+        assertThat(ExecutionDataReader.isTerminal(objectMapper.getFactory(), stream(EXECUTION))).isTrue();
+        assertThat(ExecutionDataReader.isTerminal(objectMapper.getFactory(),
+                stream("{\"finished\":false,\"status\":\"running\",\"data\":{}}"))).isFalse();
+        assertThat(ExecutionDataReader.isTerminal(objectMapper.getFactory(),
+                stream("{\"finished\":false,\"data\":{\"x\":[1]},\"status\":\"error\"}"))).isTrue();
+    }
+
+    @Test
+    void keepsSmallPayloadsInMemoryAndSpillsLargeOnes() throws IOException {
+        byte[] body = EXECUTION.getBytes(StandardCharsets.UTF_8);
+
+        ExecutionPayload small = spool(body, body.length);
+        assertThat(small.isSpilled()).isFalse();
+        assertThat(small.isTerminal()).isTrue();
+
+        ExecutionPayload large = spool(body, 64);
+        assertThat(large.isSpilled()).isTrue();
+        assertThat(large.getSize()).isEqualTo(body.length);
+        assertThat(Files.readAllBytes(large.file())).isEqualTo(body);
+        try (InputStream in = large.open()) {
+            assertThat(ExecutionDataReader.readNodeOutput(objectMapper, in, "7", "Fetch", 0, 0, 0, 1)
+                    .orElseThrow().getTotal()).isEqualTo(5);
+        }
+    }
+
+    @Test
+    void discardDeletesPartialFile() throws IOException {
+        PayloadSpool spool = new PayloadSpool("7", directory, 4, budget(1024));
+        spool.write(DefaultDataBufferFactory.sharedInstance.wrap("{\"id\":\"7\",".getBytes(StandardCharsets.UTF_8)));
+        assertThat(fileCount()).isEqualTo(1);
+
+        spool.discard();
+
+        assertThat(fileCount()).isZero();
+    }
+
+    @Test
+    void rejectsPayloadsOverDiskBudget() {
+        PayloadSpool spool = new PayloadSpool("7", directory, 4, budget(8));
+
+        assertThatThrownBy(() -> spool.write(DefaultDataBufferFactory.sharedInstance.wrap(new byte[16])))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void concurrentSpoolsShareOneDiskBudget() {
+        DiskBudget budget = budget(24);
+        PayloadSpool first = new PayloadSpool("7", directory, 4, budget);
+        PayloadSpool second = new PayloadSpool("8", directory, 4, budget);
+
+        first.write(DefaultDataBufferFactory.sharedInstance.wrap(new byte[16]));
+        assertThatThrownBy(() -> second.write(DefaultDataBufferFactory.sharedInstance.wrap(new byte[16])))
+                .isInstanceOf(IllegalStateException.class);
+
+        first.discard();
+        assertThat(budget.used()).isZero();
+        PayloadSpool third = new PayloadSpool("9", directory, 4, budget);
+        third.write(DefaultDataBufferFactory.sharedInstance.wrap(new byte[16]));
+        assertThat(budget.used()).isEqualTo(16);
+    }
+
+    @Test
+    void deletesSpilledFileWhenLastReferenceIsReleased() throws IOException {
+        DiskBudget budget = budget(1024 * 1024);
+        PayloadSpool spool = new PayloadSpool("7", directory, 64, budget);
+        spool.write(DefaultDataBufferFactory.sharedInstance.wrap(EXECUTION.getBytes(StandardCharsets.UTF_8)));
+        ExecutionPayload payload = spool.finish(objectMapper.getFactory());
+        assertThat(budget.used()).isEqualTo(payload.getSize());
+
+        // 응답 중인 요청이 참조를 가진 동안에는 캐시가 놓아도 파일이 남아 경로로 끝까지 읽힘
+        assertThat(payload.retain()).isTrue();
+        assertThat(payload.release()).isFalse();
+        assertThat(fileCount()).isEqualTo(1);
+        Resource resource = payload.resource();
+        assertThat(resource.isFile()).isTrue();
+        try (InputStream in = resource.getInputStream()) {
+            assertThat(in.readAllBytes()).hasSize((int) payload.getSize());
+        }
+
+        assertThat(payload.release()).isTrue();
+        assertThat(fileCount()).isZero();
+        assertThat(budget.used()).isZero();
+        assertThat(payload.retain()).isFalse();
+    }
+
+    private Optional<NodeOutputPage> read(String node, int run, int output, int offset, int limit) throws IOException {
+        return ExecutionDataReader.readNodeOutput(objectMapper, stream(EXECUTION), "7", node, run, output, offset, limit);
+    }
+
+    private ExecutionPayload spool(byte[] body, long threshold) throws IOException {
+        PayloadSpool spool = new PayloadSpool("7", directory, threshold, budget(1024 * 1024));
+        for (int i = 0; i < body.length; i += 32) {
+            byte[] chunk = Arrays.copyOfRange(body, i, Math.min(body.length, i + 32));
+            spool.write(DefaultDataBufferFactory.sharedInstance.wrap(chunk));
+        }
+        return spool.finish(objectMapper.getFactory());
+    }
+
+    private static DiskBudget budget(long limit) {
+        return new DiskBudget(limit, bytes -> {
+        });
+    }
+
+    private long fileCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,36 @@
+package com.n8n.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PayloadRendererTest {
+
+    private final PayloadRenderer renderer = new PayloadRenderer(
+            Set.of("apikey", "authorization", "password"), 64, Function.identity());
+
+    @Test
+    void redactsSensitiveKeysAtAnyDepth() {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("name", "n8n");
+        payload.put("X-N8N-API-KEY", "secret-key");
+        payload.put("nested", Map.of("user_password", "hunter2"));
+
+        assertThat(renderer.render(payload))
+                .isEqualTo("{name=n8n, X-N8N-API-KEY=***, nested={user_password=***}}");
+    }
+
+    @Test
+    void truncatesAtMaxLength() {
+        String rendered = renderer.render(List.of("x".repeat(100), "never rendered"));
+
+        assertThat(rendered).startsWith("[" + "x".repeat(63)).endsWith("...(truncated)");
+        assertThat(rendered).doesNotContain("never rendered");
+    }
+}
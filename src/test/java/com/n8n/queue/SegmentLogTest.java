@@ -0,0 +1,68 @@
+package com.n8n.queue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SegmentLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysUncommittedEntriesAfterReopen() throws Exception {
+        try (SegmentLog log = SegmentLog.open(directory, 64, 8)) {
+            for (int i = 0; i < 10; i++) {
+                log.append(bytes("msg-" + i));
+            }
+            List<SegmentLog.Entry> entries = log.read(0, 100);
+            assertThat(entries).hasSize(10);
+            log.commit(entries.get(4).nextOffset());
+        }
+
+        try (SegmentLog log = SegmentLog.open(directory, 64, 8)) {
+            List<SegmentLog.Entry> replay = log.read(log.committedOffset(), 100);
+            assertThat(replay).hasSize(5);
+            assertThat(new String(replay.get(0).payload(), StandardCharsets.UTF_8)).isEqualTo("msg-5");
+        }
+    }
+
+    @Test
+    void compactsCommittedSegmentsAndBoundsDiskUsage() throws Exception {
+        try (SegmentLog log = SegmentLog.open(directory, 32, 2)) {
+            log.append(bytes("first-entry"));
+            log.append(bytes("second-entry"));
+            assertThat(log.segmentCount()).isEqualTo(2);
+            assertThatThrownBy(() -> log.append(bytes("third-entry")))
+                    .isInstanceOf(SegmentLog.LogFullException.class);
+
+            List<SegmentLog.Entry> entries = log.read(log.committedOffset(), 100);
+            log.commit(entries.get(entries.size() - 1).nextOffset());
+            assertThat(log.compact()).isEqualTo(1);
+            log.append(bytes("third-entry"));
+        }
+    }
+
+    @Test
+    void rejectsEmptyPayloads() throws Exception {
+        try (SegmentLog log = SegmentLog.open(directory, 64, 2)) {
+            assertThatThrownBy(() -> log.append(new byte[0])).isInstanceOf(IllegalArgumentException.class);
+            log.append(bytes("after"));
+        }
+
+        try (SegmentLog log = SegmentLog.open(directory, 64, 2)) {
+            assertThat(log.read(0, 10)).extracting(entry -> new String(entry.payload(), StandardCharsets.UTF_8))
+                    .containsExactly("after");
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,128 @@
+package com.n8n.queue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.n8n.config.N8nConfig;
+import com.n8n.dto.N8nWebhookRequest;
+import com.n8n.dto.N8nWebhookResponse;
+import com.n8n.service.N8nWebhookService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WebhookDeliveryQueueTest {
+
+    private static final int SEGMENT_SIZE = 1024;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysUncommittedEntriesAfterRestart() throws Exception {
+        // 이전 프로세스가 /a 까지 전송하고 /b, /c 는 커밋하지 못한 채 종료된 상태
+        try (SegmentLog log = SegmentLog.open(directory, SEGMENT_SIZE, 4)) {
+            log.append(objectMapper.writeValueAsBytes(request("/a")));
+            log.append(objectMapper.writeValueAsBytes(request("/b")));
+            log.append(objectMapper.writeValueAsBytes(request("/c")));
+            log.commit(log.read(0, 1).get(0).nextOffset());
+        }
+
+        List<String> sent = new CopyOnWriteArrayList<>();
+        WebhookDeliveryQueue queue = queue(sent, true);
+        queue.start();
+        try {
+            awaitDelivered(queue, 2);
+        } finally {
+            queue.stop();
+        }
+        assertThat(sent).containsExactly("/b", "/c");
+        assertThat(queue.stats().get("pendingBytes")).isEqualTo(0L);
+
+        // 모두 커밋되었으므로 다시 시작해도 재전송하지 않음
+        List<String> resent = new CopyOnWriteArrayList<>();
+        WebhookDeliveryQueue restarted = queue(resent, true);
+        restarted.start();
+        try {
+            restarted.enqueue(request("/d"));
+            awaitDelivered(restarted, 1);
+        } finally {
+            restarted.stop();
+        }
+        assertThat(resent).containsExactly("/d");
+    }
+
+    @Test
+    void keepsEntryQueuedWhenDeadLetterLogIsFull() throws Exception {
+        try (SegmentLog log = SegmentLog.open(directory, SEGMENT_SIZE, 4)) {
+            log.append(objectMapper.writeValueAsBytes(request("/a")));
+        }
+        try (SegmentLog deadLetters = SegmentLog.open(directory.resolve("dead-letter"), SEGMENT_SIZE, 4)) {
+            while (true) {
+                try {
+                    deadLetters.append(new byte[SEGMENT_SIZE / 2]);
+                } catch (SegmentLog.LogFullException e) {
+                    break;
+                }
+            }
+        }
+
+        List<String> sent = new CopyOnWriteArrayList<>();
+        WebhookDeliveryQueue queue = queue(sent, false);
+        queue.start();
+        try {
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while ((long) queue.stats().get("deadLetterFailures") < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        } finally {
+            queue.stop();
+        }
+
+        // 전송을 포기했지만 dead-letter 로 옮기지 못했으므로 커밋하지 않고 계속 다시 시도
+        Map<String, Object> stats = queue.stats();
+        assertThat(sent).hasSizeGreaterThanOrEqualTo(2).containsOnly("/a");
+        assertThat(stats.get("deadLettered")).isEqualTo(0L);
+        assertThat(stats.get("committedOffset")).isEqualTo(0L);
+        assertThat((long) stats.get("pendingBytes")).isPositive();
+    }
+
+    private WebhookDeliveryQueue queue(List<String> sent, boolean succeed) {
+        N8nConfig config = new N8nConfig();
+        N8nConfig.QueueConfig queueConfig = config.getWebhook().getQueue();
+        queueConfig.setDirectory(directory.toString());
+        queueConfig.setSegmentSize(DataSize.ofBytes(SEGMENT_SIZE));
+        queueConfig.setMaxSegments(4);
+        queueConfig.setMaxAttempts(1);
+        queueConfig.setPollInterval(Duration.ofMillis(10));
+        N8nWebhookService webhookService = new N8nWebhookService(null, null, null) {
+            @Override
+            public Mono<N8nWebhookResponse> triggerWebhook(N8nWebhookRequest request) {
+                sent.add(request.getWebhookPath());
+                return Mono.just(N8nWebhookResponse.builder().success(succeed).message("unavailable").build());
+            }
+        };
+        return new WebhookDeliveryQueue(config, webhookService, objectMapper);
+    }
+
+    private static void awaitDelivered(WebhookDeliveryQueue queue, long count) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while ((long) queue.stats().get("delivered") < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(queue.stats().get("delivered")).isEqualTo(count);
+    }
+
+    private static N8nWebhookRequest request(String path) {
+        return N8nWebhookRequest.builder().webhookPath(path).data(Map.of("n", 1)).method("POST").build();
+    }
+}
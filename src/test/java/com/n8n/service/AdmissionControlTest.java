@@ -0,0 +1,85 @@
+package com.n8n.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.n8n.config.N8nConfig;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdmissionControlTest {
+
+    @Test
+    void pacesBatchLargerThanBurstInsteadOfRejecting() {
+        AdmissionControl admission = admission(100, 2, 2);
+
+        List<AdmissionControl.Permit> permits = Flux.range(0, 6)
+                .flatMap(i -> admission.awaitBatchItem(null, "wf-1")
+                        .doOnNext(AdmissionControl.Permit::release))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(permits).hasSize(6).allMatch(AdmissionControl.Permit::isGranted);
+        assertThat(admission.stats().get("rejected")).isEqualTo(Map.of());
+    }
+
+    @Test
+    void batchItemWaitsForFreeSlot() {
+        AdmissionControl admission = admission(100, 100, 1);
+        AdmissionControl.Permit held = admission.acquireSlot();
+
+        assertThat(held.isGranted()).isTrue();
+
+        Mono<AdmissionControl.Permit> waiting = admission.awaitBatchItem(null, "wf-1").cache();
+        waiting.subscribe();
+        assertThatThrownBy(() -> waiting.block(Duration.ofMillis(100)))
+                .isInstanceOf(IllegalStateException.class);
+
+        held.release();
+        assertThat(waiting.block(Duration.ofSeconds(5)).isGranted()).isTrue();
+        assertThat(admission.stats().get("inFlight")).isEqualTo(1);
+    }
+
+    @Test
+    void idempotentReplayDoesNotSpendTokensAndSlotFollowsUpstreamCall() {
+        AdmissionControl admission = admission(0.01, 1, 1);
+        IdempotencyStore store = new IdempotencyStore(new N8nConfig(), new ObjectMapper());
+        Sinks.One<String> upstream = Sinks.one();
+        Supplier<Mono<IdempotencyStore.Outcome<String>>> request = () -> store.execute(null, "execute:wf-1", "key-1",
+                Map.of("orderId", 1), () -> admission.admitExecution(null, "wf-1", upstream::asMono), value -> true);
+
+        // 첫 요청은 클라이언트가 끊어도 분리된 upstream 호출이 끝날 때까지 슬롯을 잡음
+        request.get().subscribe().dispose();
+        assertThat(admission.stats().get("inFlight")).isEqualTo(1);
+
+        upstream.tryEmitValue("done");
+        assertThat(admission.stats().get("inFlight")).isEqualTo(0);
+
+        // burst 1 을 이미 썼지만 재생은 n8n 을 호출하지 않으므로 거부되지 않음
+        IdempotencyStore.Outcome<String> replay = request.get().block(Duration.ofSeconds(5));
+        assertThat(replay.replayed()).isTrue();
+        assertThat(replay.value()).isEqualTo("done");
+        assertThatThrownBy(() -> admission.admitExecution(null, "wf-1", () -> Mono.just("again"))
+                .block(Duration.ofSeconds(5)))
+                .isInstanceOf(AdmissionControl.RejectedException.class);
+    }
+
+    private static AdmissionControl admission(double rate, int burst, int maxConcurrentCalls) {
+        N8nConfig config = new N8nConfig();
+        N8nConfig.AdmissionConfig admission = config.getAdmission();
+        admission.getPrincipal().setRate(rate);
+        admission.getPrincipal().setBurst(burst);
+        admission.getWorkflow().setRate(rate);
+        admission.getWorkflow().setBurst(burst);
+        admission.setMaxConcurrentCalls(maxConcurrentCalls);
+        return new AdmissionControl(config);
+    }
+}
@@ -0,0 +1,37 @@
+package com.n8n.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ColumnarCalculatorTest {
+
+    @Test
+    void appliesSingleOperationToWholeColumn() {
+        double[] result = ColumnarCalculator.compute("divide", new double[]{10, 9, 8}, new double[]{2, 0, 4});
+
+        assertThat(result).containsExactly(5, 0, 2);
+    }
+
+    @Test
+    void broadcastsSingleValueColumn() {
+        double[] result = ColumnarCalculator.compute("MULTIPLY", new double[]{1, 2, 3}, new double[]{10});
+
+        assertThat(result).containsExactly(10, 20, 30);
+    }
+
+    @Test
+    void appliesPerRowOperations() {
+        double[] result = ColumnarCalculator.compute(new String[]{"add", "subtract", "multiply", "unknown"},
+                new double[]{1, 5, 3, 7}, new double[]{2, 1, 3, 7});
+
+        assertThat(result).containsExactly(3, 4, 9, 0);
+    }
+
+    @Test
+    void rejectsMismatchedColumns() {
+        assertThatThrownBy(() -> ColumnarCalculator.compute("add", new double[]{1, 2}, new double[]{1, 2, 3}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
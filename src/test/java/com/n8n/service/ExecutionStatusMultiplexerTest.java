@@ -0,0 +1,61 @@
+package com.n8n.service;
+
+import com.n8n.config.N8nConfig;
+import com.n8n.dto.ExecutionStatusEvent;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExecutionStatusMultiplexerTest {
+
+    @Test
+    void deliversTerminalEventAfterRepeatedIdenticalErrors() {
+        ExecutionStatusMultiplexer multiplexer = multiplexer(
+                Map.of("error", "n8n unavailable"),
+                Map.of("error", "n8n unavailable"),
+                Map.of("error", "n8n unavailable"));
+
+        List<ExecutionStatusEvent> events = multiplexer.watch("7").collectList().block(Duration.ofSeconds(5));
+
+        assertThat(events).extracting(ExecutionStatusEvent::isTerminal).containsExactly(false, true);
+        assertThat(events.get(1).getStatus()).isEqualTo("unavailable");
+        assertThat(multiplexer.activeStreams()).isZero();
+    }
+
+    @Test
+    void skipsUnchangedStatusesUntilTerminal() {
+        ExecutionStatusMultiplexer multiplexer = multiplexer(
+                Map.of("status", "running", "finished", false),
+                Map.of("status", "running", "finished", false),
+                Map.of("status", "success", "finished", true));
+
+        List<ExecutionStatusEvent> events = multiplexer.watch("7").collectList().block(Duration.ofSeconds(5));
+
+        assertThat(events).extracting(ExecutionStatusEvent::getStatus).containsExactly("running", "success");
+        assertThat(events.get(1).isTerminal()).isTrue();
+    }
+
+    @SafeVarargs
+    private static ExecutionStatusMultiplexer multiplexer(Map<String, Object>... responses) {
+        N8nConfig config = new N8nConfig();
+        N8nConfig.StreamConfig stream = config.getExecutions().getStream();
+        stream.setMinInterval(Duration.ofMillis(1));
+        stream.setMaxInterval(Duration.ofMillis(1));
+        stream.setMaxConsecutiveErrors(3);
+        Deque<Map<String, Object>> remaining = new ArrayDeque<>(List.of(responses));
+        N8nApiService apiService = new N8nApiService(null, config, null, null, null, null) {
+            @Override
+            public Mono<Map<String, Object>> getExecutionStatus(String executionId) {
+                return Mono.fromSupplier(remaining::pop);
+            }
+        };
+        return new ExecutionStatusMultiplexer(apiService, config);
+    }
+}
@@ -0,0 +1,109 @@
+package com.n8n.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.n8n.config.N8nConfig;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.security.Principal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyStoreTest {
+
+    private static final Principal ADMIN = () -> "admin";
+    private static final Map<String, Object> BODY = Map.of("orderId", 1234);
+
+    private final IdempotencyStore store = new IdempotencyStore(new N8nConfig(), new ObjectMapper());
+
+    @Test
+    void duplicateWhileRunningAwaitsFirstCall() {
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.One<String> upstream = Sinks.one();
+
+        var first = store.execute(ADMIN, "execute:wf-1", "key-1", BODY,
+                () -> {
+                    calls.incrementAndGet();
+                    return upstream.asMono();
+                }, value -> true).toFuture();
+        var second = store.execute(ADMIN, "execute:wf-1", "key-1", BODY,
+                () -> {
+                    calls.incrementAndGet();
+                    return Mono.just("other");
+                }, value -> true).toFuture();
+
+        upstream.tryEmitValue("started");
+
+        assertThat(first.join()).isEqualTo(new IdempotencyStore.Outcome<>("started", false));
+        assertThat(second.join()).isEqualTo(new IdempotencyStore.Outcome<>("started", true));
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void completedResultIsReplayedWithoutCallingAgain() {
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            store.execute(ADMIN, "webhook:/orders", "key-2", BODY,
+                    () -> Mono.fromSupplier(() -> "call-" + calls.incrementAndGet()), value -> true).block();
+        }
+
+        var replayed = store.execute(ADMIN, "webhook:/orders", "key-2", BODY,
+                () -> Mono.fromSupplier(() -> "call-" + calls.incrementAndGet()), value -> true).block();
+        assertThat(replayed).isEqualTo(new IdempotencyStore.Outcome<>("call-1", true));
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void failedResultsAreNotStored() {
+        AtomicInteger calls = new AtomicInteger();
+
+        store.execute(ADMIN, "execute:wf-1", "key-3", BODY,
+                () -> Mono.fromSupplier(() -> "failed-" + calls.incrementAndGet()),
+                value -> !value.startsWith("failed")).block();
+        var retried = store.execute(ADMIN, "execute:wf-1", "key-3", BODY,
+                () -> Mono.fromSupplier(() -> "ok-" + calls.incrementAndGet()),
+                value -> !value.startsWith("failed")).block();
+
+        assertThat(retried).isEqualTo(new IdempotencyStore.Outcome<>("ok-2", false));
+    }
+
+    @Test
+    void keysAreScopedByPrincipalAndRoute() {
+        AtomicInteger calls = new AtomicInteger();
+
+        store.execute(ADMIN, "execute:wf-1", "key-4", BODY,
+                () -> Mono.just(calls.incrementAndGet()), v -> true).block();
+        store.execute(() -> "other", "execute:wf-1", "key-4", BODY,
+                () -> Mono.just(calls.incrementAndGet()), v -> true).block();
+        store.execute(ADMIN, "execute:wf-2", "key-4", BODY,
+                () -> Mono.just(calls.incrementAndGet()), v -> true).block();
+
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    void sameKeyWithDifferentBodyIsRejected() {
+        AtomicInteger calls = new AtomicInteger();
+        Map<String, Object> reordered = new LinkedHashMap<>();
+        reordered.put("b", 2);
+        reordered.put("a", 1);
+
+        store.execute(ADMIN, "execute:wf-1", "key-5", Map.of("a", 1, "b", 2),
+                () -> Mono.just(calls.incrementAndGet()), v -> true).block();
+        // 맵 키 순서만 다른 본문은 같은 요청
+        var replayed = store.execute(ADMIN, "execute:wf-1", "key-5", reordered,
+                () -> Mono.just(calls.incrementAndGet()), v -> true).block();
+
+        assertThat(replayed).isEqualTo(new IdempotencyStore.Outcome<>(1, true));
+        assertThatThrownBy(() -> store.execute(ADMIN, "execute:wf-1", "key-5", Map.of("a", 1, "b", 3),
+                () -> Mono.just(calls.incrementAndGet()), v -> true).block())
+                .isInstanceOf(IdempotencyStore.KeyReuseException.class);
+        assertThat(calls).hasValue(1);
+    }
+}
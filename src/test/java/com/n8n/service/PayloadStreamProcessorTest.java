@@ -0,0 +1,145 @@
+package com.n8n.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.n8n.config.PublicApiConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PayloadStreamProcessorTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private PayloadStreamProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        PublicApiConfig config = new PublicApiConfig();
+        config.getProcess().setChunkSize(2);
+        config.getProcess().setTransformChunkChars(4);
+        processor = new PayloadStreamProcessor(objectMapper, config);
+    }
+
+    @Test
+    void processesJsonArrayRecordByRecord() throws IOException {
+        List<JsonNode> lines = run("[{\"data\":\"hello world\"},{\"other\":1},{\"data\":42}]");
+
+        assertThat(lines).hasSize(4);
+        assertThat(lines.get(0).get("dataUpperCase").asText()).isEqualTo("HELLO WORLD");
+        assertThat(lines.get(0).get("dataLength").asInt()).isEqualTo(11);
+        assertThat(lines.get(1).has("dataUpperCase")).isFalse();
+        assertThat(lines.get(2).get("dataUpperCase").asText()).isEqualTo("42");
+        assertThat(lines.get(3).get("summary").get("records").asLong()).isEqualTo(3);
+    }
+
+    @Test
+    void processesNdjson() throws IOException {
+        List<JsonNode> lines = run("{\"data\":\"a\"}\n{\"data\":\"b\"}\n");
+
+        assertThat(lines).extracting(line -> line.path("index").asInt(-1)).containsExactly(0, 1, -1);
+    }
+
+    @Test
+    void reportsMalformedInputAfterProcessedRecords() throws IOException {
+        List<JsonNode> lines = run("{\"data\":\"a\"}\n42\n");
+
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(1).get("index").asLong()).isEqualTo(1);
+        assertThat(lines.get(1).get("error").asText()).contains("Expected a JSON object");
+    }
+
+    @Test
+    void skipsFieldsOtherThanData() throws IOException {
+        List<JsonNode> lines = run("{\"meta\":{\"tags\":[\"x\",{\"y\":1}]},\"data\":\"ok\",\"tail\":[1,2]}");
+
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0).get("dataUpperCase").asText()).isEqualTo("OK");
+    }
+
+    @Test
+    void stopsWhenStringValueExceedsMaxLength() throws IOException {
+        PublicApiConfig config = new PublicApiConfig();
+        config.getProcess().setMaxStringLength(16);
+        processor = new PayloadStreamProcessor(objectMapper, config);
+
+        List<JsonNode> lines = run("{\"data\":\"short\"}\n{\"data\":\"" + "x".repeat(64) + "\"}\n");
+
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0).get("dataUpperCase").asText()).isEqualTo("SHORT");
+        assertThat(lines.get(1).get("index").asLong()).isEqualTo(1);
+        assertThat(lines.get(1).get("error").asText()).contains("String value length");
+    }
+
+    @Test
+    void stopsWhenStructuredDataExceedsMaxLength() throws IOException {
+        PublicApiConfig config = new PublicApiConfig();
+        config.getProcess().setMaxDataLength(64);
+        processor = new PayloadStreamProcessor(objectMapper, config);
+
+        String items = String.join(",", Collections.nCopies(64, "\"item\""));
+        List<JsonNode> lines = run("{\"data\":{\"a\":[1,2]}}\n{\"data\":[" + items + "]}\n");
+
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0).get("dataUpperCase").asText()).isEqualTo("{A=[1, 2]}");
+        assertThat(lines.get(1).get("index").asLong()).isEqualTo(1);
+        assertThat(lines.get(1).get("error").asText()).contains("maximum length of 64 bytes");
+    }
+
+    @Test
+    void reactiveAdapterWritesSameFormat() throws IOException {
+        String output = processor.process(Flux.just(Map.<String, Object>of("data", "abc"), Map.of("data", "xyz")),
+                        DefaultDataBufferFactory.sharedInstance)
+                .map(buffer -> {
+                    String text = buffer.toString(StandardCharsets.UTF_8);
+                    DataBufferUtils.release(buffer);
+                    return text;
+                })
+                .collectList()
+                .map(chunks -> String.join("", chunks))
+                .block();
+
+        List<JsonNode> lines = parse(output);
+        assertThat(lines).extracting(line -> line.path("dataUpperCase").asText()).containsExactly("ABC", "XYZ", "");
+        assertThat(lines.get(2).get("summary").get("records").asLong()).isEqualTo(2);
+    }
+
+    @Test
+    void upperCasesAcrossChunkBoundaries() throws IOException {
+        String source = "straße😀 end";
+        Reader reader = new PayloadStreamProcessor.UpperCaseReader(source, 7);
+        StringWriter result = new StringWriter();
+        reader.transferTo(result);
+
+        assertThat(result.toString()).isEqualTo(source.toUpperCase());
+    }
+
+    private List<JsonNode> run(String body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        processor.process(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out);
+        return parse(out.toString(StandardCharsets.UTF_8));
+    }
+
+    private List<JsonNode> parse(String ndjson) throws IOException {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : ndjson.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,65 @@
+package com.n8n.service;
+
+import com.n8n.config.N8nConfig;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UpstreamResilienceTest {
+
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    @Test
+    void primaryFailureAfterHedgeFiredWaitsForHedge() {
+        Mono<String> call = call(
+                Mono.delay(Duration.ofMillis(50)).then(Mono.error(new IllegalStateException("primary failed"))),
+                Mono.delay(Duration.ofMillis(150)).thenReturn("hedge"));
+
+        assertThat(resilience().hedge("GET /test", call).block(Duration.ofSeconds(5))).isEqualTo("hedge");
+        assertThat(attempts.get()).isEqualTo(2);
+    }
+
+    @Test
+    void failsOnlyWhenPrimaryAndHedgeBothFail() {
+        Mono<String> call = call(
+                Mono.delay(Duration.ofMillis(50)).then(Mono.error(new IllegalStateException("primary failed"))),
+                Mono.delay(Duration.ofMillis(100)).then(Mono.error(new IllegalStateException("hedge failed"))));
+
+        assertThatThrownBy(() -> resilience().hedge("GET /test", call).block(Duration.ofSeconds(5)))
+                .hasMessage("hedge failed")
+                .satisfies(error -> assertThat(error.getSuppressed()).extracting(Throwable::getMessage)
+                        .containsExactly("primary failed"));
+    }
+
+    @Test
+    void primaryFailureBeforeHedgeFiresFailsImmediately() {
+        Mono<String> call = call(
+                Mono.error(new IllegalStateException("primary failed")),
+                Mono.just("hedge"));
+
+        assertThatThrownBy(() -> resilience().hedge("GET /test", call).block(Duration.ofSeconds(5)))
+                .hasMessage("primary failed");
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    /**
+     * 첫 구독은 primary, 두 번째 구독(hedge)은 hedge 결과를 냄
+     */
+    private Mono<String> call(Mono<String> primary, Mono<String> hedge) {
+        return Mono.defer(() -> attempts.incrementAndGet() == 1 ? primary : hedge);
+    }
+
+    private static UpstreamResilience resilience() {
+        N8nConfig config = new N8nConfig();
+        N8nConfig.HedgeConfig hedge = config.getResilience().getHedge();
+        hedge.setEnabled(true);
+        hedge.setDelay(Duration.ofMillis(10));
+        hedge.setBudgetPercent(100);
+        return new UpstreamResilience(config);
+    }
+}
@@ -0,0 +1,210 @@
+package com.n8n.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.n8n.config.N8nConfig;
+import com.n8n.metrics.UpstreamMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WebhookProxyServiceTest {
+
+    @Test
+    void passesBuffersThroughUnderLimit() {
+        List<DataBuffer> buffers = WebhookProxyService.limit(chunks("abcd", "efgh"), 8, false)
+                .collectList().block();
+
+        assertThat(buffers).hasSize(2);
+        assertThat(buffers.get(1).toString(StandardCharsets.UTF_8)).isEqualTo("efgh");
+        buffers.forEach(DataBufferUtils::release);
+    }
+
+    @Test
+    void abortsOnceLimitIsExceeded() {
+        assertThatThrownBy(() -> WebhookProxyService.limit(chunks("abcd", "efgh", "i"), 8, true).blockLast())
+                .isInstanceOf(WebhookProxyService.PayloadTooLargeException.class)
+                .satisfies(error -> assertThat(((WebhookProxyService.PayloadTooLargeException) error).isRequest()).isTrue());
+    }
+
+    @Test
+    void countsBytesPerSubscription() {
+        Flux<DataBuffer> limited = WebhookProxyService.limit(Flux.defer(() -> chunks("abcdef")), 6, false);
+
+        assertThat(limited.count().block()).isEqualTo(1);
+        assertThat(limited.count().block()).isEqualTo(1);
+    }
+
+    @Test
+    void forwardsOnlyAllowListedHeadersAndRelaysStatus() {
+        AtomicReference<ClientRequest> sent = new AtomicReference<>();
+        WebhookProxyService service = service(request -> {
+            sent.set(request);
+            return Mono.just(ClientResponse.create(HttpStatus.CREATED)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_PLAIN_VALUE)
+                    .header(HttpHeaders.ETAG, "\"v1\"")
+                    .header(HttpHeaders.SET_COOKIE, "session=upstream")
+                    .body("accepted")
+                    .build());
+        });
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Request-Id", "req-1");
+        headers.setBasicAuth("admin", "secret");
+        headers.set(HttpHeaders.COOKIE, "session=client");
+        RecordingDownstream downstream = new RecordingDownstream();
+
+        service.forward(HttpMethod.GET, "/order", "/order%2Fcreated?source=test", headers, Flux.empty(), downstream)
+                .block(Duration.ofSeconds(5));
+
+        assertThat(sent.get().url().toString()).isEqualTo("http://n8n:5678/webhook/order%2Fcreated?source=test");
+        assertThat(sent.get().headers().getFirst("X-Request-Id")).isEqualTo("req-1");
+        assertThat(sent.get().headers().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(sent.get().headers()).doesNotContainKeys(HttpHeaders.AUTHORIZATION, HttpHeaders.COOKIE);
+
+        assertThat(downstream.status).isEqualTo(201);
+        assertThat(downstream.headers.getFirst(HttpHeaders.CONTENT_TYPE)).isEqualTo(MediaType.TEXT_PLAIN_VALUE);
+        assertThat(downstream.headers.getETag()).isEqualTo("\"v1\"");
+        assertThat(downstream.headers).doesNotContainKey(HttpHeaders.SET_COOKIE);
+        assertThat(downstream.body).isEqualTo("accepted");
+    }
+
+    @Test
+    void rejectsOversizedRequestWithoutCallingUpstream() {
+        AtomicReference<ClientRequest> sent = new AtomicReference<>();
+        WebhookProxyService service = service(request -> {
+            sent.set(request);
+            return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+        });
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentLength(DataSize.ofKilobytes(2).toBytes());
+        RecordingDownstream downstream = new RecordingDownstream();
+
+        service.forward(HttpMethod.POST, "/order", "/order", headers, chunks("{}"), downstream)
+                .block(Duration.ofSeconds(5));
+
+        assertThat(sent.get()).isNull();
+        assertThat(downstream.status).isEqualTo(413);
+        assertThat(downstream.body).contains("Request body exceeds 1024 bytes");
+    }
+
+    @Test
+    void returnsBadGatewayForOversizedUpstreamResponse() {
+        WebhookProxyService service = service(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_LENGTH, "4096")
+                .header(HttpHeaders.ETAG, "\"v1\"")
+                .body("ignored")
+                .build()));
+        RecordingDownstream downstream = new RecordingDownstream();
+
+        service.forward(HttpMethod.GET, "/order", "/order", new HttpHeaders(), Flux.empty(), downstream)
+                .block(Duration.ofSeconds(5));
+
+        assertThat(downstream.status).isEqualTo(502);
+        assertThat(downstream.body).contains("Upstream response body exceeds 1024 bytes");
+    }
+
+    @Test
+    void discardsRelayedHeadersAndBodyWhenChunkedResponseExceedsLimitBeforeCommit() {
+        WebhookProxyService service = service(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_PLAIN_VALUE)
+                .header(HttpHeaders.ETAG, "\"v1\"")
+                .body("x".repeat(2048))
+                .build()));
+        RecordingDownstream downstream = new RecordingDownstream();
+
+        service.forward(HttpMethod.GET, "/order", "/order", new HttpHeaders(), Flux.empty(), downstream)
+                .block(Duration.ofSeconds(5));
+
+        assertThat(downstream.resets).isEqualTo(1);
+        assertThat(downstream.status).isEqualTo(502);
+        assertThat(downstream.headers.getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(downstream.headers).doesNotContainKey(HttpHeaders.ETAG);
+        assertThat(downstream.body).startsWith("{").contains("Upstream response body exceeds 1024 bytes");
+    }
+
+    private static WebhookProxyService service(ExchangeFunction exchange) {
+        N8nConfig config = new N8nConfig();
+        config.getWebhook().setBaseUrl("http://n8n:5678/webhook");
+        config.getWebhook().getProxy().setMaxRequestSize(DataSize.ofKilobytes(1));
+        config.getWebhook().getProxy().setMaxResponseSize(DataSize.ofKilobytes(1));
+        return new WebhookProxyService(WebClient.builder().exchangeFunction(exchange).build(), config,
+                new UpstreamResilience(config), new UpstreamMetrics(new SimpleMeterRegistry(), config),
+                new ObjectMapper());
+    }
+
+    /**
+     * 커밋하지 않고 본문을 문자열로 모으는 Downstream. 본문이 실패하면 모은 것을 버립니다.
+     */
+    private static final class RecordingDownstream implements WebhookProxyService.Downstream {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private int status = 200;
+        private String body = "";
+        private int resets;
+
+        @Override
+        public boolean isCommitted() {
+            return false;
+        }
+
+        @Override
+        public void setStatus(int status) {
+            this.status = status;
+        }
+
+        @Override
+        public HttpHeaders headers() {
+            return headers;
+        }
+
+        @Override
+        public DataBufferFactory bufferFactory() {
+            return DefaultDataBufferFactory.sharedInstance;
+        }
+
+        @Override
+        public Mono<Void> write(Flux<DataBuffer> body) {
+            return DataBufferUtils.join(body)
+                    .doOnNext(joined -> {
+                        this.body = joined.toString(StandardCharsets.UTF_8);
+                        DataBufferUtils.release(joined);
+                    })
+                    .then();
+        }
+
+        @Override
+        public void reset() {
+            resets++;
+            headers.clear();
+            status = 200;
+            body = "";
+        }
+    }
+
+    private static Flux<DataBuffer> chunks(String... values) {
+        return Flux.fromArray(values)
+                .map(value -> DefaultDataBufferFactory.sharedInstance.wrap(value.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,117 @@
+package com.n8n.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.n8n.config.N8nConfig;
+import com.n8n.metrics.UpstreamMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkflowCacheTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void reloadsAfterTtlExpires() {
+        WorkflowCache cache = cache();
+
+        assertThat(cache.getWorkflow("wf-1").block(TIMEOUT)).containsEntry("version", 1);
+        assertThat(cache.getWorkflow("wf-1").block(TIMEOUT)).containsEntry("version", 1);
+        assertThat(loads).hasValue(1);
+
+        advance(Duration.ofSeconds(61));
+
+        assertThat(cache.getWorkflow("wf-1").block(TIMEOUT)).containsEntry("version", 2);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void servesStaleValueWhileRefreshing() throws InterruptedException {
+        WorkflowCache cache = cache();
+        cache.getWorkflow("wf-1").block(TIMEOUT);
+
+        advance(Duration.ofSeconds(11));
+
+        // refreshAfter 가 지나면 기존 값을 바로 돌려주고 백그라운드에서 다시 읽음
+        assertThat(version(cache)).isEqualTo(1);
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!Integer.valueOf(2).equals(version(cache)) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(version(cache)).isEqualTo(2);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void toggleInvalidatesCachedWorkflow() {
+        AtomicBoolean active = new AtomicBoolean();
+        AtomicInteger gets = new AtomicInteger();
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    if (request.method() == HttpMethod.PATCH) {
+                        active.set(!active.get());
+                    } else {
+                        gets.incrementAndGet();
+                    }
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body("{\"id\":\"wf-1\",\"active\":" + active.get() + "}")
+                            .build());
+                })
+                .build();
+        N8nConfig config = new N8nConfig();
+        N8nApiService service = new N8nApiService(webClient, config, new UpstreamResilience(config),
+                new UpstreamMetrics(new SimpleMeterRegistry(), config), new AdmissionControl(config),
+                new ObjectMapper());
+        service.init();
+
+        assertThat(service.getWorkflow("wf-1").block(TIMEOUT)).containsEntry("active", false);
+        assertThat(service.getWorkflow("wf-1").block(TIMEOUT)).containsEntry("active", false);
+        assertThat(gets).hasValue(1);
+
+        service.toggleWorkflow("wf-1", true).block(TIMEOUT);
+
+        assertThat(service.getWorkflow("wf-1").block(TIMEOUT)).containsEntry("active", true);
+        assertThat(gets).hasValue(2);
+    }
+
+    private WorkflowCache cache() {
+        N8nConfig.CacheConfig config = new N8nConfig.CacheConfig();
+        config.setTtl(Duration.ofSeconds(60));
+        config.setRefreshAfter(Duration.ofSeconds(10));
+        return new WorkflowCache(config,
+                () -> Mono.just(List.of()),
+                () -> Mono.just(List.of()),
+                id -> Mono.fromSupplier(() -> Map.<String, Object>of("id", id, "version", loads.incrementAndGet())),
+                projection -> Mono.just(List.of()),
+                (id, projection) -> Mono.just(Map.of()),
+                nanos::get);
+    }
+
+    private static Object version(WorkflowCache cache) {
+        return cache.getWorkflow("wf-1").block(TIMEOUT).get("version");
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(TimeUnit.NANOSECONDS.convert(duration));
+    }
+}
@@ -0,0 +1,61 @@
+package com.n8n.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.n8n.dto.WorkflowPage;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkflowProjectionTest {
+
+    private static final String WORKFLOW = """
+            {"id":"1","name":"orders","nodes":[{"name":"Start","parameters":{"deep":[1,2,3]}}],
+             "connections":{"Start":{}},"pinData":{"Start":[{"json":{}}]},"active":true}""";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void readsOnlyRequestedFieldsInRequestedOrder() throws IOException {
+        WorkflowProjection projection = WorkflowProjection.of("nodes, id");
+
+        Map<String, Object> workflow = read(WORKFLOW, projection);
+
+        assertThat(workflow).containsOnlyKeys("nodes", "id");
+        assertThat(workflow.keySet()).containsExactly("nodes", "id");
+        assertThat((List<?>) workflow.get("nodes")).hasSize(1);
+    }
+
+    @Test
+    void readsPageWithCursor() throws IOException {
+        WorkflowProjection projection = WorkflowProjection.of("id,connections");
+        String page = "{\"data\":[" + WORKFLOW + "," + WORKFLOW + "],\"nextCursor\":\"abc\",\"extra\":{\"x\":1}}";
+
+        try (JsonParser parser = objectMapper.createParser(page)) {
+            parser.nextToken();
+            WorkflowPage<Map<String, Object>> result = projection.readPage(parser);
+
+            assertThat(result.getNextCursor()).isEqualTo("abc");
+            assertThat(result.getData()).hasSize(2)
+                    .allSatisfy(workflow -> assertThat(workflow).containsOnlyKeys("id", "connections"));
+        }
+    }
+
+    @Test
+    void projectionsWithSameFieldOrderAreEqual() {
+        assertThat(WorkflowProjection.of("id, nodes")).isEqualTo(WorkflowProjection.of("id,nodes"))
+                .hasSameHashCodeAs(WorkflowProjection.of("id,nodes"));
+        assertThat(WorkflowProjection.of("nodes,id")).isNotEqualTo(WorkflowProjection.of("id,nodes"));
+    }
+
+    private Map<String, Object> read(String json, WorkflowProjection projection) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(json)) {
+            parser.nextToken();
+            return projection.readWorkflow(parser);
+        }
+    }
+}
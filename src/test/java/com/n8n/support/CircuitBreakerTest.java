@@ -0,0 +1,58 @@
+package com.n8n.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final CircuitBreaker breaker = new CircuitBreaker(
+            "test", 3, Duration.ofSeconds(10), 2, error -> true, now::get);
+
+    @Test
+    void opensAfterConsecutiveFailuresAndFailsFast() {
+        breaker.onError();
+        breaker.onError();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        breaker.onError();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+    }
+
+    @Test
+    void closesAfterSuccessfulHalfOpenProbes() {
+        tripOpen();
+        now.addAndGet(Duration.ofSeconds(11).toNanos());
+
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+
+        breaker.onSuccess();
+        breaker.onSuccess();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void reopensWhenHalfOpenProbeFails() {
+        tripOpen();
+        now.addAndGet(Duration.ofSeconds(11).toNanos());
+
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        breaker.onError();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+    }
+
+    private void tripOpen() {
+        for (int i = 0; i < 3; i++) {
+            breaker.onError();
+        }
+    }
+}
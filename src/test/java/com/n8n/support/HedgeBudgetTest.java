@@ -0,0 +1,74 @@
+package com.n8n.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HedgeBudgetTest {
+
+    @Test
+    void allowsHedgesUpToConfiguredPercentOfRequests() {
+        HedgeBudget budget = new HedgeBudget(10, 100);
+
+        int hedges = 0;
+        for (int i = 0; i < 1000; i++) {
+            budget.deposit();
+            if (budget.tryAcquire()) {
+                hedges++;
+            }
+        }
+
+        assertThat(hedges).isEqualTo(100);
+    }
+
+    @Test
+    void creditsNeverExceedMaxBurst() {
+        HedgeBudget budget = new HedgeBudget(50, 3);
+        for (int i = 0; i < 1000; i++) {
+            budget.deposit();
+        }
+
+        assertThat(budget.credits()).isEqualTo(3.0);
+        for (int i = 0; i < 3; i++) {
+            assertThat(budget.tryAcquire()).isTrue();
+        }
+        assertThat(budget.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void zeroPercentNeverHedges() {
+        HedgeBudget budget = new HedgeBudget(0, 10);
+        for (int i = 0; i < 1000; i++) {
+            budget.deposit();
+        }
+
+        assertThat(budget.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void latencyWindowNeedsMinSamplesBeforeEstimating() {
+        LatencyWindow window = new LatencyWindow(100, 95, 10);
+        for (int i = 1; i < 10; i++) {
+            window.record(i);
+        }
+        assertThat(window.percentileNanos()).isEqualTo(-1);
+
+        window.record(10);
+        assertThat(window.percentileNanos()).isEqualTo(10);
+    }
+
+    @Test
+    void latencyWindowTracksRecentPercentile() {
+        LatencyWindow window = new LatencyWindow(100, 95, 10);
+        for (int i = 1; i <= 100; i++) {
+            window.record(i);
+        }
+        assertThat(window.percentileNanos()).isEqualTo(95);
+
+        // 창이 한 바퀴 돌면 예전 기록은 빠짐
+        for (int i = 0; i < 100; i++) {
+            window.record(1000 + i);
+        }
+        assertThat(window.percentileNanos()).isEqualTo(1094);
+    }
+}
@@ -0,0 +1,145 @@
+package com.n8n.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MpmcRingBufferTest {
+
+    @Test
+    void rejectsCapacityThatIsNotPowerOfTwo() {
+        assertThatThrownBy(() -> new MpmcRingBuffer<>(6)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new MpmcRingBuffer<>(1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void offerFailsWhenFullAndSucceedsAfterPoll() {
+        MpmcRingBuffer<Integer> buffer = new MpmcRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+
+        assertThat(buffer.offer(4)).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+
+        assertThat(buffer.poll()).isZero();
+        assertThat(buffer.offer(4)).isTrue();
+        assertThat(buffer.offer(5)).isFalse();
+    }
+
+    @Test
+    void preservesFifoOrderAcrossManyWrapArounds() {
+        MpmcRingBuffer<Integer> buffer = new MpmcRingBuffer<>(4);
+        int next = 0;
+        int expected = 0;
+
+        // 용량보다 훨씬 많이 넣고 빼며 슬롯 시퀀스가 여러 바퀴 돌게 함
+        for (int round = 0; round < 1000; round++) {
+            while (buffer.offer(next)) {
+                next++;
+            }
+            for (int i = 0; i < 3; i++) {
+                assertThat(buffer.poll()).isEqualTo(expected++);
+            }
+        }
+        Integer element;
+        while ((element = buffer.poll()) != null) {
+            assertThat(element).isEqualTo(expected++);
+        }
+
+        assertThat(expected).isEqualTo(next);
+        assertThat(buffer.poll()).isNull();
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void drainToTakesAtMostMaxElements() {
+        MpmcRingBuffer<Integer> buffer = new MpmcRingBuffer<>(8);
+        for (int i = 0; i < 5; i++) {
+            buffer.offer(i);
+        }
+        List<Integer> target = new ArrayList<>();
+
+        assertThat(buffer.drainTo(target, 3)).isEqualTo(3);
+        assertThat(buffer.drainTo(target, 10)).isEqualTo(2);
+        assertThat(target).containsExactly(0, 1, 2, 3, 4);
+    }
+
+    @Test
+    void multipleProducersAndConsumersDeliverEveryElementExactlyOnce() throws Exception {
+        int producers = 4;
+        int consumers = 4;
+        int perProducer = 20_000;
+        MpmcRingBuffer<Integer> buffer = new MpmcRingBuffer<>(64);
+        AtomicInteger[] seen = new AtomicInteger[producers * perProducer];
+        for (int i = 0; i < seen.length; i++) {
+            seen[i] = new AtomicInteger();
+        }
+        AtomicInteger consumed = new AtomicInteger();
+        ConcurrentLinkedQueue<String> outOfOrder = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(producers + consumers);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int base = p * perProducer;
+                tasks.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!buffer.offer(base + i) && !Thread.currentThread().isInterrupted()) {
+                            Thread.yield();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (int c = 0; c < consumers; c++) {
+                tasks.add(executor.submit(() -> {
+                    // 한 생산자의 원소는 어느 소비자에게서든 넣은 순서대로 보여야 함
+                    int[] lastByProducer = new int[producers];
+                    Arrays.fill(lastByProducer, -1);
+                    start.await();
+                    while (consumed.get() < seen.length && !Thread.currentThread().isInterrupted()) {
+                        Integer element = buffer.poll();
+                        if (element == null) {
+                            Thread.yield();
+                            continue;
+                        }
+                        seen[element].incrementAndGet();
+                        consumed.incrementAndGet();
+                        int producer = element / perProducer;
+                        if (element <= lastByProducer[producer]) {
+                            outOfOrder.add(element + " after " + lastByProducer[producer]);
+                        }
+                        lastByProducer[producer] = element;
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> task : tasks) {
+                task.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(consumed.get()).isEqualTo(seen.length);
+        assertThat(IntStream.range(0, seen.length).filter(i -> seen[i].get() != 1)).isEmpty();
+        assertThat(outOfOrder).isEmpty();
+        assertThat(buffer.poll()).isNull();
+    }
+}
@@ -0,0 +1,43 @@
+package com.n8n.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void allowsBurstThenRejectsWithRetryAfter() {
+        RateLimiter limiter = new RateLimiter(10, 5, 0);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire(1, 0)).isZero();
+        }
+        // 다음 토큰은 1/10 초 뒤에 채워짐
+        assertThat(limiter.tryAcquire(1, 0)).isEqualTo(SECOND / 10);
+        assertThat(limiter.tryAcquire(1, SECOND / 10)).isZero();
+    }
+
+    @Test
+    void refillsAtConfiguredRateWithoutExceedingBurst() {
+        RateLimiter limiter = new RateLimiter(10, 5, 0);
+        assertThat(limiter.tryAcquire(5, 0)).isZero();
+
+        // 10초를 쉬어도 burst(5) 이상은 쌓이지 않음
+        long later = 10 * SECOND;
+        assertThat(limiter.tryAcquire(5, later)).isZero();
+        assertThat(limiter.tryAcquire(1, later)).isPositive();
+    }
+
+    @Test
+    void costLargerThanBurstIsRejectedWithoutConsumingTokens() {
+        RateLimiter limiter = new RateLimiter(10, 5, 0);
+
+        assertThat(limiter.tryAcquire(1000, 0)).isEqualTo(Long.MAX_VALUE);
+        assertThat(limiter.tryAcquire(5, 0)).isZero();
+    }
+}
@@ -0,0 +1,58 @@
+package com.n8n.support;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    @Test
+    void concurrentCallersShareOneUpstreamCall() {
+        SingleFlight<String, String> flight = new SingleFlight<>(Duration.ZERO);
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.One<String> upstream = Sinks.one();
+
+        Mono<String> first = flight.execute("exec-1", key -> {
+            calls.incrementAndGet();
+            return upstream.asMono();
+        });
+        Mono<String> second = flight.execute("exec-1", key -> {
+            calls.incrementAndGet();
+            return upstream.asMono();
+        });
+
+        var firstResult = first.toFuture();
+        var secondResult = second.toFuture();
+        upstream.tryEmitValue("running");
+
+        assertThat(firstResult.join()).isEqualTo("running");
+        assertThat(secondResult.join()).isEqualTo("running");
+        assertThat(calls).hasValue(1);
+        assertThat(flight.size()).isZero();
+    }
+
+    @Test
+    void failedCallIsNotReused() {
+        SingleFlight<String, String> flight = new SingleFlight<>(Duration.ofMinutes(1));
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> flight.execute("exec-1", key -> {
+            calls.incrementAndGet();
+            return Mono.<String>error(new IllegalStateException("boom"));
+        }).block()).hasMessageContaining("boom");
+
+        String result = flight.execute("exec-1", key -> {
+            calls.incrementAndGet();
+            return Mono.just("ok");
+        }).block();
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(calls).hasValue(2);
+    }
+}
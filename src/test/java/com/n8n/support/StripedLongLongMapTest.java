@@ -0,0 +1,87 @@
+package com.n8n.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StripedLongLongMapTest {
+
+    @Test
+    void behavesLikeHashMapUnderRandomOperations() {
+        StripedLongLongMap map = new StripedLongLongMap(4, 16);
+        Map<Long, Long> reference = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            long key = 1 + random.nextInt(2_000);
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    long value = random.nextLong() & Long.MAX_VALUE;
+                    assertThat(map.put(key, value)).isEqualTo(orNoValue(reference.put(key, value)));
+                }
+                case 1 -> assertThat(map.remove(key)).isEqualTo(orNoValue(reference.remove(key)));
+                default -> assertThat(map.get(key)).isEqualTo(orNoValue(reference.get(key)));
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(reference.size());
+        Map<Long, Long> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertThat(visited).isEqualTo(reference);
+    }
+
+    @Test
+    void conditionalOperations() {
+        StripedLongLongMap map = new StripedLongLongMap(1, 8);
+
+        assertThat(map.putIfAbsent(7, 1)).isEqualTo(StripedLongLongMap.NO_VALUE);
+        assertThat(map.putIfAbsent(7, 2)).isEqualTo(1);
+        assertThat(map.remove(7, 2)).isFalse();
+        assertThat(map.remove(7, 1)).isTrue();
+        assertThat(map.containsKey(7)).isFalse();
+        assertThatThrownBy(() -> map.put(0, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void concurrentWritersAndReaders() throws Exception {
+        StripedLongLongMap map = new StripedLongLongMap(16, 16);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                long lane = t;
+                futures.add(executor.submit(() -> {
+                    for (long i = 1; i <= 50_000; i++) {
+                        long key = i * 8 + lane;
+                        map.put(key, key);
+                        assertThat(map.get(key)).isEqualTo(key);
+                        if (i % 2 == 0) {
+                            map.remove(key);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(map.size()).isEqualTo(8 * 25_000);
+    }
+
+    private static long orNoValue(Long value) {
+        return value != null ? value : StripedLongLongMap.NO_VALUE;
+    }
+}
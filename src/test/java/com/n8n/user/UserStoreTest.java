@@ -0,0 +1,137 @@
+package com.n8n.user;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.n8n.config.PublicApiConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserStoreTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void issuesUniqueIdsUnderConcurrency() throws Exception {
+        UserStore store = open(false, true);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        IntStream.range(0, 10_000).parallel().forEach(i -> {
+            try {
+                ids.add(((Number) store.create(Map.of("name", "user-" + i)).get("id")).longValue());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertThat(ids).hasSize(10_000);
+        assertThat(store.size()).isEqualTo(10_000);
+    }
+
+    @Test
+    void indexesEmailCaseInsensitivelyAndRejectsDuplicates() throws Exception {
+        UserStore store = open(false, false);
+        long id = ((Number) store.create(Map.of("name", "John", "email", "John@Example.com")).get("id")).longValue();
+
+        assertThat(store.findByEmail(" john@example.COM ")).get()
+                .extracting(user -> ((Number) user.get("id")).longValue()).isEqualTo(id);
+        assertThatThrownBy(() -> store.create(Map.of("email", "john@example.com")))
+                .isInstanceOf(UserStore.DuplicateEmailException.class);
+
+        assertThat(store.delete(id)).isTrue();
+        assertThat(store.get(id)).isEmpty();
+        assertThat(store.findByEmail("john@example.com")).isEmpty();
+        assertThat(store.create(Map.of("email", "john@example.com"))).containsKey("id");
+    }
+
+    @Test
+    void acceptsOnlyOneOfConcurrentCreatesWithSameEmail() throws Exception {
+        UserStore store = open(false, true);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        IntStream.range(0, 1_000).parallel().forEach(i -> {
+            try {
+                ids.add(id(store.create(Map.of("name", "user-" + i, "email", "same@example.com"))));
+            } catch (UserStore.DuplicateEmailException e) {
+                // 예상된 거부
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertThat(ids).hasSize(1);
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.findByEmail("same@example.com")).get().extracting(UserStoreTest::id)
+                .isEqualTo(ids.iterator().next());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reusesSpaceOfDeletedUsers() throws Exception {
+        UserStore store = open(false, true);
+        long keep = id(store.create(Map.of("name", "kept")));
+
+        for (int i = 0; i < 20_000; i++) {
+            assertThat(store.delete(id(store.create(Map.of("name", "user-" + i, "email", i + "@example.com")))))
+                    .isTrue();
+        }
+
+        Map<String, Object> storage = (Map<String, Object>) store.stats().get("storage");
+        assertThat((int) storage.get("slabs")).isEqualTo(1);
+        assertThat((long) storage.get("reusedBlocks")).isGreaterThan(19_000L);
+        assertThat(store.get(keep)).get().extracting(user -> user.get("name")).isEqualTo("kept");
+    }
+
+    @Test
+    void recoversFromSnapshotAndLog() throws Exception {
+        UserStore store = open(true, true);
+        long first = id(store.create(Map.of("name", "first", "email", "first@example.com")));
+        long second = id(store.create(Map.of("name", "second")));
+        store.snapshot();
+        long third = id(store.create(Map.of("name", "third", "email", "third@example.com")));
+        store.delete(first);
+        // stop() 없이 버려 스냅샷 이후 변경은 로그 재생으로만 복구되게 함
+
+        UserStore recovered = open(true, true);
+        assertThat(recovered.get(first)).isEmpty();
+        assertThat(recovered.get(second)).get().extracting(user -> user.get("name")).isEqualTo("second");
+        assertThat(recovered.findByEmail("third@example.com")).get()
+                .extracting(UserStoreTest::id).isEqualTo(third);
+        assertThat(id(recovered.create(Map.of("name", "fourth")))).isGreaterThan(third);
+
+        recovered.stop();
+        UserStore afterShutdown = open(true, false);
+        assertThat(afterShutdown.size()).isEqualTo(3);
+        afterShutdown.stop();
+    }
+
+    private UserStore open(boolean persistent, boolean offHeap) throws Exception {
+        PublicApiConfig config = new PublicApiConfig();
+        config.getUsers().setOffHeap(offHeap);
+        config.getUsers().setSlabSize(DataSize.ofKilobytes(64));
+        config.getUsers().setStripes(4);
+        config.getUsers().setInitialCapacity(16);
+        config.getUsers().getPersistence().setEnabled(persistent);
+        config.getUsers().getPersistence().setDirectory(directory.toString());
+        config.getUsers().getPersistence().setSegmentSize(DataSize.ofKilobytes(64));
+        UserStore store = new UserStore(objectMapper, config);
+        store.start();
+        return store;
+    }
+
+    private static long id(Map<String, Object> user) {
+        return ((Number) user.get("id")).longValue();
+    }
+}
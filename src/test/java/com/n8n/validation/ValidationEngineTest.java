@@ -0,0 +1,144 @@
+package com.n8n.validation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.n8n.config.PublicApiConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class ValidationEngineTest {
+
+    private ValidationEngine engine;
+    private CompiledRuleSet users;
+
+    @BeforeEach
+    void setUp() {
+        PublicApiConfig config = new PublicApiConfig();
+        config.getValidation().setChunkSize(2);
+        engine = new ValidationEngine(config, new ObjectMapper());
+        engine.init();
+        users = engine.register("user", List.of(
+                FieldRule.builder().field("name").required(true).type("string").maxLength(5).build(),
+                FieldRule.builder().field("email").type("email").build(),
+                FieldRule.builder().field("age").type("integer").min(0.0).max(150.0).build(),
+                FieldRule.builder().field("code").pattern("[A-Z]{3}").build()));
+    }
+
+    @Test
+    void reportsEveryFailingFieldOnce() {
+        RecordValidation result = users.validate(Map.of(
+                "name", "Johnathan", "email", "broken", "age", 200, "code", "abc"), 0);
+
+        assertThat(result.valid()).isFalse();
+        assertThat(result.errors()).extracting(FieldError::field, FieldError::rule).containsExactly(
+                tuple("name", "maxLength"),
+                tuple("email", "type"),
+                tuple("age", "max"),
+                tuple("code", "pattern"));
+    }
+
+    @Test
+    void requiredAndTypeChecks() {
+        assertThat(users.validate(Map.of("name", "Jo", "age", 3.0), 0).valid()).isTrue();
+        assertThat(users.validate(Map.of("name", "Jo", "age", 3.5), 0).errors())
+                .extracting(FieldError::rule).containsExactly("type");
+        assertThat(users.validate(Map.of("email", "a@b.io"), 0).errors())
+                .extracting(FieldError::rule).containsExactly("required");
+    }
+
+    @Test
+    void defaultRuleSetKeepsEmailCheck() {
+        CompiledRuleSet defaults = engine.find(ValidationEngine.DEFAULT_RULE_SET).orElseThrow();
+
+        assertThat(defaults.validate(Map.of("email", "test@example.com"), 0).valid()).isTrue();
+        assertThat(defaults.validate(Map.of("email", "test"), 0).valid()).isFalse();
+        assertThat(defaults.validate(Map.of("field", "value"), 0).valid()).isTrue();
+    }
+
+    @Test
+    void rejectsInvalidRules() {
+        assertThatThrownBy(() -> engine.register("bad", List.of(FieldRule.builder().field("x").type("date").build())))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> engine.register("bad", List.of(FieldRule.builder().field("x").pattern("[").build())))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(engine.find("bad")).isEmpty();
+    }
+
+    @Test
+    void validatesBatchInOrderAndAggregates() {
+        ValidationStats stats = new ValidationStats();
+        List<Map<String, Object>> records = List.of(
+                Map.of("name", "Ann"), Map.of("name", 1), Map.of("email", "x"), Map.of("name", "Bob"));
+
+        List<RecordValidation> results = engine.validateAll(users, records, stats);
+
+        assertThat(results).extracting(RecordValidation::index).containsExactly(0L, 1L, 2L, 3L);
+        assertThat(results).extracting(RecordValidation::valid).containsExactly(true, false, false, true);
+        Map<String, Object> summary = stats.toMap();
+        assertThat(summary).containsEntry("total", 4L).containsEntry("valid", 2L).containsEntry("invalid", 2L);
+        assertThat(summary.get("errorsByField")).isEqualTo(Map.of("name", 2L, "email", 1L));
+    }
+
+    @Test
+    void validatesNdjsonAcrossChunksInOrder() {
+        ValidationStats stats = new ValidationStats();
+        Flux<String> lines = ValidationEngine.ndjsonLines(stream(
+                "{\"name\":\"Ann\"}\r\n\n{\"name\":\"Bob\",\"age\":-1}\nnot json\n{\"name\":\"Cy\"}"), 1024);
+
+        List<RecordValidation> results = engine.validateNdjson(users, lines, stats).collectList().block();
+
+        assertThat(results).extracting(RecordValidation::index).containsExactly(0L, 1L, 2L, 3L);
+        assertThat(results).extracting(RecordValidation::valid).containsExactly(true, false, false, true);
+        assertThat(results.get(2).errors()).extracting(FieldError::rule).containsExactly("json");
+        assertThat(stats.toMap()).containsEntry("total", 4L);
+    }
+
+    @Test
+    void stopsReadingNdjsonAtMaxRecords() {
+        PublicApiConfig config = new PublicApiConfig();
+        config.getValidation().setChunkSize(2);
+        config.getValidation().setMaxRecords(3);
+        ValidationEngine limited = new ValidationEngine(config, new ObjectMapper());
+        limited.init();
+        AtomicInteger read = new AtomicInteger();
+        Flux<String> lines = Flux.range(0, 1000)
+                .map(i -> "{\"n\":" + i + "}")
+                .doOnNext(line -> read.incrementAndGet());
+
+        List<RecordValidation> emitted = new ArrayList<>();
+        Flux<RecordValidation> results = limited.validateNdjson(
+                limited.find(ValidationEngine.DEFAULT_RULE_SET).orElseThrow(), lines, new ValidationStats());
+
+        assertThatThrownBy(() -> results.doOnNext(emitted::add).blockLast())
+                .isInstanceOf(ValidationEngine.LimitExceededException.class);
+        assertThat(emitted).hasSizeLessThanOrEqualTo(3);
+        assertThat(read.get()).isLessThan(10);
+    }
+
+    @Test
+    void rejectsOverlongNdjsonLine() {
+        Flux<String> lines = ValidationEngine.ndjsonLines(stream("{\"name\":\"Ann\"}\n" + "x".repeat(100)), 32);
+
+        List<String> emitted = new ArrayList<>();
+
+        assertThatThrownBy(() -> lines.doOnNext(emitted::add).blockLast())
+                .isInstanceOf(ValidationEngine.LimitExceededException.class);
+        assertThat(emitted).containsExactly("{\"name\":\"Ann\"}");
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}